@@ -0,0 +1,49 @@
+package com.optitop.optitop_api.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * En-têtes de revalidation des réponses sur les données de vente
+ *
+ * Ajoute l'ETag préparé par {@link SalesDataCacheInterceptor} et
+ * Cache-Control: no-cache juste avant l'écriture du corps, et seulement
+ * pour une réponse 2xx : une erreur (400, 500) n'est jamais associée à une
+ * version des données. Un postHandle d'intercepteur arriverait trop tard,
+ * le corps d'une réponse @ResponseBody étant déjà écrit.
+ */
+@ControllerAdvice
+public class SalesDataCacheHeadersAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(@Nullable Object body, @NonNull MethodParameter returnType,
+            @NonNull MediaType selectedContentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest()
+                        .getAttribute(SalesDataCacheInterceptor.ETAG_ATTRIBUTE) instanceof String etag
+                && HttpStatusCode.valueOf(servletResponse.getServletResponse().getStatus()).is2xxSuccessful()) {
+            response.getHeaders().setETag(etag);
+            response.getHeaders().setCacheControl("no-cache");
+        }
+        return body;
+    }
+}
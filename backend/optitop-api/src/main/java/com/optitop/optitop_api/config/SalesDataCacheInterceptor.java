@@ -0,0 +1,78 @@
+package com.optitop.optitop_api.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.optitop.optitop_api.service.SalesCatalog;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Requêtes conditionnelles sur les données de vente
+ *
+ * Les statistiques ne changent qu'à la fin d'un import : la version des
+ * données ({@link SalesCatalog#getDataVersion()}, changée à chaque import
+ * validé) sert d'ETag. Une requête GET dont If-None-Match correspond encore
+ * reçoit un 304 sans exécuter le contrôleur.
+ *
+ * Sinon, la version lue avant l'exécution du contrôleur est conservée dans
+ * la requête ; l'ETag n'est ajouté qu'aux réponses 2xx
+ * ({@link SalesDataCacheHeadersAdvice}). Une réponse calculée pendant un
+ * import porte ainsi au plus l'ancienne version et sera revalidée.
+ *
+ * Cache-Control: no-cache impose au client de revalider à chaque appel :
+ * une réponse n'est jamais réutilisée après un import.
+ */
+@Component
+public class SalesDataCacheInterceptor implements HandlerInterceptor {
+
+    // ===== CONSTANTES =====
+
+    /**
+     * Attribut de requête portant l'ETag de la version des données lue avant
+     * l'exécution du contrôleur
+     */
+    public static final String ETAG_ATTRIBUTE = SalesDataCacheInterceptor.class.getName() + ".etag";
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private SalesCatalog salesCatalog;
+
+    // ===== INTERCEPTION =====
+
+    /**
+     * Répond 304 si le client possède déjà la version courante des données
+     *
+     * @return false si la réponse 304 est envoyée, true pour poursuivre
+     *         vers le contrôleur
+     */
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        String version = salesCatalog.getDataVersion();
+        if (version == null || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        String etag = "W/\"sales-" + version + "\"";
+
+        // Comparaison sans réponse : aucun en-tête écrit si le contrôleur s'exécute
+        if (new ServletWebRequest(request).checkNotModified(etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            return false;
+        }
+
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package com.optitop.optitop_api.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration de l'import des ventes
+ *
+ * Fournit les pools de threads de l'import :
+ * - Analyse parallèle des lignes CSV. L'écriture en base reste effectuée
+ * par le thread de l'import, seul détenteur de la transaction
+ * - Exécution bornée des imports soumis en tâche de fond
+ */
+@Configuration
+public class SalesImportConfig {
+
+    /**
+     * Nombre de threads d'analyse (par défaut : nombre de coeurs disponibles)
+     */
+    @Value("${optitop.import.parse-threads:0}")
+    private int parseThreads;
+
+    /**
+     * Nombre d'imports exécutés simultanément en tâche de fond
+     */
+    @Value("${optitop.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    /**
+     * Nombre d'imports en attente au-delà duquel les soumissions sont refusées
+     */
+    @Value("${optitop.import.max-queued-jobs:10}")
+    private int maxQueuedJobs;
+
+    /**
+     * Pool de threads d'analyse des lignes CSV
+     *
+     * @return Exécuteur à nombre de threads fixe
+     */
+    @Bean(name = "salesParseExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService salesParseExecutor() {
+        int threads = parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, namedThreadFactory("sales-parse-"));
+    }
+
+    /**
+     * Pool d'exécution des imports en tâche de fond
+     *
+     * File d'attente bornée : une soumission au-delà de la limite est
+     * refusée (RejectedExecutionException) plutôt que mise en attente.
+     *
+     * @return Exécuteur borné
+     */
+    @Bean(name = "salesImportExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService salesImportExecutor() {
+        return new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxQueuedJobs), namedThreadFactory("sales-import-"));
+    }
+
+    /**
+     * Fabrique de threads démons nommés
+     *
+     * @param prefix Préfixe du nom des threads
+     * @return Fabrique de threads
+     */
+    private ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.optitop.optitop_api.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration du calcul des statistiques
+ *
+ * Fournit l'exécuteur des requêtes de statistiques lancées en parallèle
+ * (instantané du tableau de bord, requêtes indépendantes d'un même calcul).
+ * Les tâches passent l'essentiel de leur temps à attendre la base : un
+ * thread virtuel par tâche, sans pool à dimensionner. Le nombre de requêtes
+ * simultanées reste borné par le pool de connexions, dimensionné pour ces
+ * requêtes parallèles dans application-virtual.properties.
+ */
+@Configuration
+public class StatsConfig {
+
+    /**
+     * Exécuteur à threads virtuels des requêtes de statistiques
+     *
+     * @return Exécuteur créant un thread virtuel par tâche
+     */
+    @Bean(name = "statsExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService statsExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stats-", 1).factory());
+    }
+}
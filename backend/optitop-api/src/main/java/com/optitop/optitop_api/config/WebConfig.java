@@ -1,8 +1,11 @@
 package com.optitop.optitop_api.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.lang.NonNull;
 
@@ -12,6 +15,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${spring.profiles.active:dev}")
     private String activeProfile;
 
+    @Autowired
+    private SalesDataCacheInterceptor salesDataCacheInterceptor;
+
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
         String[] origins;
@@ -30,6 +36,20 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins(origins)
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(HttpHeaders.ETAG)
                 .allowCredentials(true);
     }
+
+    /**
+     * Requêtes conditionnelles sur les endpoints de statistiques, qui ne
+     * changent qu'à la fin d'un import. Les devis non validés et la liste de
+     * relance en sont exclus : ils sont modifiés par les utilisateurs entre
+     * deux imports.
+     */
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(salesDataCacheInterceptor)
+                .addPathPatterns("/api/invoices/**", "/api/quotations/**", "/api/updates/**", "/api/dashboard/**")
+                .excludePathPatterns("/api/quotations/unvalidated/**", "/api/quotations/worklist/**");
+    }
 }
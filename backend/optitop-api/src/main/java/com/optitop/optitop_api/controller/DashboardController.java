@@ -0,0 +1,95 @@
+package com.optitop.optitop_api.controller;
+
+// ===== IMPORTS DTO ET MODÈLES =====
+import com.optitop.optitop_api.dto.DashboardSnapshotDTO;
+import com.optitop.optitop_api.service.DashboardService;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// ===== IMPORTS SWAGGER (DOCUMENTATION API) =====
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+// ===== IMPORTS UTILITAIRES =====
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+
+/**
+ * Contrôleur REST du tableau de bord
+ *
+ * Regroupe en un seul appel les statistiques affichées par le tableau de
+ * bord, disponibles séparément sur les endpoints des factures et des devis.
+ *
+ * Endpoints disponibles :
+ * - GET /api/dashboard/snapshot : Toutes les statistiques d'une période
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = { "http://localhost", "http://10.0.2.2", "http://optitop.local" })
+@Tag(name = "Tableau de bord (DashboardController)", description = "Statistiques regroupées du tableau de bord")
+public class DashboardController {
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    /**
+     * Logger pour tracer les erreurs de calcul
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+
+    /**
+     * Service de calcul de l'instantané du tableau de bord
+     */
+    @Autowired
+    private DashboardService dashboardService;
+
+    // ===== ENDPOINTS =====
+
+    /**
+     * Récupère toutes les statistiques du tableau de bord d'une période
+     *
+     * @param startDate Date de début de la période d'analyse
+     * @param endDate   Date de fin de la période d'analyse
+     * @return ResponseEntity avec les statistiques regroupées si succès, erreur
+     *         si échec
+     *
+     *         Codes de retour :
+     *         - 200 : Statistiques calculées avec succès
+     *         - 500 : Erreur lors du calcul des statistiques
+     */
+    @Operation(summary = "Instantané du tableau de bord", description = "Calcule en un seul appel le CA avec comparaison N-1, les statistiques globales, le CA par vendeur, les paniers moyens, les montures primées et les statistiques des devis d'une période")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistiques calculées avec succès", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DashboardSnapshotDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Erreur lors du calcul des statistiques")
+    })
+    @GetMapping("/snapshot")
+    public ResponseEntity<DashboardSnapshotDTO> getSnapshot(
+            @Parameter(description = "Date de début (YYYY-MM-DD)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Date de fin (YYYY-MM-DD)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        try {
+            // Calcul parallèle de toutes les statistiques via le service
+            DashboardSnapshotDTO snapshot = dashboardService.getSnapshot(startDate, endDate);
+
+            // Retour des données de succès
+            return ResponseEntity.ok(snapshot);
+        } catch (Exception e) {
+            logger.error("Erreur lors du calcul de l'instantané du tableau de bord", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
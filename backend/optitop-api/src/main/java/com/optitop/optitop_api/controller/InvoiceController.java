@@ -3,6 +3,7 @@ package com.optitop.optitop_api.controller;
 // ===== IMPORTS DTO ET MODÈLES =====
 import com.optitop.optitop_api.dto.AverageBasketDTO;
 import com.optitop.optitop_api.dto.FrameStatsDTO;
+import com.optitop.optitop_api.dto.YearlyRevenueDTO;
 import com.optitop.optitop_api.service.InvoiceService;
 
 // ===== IMPORTS SPRING FRAMEWORK =====
@@ -22,6 +23,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -40,6 +42,8 @@ import java.util.Map;
  * - GET /api/invoices/frame-stats : Statistiques des montures primées
  * - GET /api/invoices/years : Années d'activité disponibles
  * - GET /api/invoices/monthly-revenue/{year} : CA mensuel par année
+ * - GET /api/invoices/monthly-revenue-series : CA mensuel sur plusieurs années
+ * avec comparaison N-1
  * - GET /api/invoices/period-revenue : CA sur période avec comparaison N-1
  * - GET /api/invoices/seller-stats : CA et pourcentages par vendeur
  */
@@ -49,6 +53,13 @@ import java.util.Map;
 @Tag(name = "Factures (InvoiceController)", description = "Gestion des statistiques de vente liées aux factures")
 public class InvoiceController {
 
+    // ===== CONSTANTES =====
+
+    /**
+     * Nombre maximal d'années d'une série de chiffre d'affaires mensuel
+     */
+    private static final int MAX_SERIES_YEARS = 20;
+
     // ===== INJECTION DES DÉPENDANCES =====
 
     /**
@@ -211,6 +222,45 @@ public class InvoiceController {
         return ResponseEntity.ok(monthlyRevenue);
     }
 
+    /**
+     * Calcule le chiffre d'affaires mensuel de plusieurs années avec les
+     * écarts avec l'année précédente
+     * 
+     * @param startYear Première année de la série
+     * @param endYear   Dernière année de la série
+     * @param sellerRef Référence du vendeur (optionnelle, magasin entier sinon)
+     * @return ResponseEntity avec le CA des 12 mois de chaque année et les
+     *         écarts N-1
+     * 
+     *         Codes de retour :
+     *         - 200 : Série calculée avec succès
+     *         - 400 : Années invalides (ordre inversé ou plus de 20 ans)
+     *         - 500 : Erreur lors du calcul de la série
+     */
+    @Operation(summary = "Chiffre d'affaires mensuel sur plusieurs années", description = "Calcule en un appel le chiffre d'affaires de chaque mois des années demandées, avec les écarts en valeur et en pourcentage avec l'année précédente, pour le magasin ou un vendeur")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Série calculée avec succès", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = YearlyRevenueDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Années invalides"),
+            @ApiResponse(responseCode = "500", description = "Erreur lors du calcul de la série")
+    })
+    @GetMapping("/monthly-revenue-series")
+    public ResponseEntity<List<YearlyRevenueDTO>> getMonthlyRevenueSeries(
+            @Parameter(description = "Première année (ex: 2021)") @RequestParam int startYear,
+            @Parameter(description = "Dernière année (ex: 2025)") @RequestParam int endYear,
+            @Parameter(description = "Référence du vendeur") @RequestParam(required = false) String sellerRef) {
+
+        // Validation de la plage d'années
+        if (endYear < startYear || endYear - startYear >= MAX_SERIES_YEARS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Calcul de la série via le service
+        List<YearlyRevenueDTO> series = invoiceService.getMonthlyRevenueSeries(startYear, endYear, sellerRef);
+
+        // Retour des données de succès
+        return ResponseEntity.ok(series);
+    }
+
     /**
      * Compare le chiffre d'affaires d'une période avec la même période l'année
      * précédente
@@ -1,10 +1,14 @@
 package com.optitop.optitop_api.controller;
 
 // ===== IMPORTS DTO ET MODÈLES =====
+import com.optitop.optitop_api.dto.ConcretizationSeriesDTO;
+import com.optitop.optitop_api.dto.ConcretizationSeriesDTO.Granularity;
 import com.optitop.optitop_api.dto.QuotationDTO;
+import com.optitop.optitop_api.dto.QuotationPageDTO;
 import com.optitop.optitop_api.dto.QuotationStatsDTO;
 import com.optitop.optitop_api.dto.QuotationUpdateDTO;
-import com.optitop.optitop_api.dto.SellerStatsDTO;
+import com.optitop.optitop_api.dto.QuotationUpdateResultDTO;
+import com.optitop.optitop_api.dto.QuotationWorklistDTO;
 import com.optitop.optitop_api.model.Quotations;
 import com.optitop.optitop_api.model.Quotations.QuotationAction;
 import com.optitop.optitop_api.repository.QuotationsRepository;
@@ -36,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -53,10 +58,13 @@ import java.util.stream.Collectors;
  * 
  * Endpoints disponibles :
  * - GET /api/quotations/unvalidated : Devis non validés avec filtrage
+ * - GET /api/quotations/unvalidated/page : Devis non validés par pages
+ * - GET /api/quotations/worklist : Liste de relance priorisée par vendeur
  * - PUT /api/quotations/batch-update : Mise à jour en lot
  * - GET /api/quotations/actions : Actions possibles
  * - GET /api/quotations/stats : Statistiques détaillées
  * - GET /api/quotations/previous-concretization : Taux N-1
+ * - GET /api/quotations/concretization : Concrétisation N / N-1 par tranche
  */
 @RestController
 @RequestMapping("/api/quotations")
@@ -64,6 +72,18 @@ import java.util.stream.Collectors;
 @Tag(name = "Devis (QuotationController)", description = "Gestion des devis optiques et de leurs statistiques")
 public class QuotationController {
 
+    // ===== CONSTANTES =====
+
+    /**
+     * Taille maximale d'une page de devis
+     */
+    private static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Nombre maximal de devis par vendeur dans la liste de relance
+     */
+    private static final int MAX_WORKLIST_PER_SELLER = 100;
+
     // ===== INJECTION DES DÉPENDANCES =====
 
     /**
@@ -144,6 +164,147 @@ public class QuotationController {
         }
     }
 
+    /**
+     * Récupère une page de devis non validés avec gestion des droits
+     * utilisateur
+     * 
+     * Pagination par curseur : la première page est demandée sans afterDate
+     * ni afterId, les suivantes avec les valeurs nextAfterDate et nextAfterId
+     * de la page précédente. Un collaborateur ne voit que ses propres devis,
+     * quel que soit le filtre vendeur demandé.
+     * 
+     * @param startDate     Date de début de la période (format YYYY-MM-DD)
+     * @param endDate       Date de fin de la période (format YYYY-MM-DD)
+     * @param userRole      Rôle de l'utilisateur (manager/collaborator)
+     * @param userSellerRef Référence vendeur de l'utilisateur collaborateur
+     * @param sellerRef     Filtre vendeur (optionnel)
+     * @param action        Filtre action, NONE pour les devis sans action
+     *                      (optionnel)
+     * @param clientPrefix  Filtre sur le début du nom du client (optionnel)
+     * @param afterDate     Date du dernier devis de la page précédente
+     * @param afterId       Identifiant du dernier devis de la page précédente
+     * @param size          Nombre de devis par page (1 à 500)
+     * @return ResponseEntity avec la page de devis et le curseur suivant
+     * 
+     *         Codes de retour :
+     *         - 200 : Page récupérée avec succès
+     *         - 400 : Paramètres invalides (taille, action, curseur)
+     *         - 500 : Erreur lors de la récupération
+     */
+    @Operation(summary = "Récupérer une page de devis non validés", description = "Retourne les devis non validés d'une période par pages, du plus récent au plus ancien, filtrés par vendeur, action et début du nom du client")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de devis récupérée avec succès", content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuotationPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Paramètres invalides"),
+            @ApiResponse(responseCode = "500", description = "Erreur serveur lors de la récupération")
+    })
+    @GetMapping("/unvalidated/page")
+    public ResponseEntity<QuotationPageDTO> getUnvalidatedQuotationsPage(
+            @Parameter(description = "Date de début (YYYY-MM-DD)") @RequestParam String startDate,
+            @Parameter(description = "Date de fin (YYYY-MM-DD)") @RequestParam String endDate,
+            @Parameter(description = "Rôle de l'utilisateur") @RequestParam(required = false) String userRole,
+            @Parameter(description = "Référence du vendeur de l'utilisateur") @RequestParam(required = false) String userSellerRef,
+            @Parameter(description = "Filtre vendeur") @RequestParam(required = false) String sellerRef,
+            @Parameter(description = "Filtre action (code, ou NONE pour les devis sans action)") @RequestParam(required = false) String action,
+            @Parameter(description = "Début du nom du client") @RequestParam(required = false) String clientPrefix,
+            @Parameter(description = "Date du dernier devis reçu (YYYY-MM-DD)") @RequestParam(required = false) String afterDate,
+            @Parameter(description = "Identifiant du dernier devis reçu") @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Nombre de devis par page") @RequestParam(defaultValue = "50") int size) {
+
+        // Validation de la taille de page
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            // Conversion des dates string en LocalDate
+            LocalDate start = LocalDate.parse(startDate);
+            LocalDate end = LocalDate.parse(endDate);
+            LocalDate after = afterDate != null ? LocalDate.parse(afterDate) : null;
+
+            // Un collaborateur est limité à ses propres devis
+            String seller = "collaborator".equalsIgnoreCase(userRole) && userSellerRef != null
+                    ? userSellerRef
+                    : sellerRef;
+
+            // Lecture de la page via le service
+            QuotationPageDTO page = quotationService.getUnvalidatedPage(start, end, seller, action,
+                    clientPrefix, after, afterId, size);
+
+            // Retour des données de succès
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.warn("Paramètres invalides pour la page de devis non validés : {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Erreur lors de la récupération de la page de devis non validés", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Construit la liste de relance des devis non validés
+     * 
+     * Retient pour chaque vendeur ses devis les plus prioritaires, classés
+     * par le serveur selon leur ancienneté, leur montant et leur action. Un
+     * collaborateur ne reçoit que sa propre liste.
+     * 
+     * @param startDate     Date de début de la période (format YYYY-MM-DD)
+     * @param endDate       Date de fin de la période (format YYYY-MM-DD)
+     * @param userRole      Rôle de l'utilisateur (manager/collaborator)
+     * @param userSellerRef Référence vendeur de l'utilisateur collaborateur
+     * @param sellerRef     Filtre vendeur (optionnel)
+     * @param action        Filtre action, NONE pour les devis sans action
+     *                      (optionnel)
+     * @param limit         Nombre de devis par vendeur (1 à 100)
+     * @return ResponseEntity avec les devis retenus, par vendeur puis rang
+     * 
+     *         Codes de retour :
+     *         - 200 : Liste construite avec succès
+     *         - 400 : Paramètres invalides (nombre, action, dates)
+     *         - 500 : Erreur lors de la construction
+     */
+    @Operation(summary = "Liste de relance des devis", description = "Retourne pour chaque vendeur ses devis non validés les plus prioritaires, classés selon leur ancienneté, leur montant et leur action")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Liste de relance construite avec succès", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = QuotationWorklistDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Paramètres invalides"),
+            @ApiResponse(responseCode = "500", description = "Erreur serveur lors de la construction")
+    })
+    @GetMapping("/worklist")
+    public ResponseEntity<List<QuotationWorklistDTO>> getWorklist(
+            @Parameter(description = "Date de début (YYYY-MM-DD)") @RequestParam String startDate,
+            @Parameter(description = "Date de fin (YYYY-MM-DD)") @RequestParam String endDate,
+            @Parameter(description = "Rôle de l'utilisateur") @RequestParam(required = false) String userRole,
+            @Parameter(description = "Référence du vendeur de l'utilisateur") @RequestParam(required = false) String userSellerRef,
+            @Parameter(description = "Filtre vendeur") @RequestParam(required = false) String sellerRef,
+            @Parameter(description = "Filtre action (code, ou NONE pour les devis sans action)") @RequestParam(required = false) String action,
+            @Parameter(description = "Nombre de devis par vendeur") @RequestParam(defaultValue = "20") int limit) {
+
+        // Validation du nombre de devis par vendeur
+        if (limit < 1 || limit > MAX_WORKLIST_PER_SELLER) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            // Conversion des dates string en LocalDate
+            LocalDate start = LocalDate.parse(startDate);
+            LocalDate end = LocalDate.parse(endDate);
+
+            // Un collaborateur est limité à sa propre liste
+            String seller = "collaborator".equalsIgnoreCase(userRole) && userSellerRef != null
+                    ? userSellerRef
+                    : sellerRef;
+
+            // Construction de la liste via le service
+            return ResponseEntity.ok(quotationService.getWorklist(start, end, seller, action, limit));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.warn("Paramètres invalides pour la liste de relance : {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Erreur lors de la construction de la liste de relance", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Liste toutes les actions possibles applicables aux devis
      * 
@@ -183,25 +344,26 @@ public class QuotationController {
      * Optimise les performances en évitant les appels multiples
      * 
      * @param updates Liste des modifications à appliquer
-     * @return ResponseEntity vide si succès, message d'erreur si échec
+     * @return ResponseEntity avec le résultat de chaque modification
+     *         (UPDATED, NOT_FOUND, INVALID_ACTION), message d'erreur si échec
      * 
      *         Codes de retour :
-     *         - 200 : Mise à jour effectuée avec succès
+     *         - 200 : Lot traité, résultat détaillé par devis
      *         - 500 : Erreur lors de la mise à jour
      */
-    @Operation(summary = "Mettre à jour un lot de devis", description = "Met à jour les actions et commentaires d'un lot de devis")
+    @Operation(summary = "Mettre à jour un lot de devis", description = "Met à jour les actions et commentaires d'un lot de devis et retourne le résultat de chaque modification")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Mise à jour effectuée avec succès"),
+            @ApiResponse(responseCode = "200", description = "Lot traité, résultat par devis", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = QuotationUpdateResultDTO.class)))),
             @ApiResponse(responseCode = "500", description = "Erreur lors de la mise à jour", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"error\": \"Erreur lors de la mise à jour des devis\"}")))
     })
     @PutMapping("/batch-update")
     public ResponseEntity<?> batchUpdate(@RequestBody List<QuotationUpdateDTO> updates) {
         try {
             // Délégation au service métier pour la logique complexe
-            quotationService.batchUpdate(updates);
+            List<QuotationUpdateResultDTO> results = quotationService.batchUpdate(updates);
 
-            // Retour de succès sans contenu
-            return ResponseEntity.ok().build();
+            // Retour du résultat de chaque modification
+            return ResponseEntity.ok(results);
         } catch (Exception e) {
             logger.error("Erreur lors de la mise à jour des devis", e);
             return ResponseEntity.internalServerError().body("Erreur lors de la mise à jour des devis");
@@ -239,26 +401,8 @@ public class QuotationController {
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
 
-            // Calcul des statistiques globales
-            Long total = quotationsRepository.countQuotationsBetween(start, end);
-            Long validated = quotationsRepository.countValidatedQuotationsBetween(start, end);
-            Long unvalidated = quotationsRepository.countUnvalidatedQuotationsBetween(start, end);
-
-            // Création du DTO de statistiques globales
-            QuotationStatsDTO stats = new QuotationStatsDTO(total, validated, unvalidated);
-
-            // Récupération et transformation des statistiques par vendeur
-            List<Object[]> sellerStats = quotationsRepository.getSellerStats(start, end);
-            List<SellerStatsDTO> sellerStatsDTOs = sellerStats.stream()
-                    .map(row -> new SellerStatsDTO(
-                            (String) row[0], // sellerRef
-                            (Long) row[1], // total
-                            (Long) row[2] // unvalidated
-                    ))
-                    .collect(Collectors.toList());
-
-            // Ajout des statistiques vendeurs au DTO global
-            stats.setSellerStats(sellerStatsDTOs);
+            // Calcul des statistiques globales et par vendeur via le service
+            QuotationStatsDTO stats = quotationService.getQuotationStats(start, end);
 
             // Retour des données de succès
             return ResponseEntity.ok(stats);
@@ -296,17 +440,66 @@ public class QuotationController {
             LocalDate start = LocalDate.parse(startDate).minusYears(1);
             LocalDate end = LocalDate.parse(endDate).minusYears(1);
 
-            // Récupération du taux depuis le repository
-            Double rate = quotationsRepository.getPreviousConcretizationRate(start, end);
-
-            // Retour du taux (0.0 si aucune donnée)
-            return ResponseEntity.ok(rate != null ? rate : 0.0);
+            // Récupération du taux via le service (0.0 si aucune donnée)
+            return ResponseEntity.ok(quotationService.getConcretizationRate(start, end));
         } catch (Exception e) {
             logger.error("Erreur lors du calcul du taux de concrétisation N-1", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * Analyse la concrétisation des devis d'une période comparée à N-1
+     * 
+     * Fournit, pour la période complète et pour chaque tranche (semaine ou
+     * mois), le total magasin et le détail par vendeur : devis, devis
+     * validés, non validés et taux, pour N et pour la même période N-1.
+     * L'ensemble est calculé en une seule lecture des agrégats journaliers.
+     * 
+     * @param startDate   Date de début de la période (format YYYY-MM-DD)
+     * @param endDate     Date de fin de la période (format YYYY-MM-DD)
+     * @param granularity Découpage des tranches (NONE, WEEK, MONTH)
+     * @param sellerRef   Filtre vendeur (optionnel)
+     * @return ResponseEntity avec l'analyse de la période
+     * 
+     *         Codes de retour :
+     *         - 200 : Analyse calculée avec succès
+     *         - 400 : Paramètres invalides (dates, découpage)
+     *         - 500 : Erreur lors du calcul
+     */
+    @Operation(summary = "Analyse de concrétisation N / N-1", description = "Retourne les devis, devis validés, non validés et taux de concrétisation du magasin et de chaque vendeur, pour la période et la même période N-1, sur la période complète et par semaine ou par mois")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Analyse calculée avec succès", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConcretizationSeriesDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Paramètres invalides"),
+            @ApiResponse(responseCode = "500", description = "Erreur serveur lors du calcul")
+    })
+    @GetMapping("/concretization")
+    public ResponseEntity<ConcretizationSeriesDTO> getConcretizationSeries(
+            @Parameter(description = "Date de début (YYYY-MM-DD)") @RequestParam String startDate,
+            @Parameter(description = "Date de fin (YYYY-MM-DD)") @RequestParam String endDate,
+            @Parameter(description = "Découpage des tranches (NONE, WEEK, MONTH)") @RequestParam(defaultValue = "NONE") String granularity,
+            @Parameter(description = "Filtre vendeur") @RequestParam(required = false) String sellerRef) {
+
+        try {
+            // Conversion et validation des paramètres
+            LocalDate start = LocalDate.parse(startDate);
+            LocalDate end = LocalDate.parse(endDate);
+            Granularity bucket = Granularity.valueOf(granularity.trim().toUpperCase());
+            if (end.isBefore(start)) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            // Calcul de l'analyse via le service
+            return ResponseEntity.ok(quotationService.getConcretizationSeries(start, end, bucket, sellerRef));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.warn("Paramètres invalides pour l'analyse de concrétisation : {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Erreur lors du calcul de l'analyse de concrétisation", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     // ===== MÉTHODES UTILITAIRES =====
 
     /**
@@ -336,6 +529,7 @@ public class QuotationController {
         dto.setClient(quotation.getClient());
         dto.setAction(quotation.getAction() != null ? quotation.getAction().getValue() : null);
         dto.setComment(quotation.getComment());
+        dto.setVersion(quotation.getVersion());
 
         return dto;
     }
@@ -4,17 +4,29 @@ package com.optitop.optitop_api.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+// ===== IMPORTS DTOs =====
+import com.optitop.optitop_api.dto.ImportJobDTO;
+
 // ===== IMPORTS SERVICES =====
+import com.optitop.optitop_api.service.ImportJobService;
 import com.optitop.optitop_api.service.SalesService;
 
+// ===== IMPORTS UTILITAIRES =====
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
 // ===== IMPORTS SWAGGER (DOCUMENTATION API) =====
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,20 +36,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
-// ===== IMPORTS UTILITAIRES =====
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Contrôleur REST pour l'importation des données de vente
  * 
  * Gère l'importation de fichiers CSV contenant les données de vente :
  * - Réception et validation des fichiers CSV
- * - Traitement de l'encodage UTF-8 avec gestion BOM
- * - Lecture par lots des données de vente
+ * - Lecture en flux des données de vente (encodage UTF-8, BOM géré par le
+ * service)
  * - Délégation du traitement métier au service
+ * - Soumission d'imports en tâche de fond et suivi de leur avancement
  * 
  * Format de fichier attendu :
  * Date, C., Num client, Client, Référence, Famille, Quantité, Total TTC,
@@ -60,11 +67,11 @@ public class SalesController {
     private static final Logger logger = LoggerFactory.getLogger(SalesController.class);
 
     /**
-     * Service métier pour le traitement des données de vente
-     * Gère la logique d'import et la persistence en base
+     * Service d'orchestration des imports (synchrones et en tâche de fond)
+     * Réserve la période importée et délègue le traitement métier
      */
     @Autowired
-    private SalesService salesService;
+    private ImportJobService importJobService;
 
     // ===== ENDPOINTS D'IMPORTATION =====
 
@@ -73,10 +80,20 @@ public class SalesController {
      * 
      * Traite les fichiers CSV avec gestion complète de l'encodage UTF-8
      * et suppression automatique du BOM (Byte Order Mark).
-     * Le fichier est lu ligne par ligne et traité par lots pour optimiser
-     * les performances et la mémoire.
+     * Le fichier n'est jamais chargé en mémoire : le service le lit en flux
+     * et persiste les lignes par lots au fil de la lecture.
+     * 
+     * En mode DELTA, seules les lignes nouvelles, modifiées ou disparues de
+     * la période du fichier sont écrites, et seules les factures et devis
+     * des dates concernées sont recalculés.
+     * 
+     * En mode CHUNKED (fichier trié par date), la période est réécrite par
+     * étapes de quelques jours validées séparément ; un import interrompu
+     * reprend après la dernière étape validée lorsque le même fichier est
+     * réimporté.
      * 
      * @param file Fichier CSV à importer (format multipart/form-data)
+     * @param mode Mode d'import : FULL (par défaut), DELTA ou CHUNKED
      * @return ResponseEntity vide si succès, message d'erreur si échec
      * 
      *         Format attendu du CSV :
@@ -96,7 +113,9 @@ public class SalesController {
             +
             "Le fichier doit contenir les colonnes suivantes : " +
             "Date, C., Num client, Client, Référence, Famille, Quantité, Total TTC, " +
-            "Total facture/devis, Paire, Status, Vendeur")
+            "Total facture/devis, Paire, Status, Vendeur. " +
+            "Le mode DELTA n'écrit que les différences avec les données déjà importées, " +
+            "le mode CHUNKED valide l'import par étapes de quelques jours et reprend un import interrompu.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Import réussi", content = @Content(mediaType = "application/json", schema = @Schema(type = "object", example = "{\"message\": \"Import réussi\"}"))),
             @ApiResponse(responseCode = "400", description = "Fichier invalide ou mal formaté", content = @Content(mediaType = "application/json", schema = @Schema(type = "object", example = "{\"error\": \"Format de fichier invalide\"}"))),
@@ -104,17 +123,15 @@ public class SalesController {
     })
     @PostMapping(value = "/import", consumes = "multipart/form-data")
     public ResponseEntity<?> importSales(
-            @Parameter(description = "Fichier CSV à importer (encodage UTF-8)", required = true, schema = @Schema(type = "string", format = "binary")) @RequestParam MultipartFile file) {
+            @Parameter(description = "Fichier CSV à importer (encodage UTF-8)", required = true, schema = @Schema(type = "string", format = "binary")) @RequestParam MultipartFile file,
+            @Parameter(description = "Mode d'import : FULL (suppression et réinsertion de la période), DELTA (différences uniquement) ou CHUNKED (par étapes, avec reprise)") @RequestParam(defaultValue = "FULL") SalesService.ImportMode mode) {
 
         try {
             // Début du traitement avec logging
-            logger.info("Début de l'import du fichier: {}", file.getOriginalFilename());
+            logger.info("Début de l'import du fichier: {} (mode {})", file.getOriginalFilename(), mode);
 
-            // Lecture et traitement du fichier CSV
-            List<String> batch = readCsvFile(file);
-
-            // Délégation du traitement métier au service
-            salesService.processBatch(batch);
+            // Délégation de la lecture en flux et du traitement métier au service
+            importJobService.importNow(file, file.getOriginalFilename(), mode);
 
             // Succès de l'import
             logger.info("Import réussi pour le fichier: {}", file.getOriginalFilename());
@@ -128,42 +145,95 @@ public class SalesController {
         }
     }
 
-    // ===== MÉTHODES UTILITAIRES =====
+    // ===== IMPORTS EN TÂCHE DE FOND =====
 
     /**
-     * Lit un fichier CSV avec gestion de l'encodage UTF-8 et du BOM
+     * Soumet l'import d'un fichier CSV en tâche de fond
      * 
-     * Traite le fichier ligne par ligne en gérant :
-     * - L'encodage UTF-8 pour les caractères accentués
-     * - La suppression du BOM (Byte Order Mark) si présent
-     * - La lecture complète du fichier en mémoire
+     * Le fichier est reçu en une seule fois puis importé par un pool borné :
+     * la requête rend la main immédiatement avec l'identifiant de la tâche,
+     * dont l'avancement se consulte via GET /api/sales/import-jobs/{id}.
+     * Un seul import à la fois est exécuté sur une période donnée.
      * 
-     * @param file Fichier CSV à lire
-     * @return Liste des lignes du fichier
-     * @throws Exception si erreur de lecture
+     * @param file Fichier CSV à importer (format multipart/form-data)
+     * @param mode Mode d'import : FULL (par défaut), DELTA ou CHUNKED
+     * @return 202 avec l'état initial de la tâche, 503 si trop d'imports
+     *         sont en attente
      */
-    private List<String> readCsvFile(MultipartFile file) throws Exception {
-        List<String> batch = new ArrayList<>();
-
-        // Lecture du fichier avec encodage UTF-8
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), "UTF-8"))) {
-
-            // Lecture de la première ligne avec suppression du BOM
-            String line = br.readLine();
-            if (line != null) {
-                // Suppression du BOM (Byte Order Mark) si présent
-                line = line.replace("\uFEFF", "");
-                batch.add(line);
-            }
-
-            // Lecture des lignes suivantes
-            while ((line = br.readLine()) != null) {
-                batch.add(line);
-            }
+    @Operation(summary = "Soumettre un import en tâche de fond", description = "Reçoit un fichier CSV de ventes et l'importe en tâche de fond. "
+            +
+            "Retourne immédiatement l'identifiant de la tâche à interroger pour suivre l'avancement.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import accepté", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "503", description = "Trop d'imports en attente", content = @Content(mediaType = "application/json", schema = @Schema(type = "string", example = "Trop d'imports en attente, réessayez plus tard"))),
+            @ApiResponse(responseCode = "500", description = "Erreur lors de la réception du fichier", content = @Content(mediaType = "application/json", schema = @Schema(type = "string", example = "Erreur lors de la réception du fichier: message d'erreur")))
+    })
+    @PostMapping(value = "/import-jobs", consumes = "multipart/form-data")
+    public ResponseEntity<?> submitImportJob(
+            @Parameter(description = "Fichier CSV à importer (encodage UTF-8)", required = true, schema = @Schema(type = "string", format = "binary")) @RequestParam MultipartFile file,
+            @Parameter(description = "Mode d'import : FULL (suppression et réinsertion de la période), DELTA (différences uniquement) ou CHUNKED (par étapes, avec reprise)") @RequestParam(defaultValue = "FULL") SalesService.ImportMode mode) {
+
+        try {
+            ImportJobDTO job = importJobService.submit(file, mode);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/sales/import-jobs/" + job.getId()))
+                    .body(job);
+
+        } catch (RejectedExecutionException e) {
+            logger.warn("Import refusé pour le fichier {} : file d'attente pleine", file.getOriginalFilename());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Trop d'imports en attente, réessayez plus tard");
+
+        } catch (Exception e) {
+            logger.error("Erreur lors de la réception du fichier: {}", file.getOriginalFilename(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Erreur lors de la réception du fichier: " + e.getMessage());
         }
+    }
+
+    /**
+     * Retourne l'avancement d'un import soumis en tâche de fond
+     * 
+     * @param id Identifiant de la tâche
+     * @return État de la tâche (étape, lignes analysées et écrites, erreurs),
+     *         404 si inconnue ou expirée
+     */
+    @Operation(summary = "Suivre un import en tâche de fond", description = "Retourne l'étape en cours (PENDING, PARSE, DELETE, INSERT, AGGREGATE, COMPLETED, FAILED), "
+            +
+            "le nombre de lignes analysées et écrites ainsi que les erreurs rencontrées")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "État de l'import", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Tâche inconnue ou expirée")
+    })
+    @GetMapping("/import-jobs/{id}")
+    public ResponseEntity<ImportJobDTO> getImportJob(
+            @Parameter(description = "Identifiant de la tâche d'import", required = true) @PathVariable String id) {
+        return importJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        logger.debug("Fichier CSV lu avec succès: {} lignes", batch.size());
-        return batch;
+    /**
+     * Annule un import soumis en tâche de fond
+     * 
+     * Une tâche en attente ne démarre pas ; une tâche en cours est
+     * interrompue. En mode CHUNKED, les étapes déjà validées sont conservées.
+     * 
+     * @param id Identifiant de la tâche
+     * @return État de la tâche, 404 si inconnue ou expirée
+     */
+    @Operation(summary = "Annuler un import en tâche de fond", description = "Annule une tâche en attente ou interrompt une tâche en cours. "
+            +
+            "En mode CHUNKED, l'import reprendra après la dernière étape validée si le même fichier est soumis de nouveau.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Annulation demandée", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Tâche inconnue ou expirée")
+    })
+    @DeleteMapping("/import-jobs/{id}")
+    public ResponseEntity<ImportJobDTO> cancelImportJob(
+            @Parameter(description = "Identifiant de la tâche d'import", required = true) @PathVariable String id) {
+        return importJobService.cancel(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+}
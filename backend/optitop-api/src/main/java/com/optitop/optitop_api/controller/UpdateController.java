@@ -4,12 +4,12 @@ package com.optitop.optitop_api.controller;
  * Contrôleur de gestion des mises à jour
  * 
  * Fournit l'API REST pour récupérer la date de dernière mise à jour
- * des données (devis et factures) du système.
+ * des données (devis et factures) du système. La date est conservée en
+ * mémoire par {@link SalesCatalog} : appelé à chaque affichage de page,
+ * l'endpoint n'interroge pas la base.
  */
 
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +18,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.optitop.optitop_api.model.InvoicesLines;
-import com.optitop.optitop_api.model.QuotationsLines;
-import com.optitop.optitop_api.repository.InvoicesLinesRepository;
-import com.optitop.optitop_api.repository.QuotationsLinesRepository;
+import com.optitop.optitop_api.service.SalesCatalog;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -39,10 +36,7 @@ public class UpdateController {
         // ===== DÉPENDANCES =====
 
         @Autowired
-        private QuotationsLinesRepository quotationsLinesRepository;
-
-        @Autowired
-        private InvoicesLinesRepository invoiceRepository;
+        private SalesCatalog salesCatalog;
 
         // ===== ENDPOINTS =====
 
@@ -58,20 +52,8 @@ public class UpdateController {
         })
         @GetMapping("/last")
         public ResponseEntity<String> getLastUpdate() {
-                // Récupérer la dernière date entre quotation et invoice
-                LocalDateTime lastQuotationDate = quotationsLinesRepository
-                                .findTopByOrderByCreatedAtDesc()
-                                .map(QuotationsLines::getCreatedAt)
-                                .orElse(null);
-
-                LocalDateTime lastInvoiceDate = invoiceRepository.findTopByOrderByCreatedAtDesc()
-                                .map(InvoicesLines::getCreatedAt)
-                                .orElse(null);
-
-                LocalDateTime lastUpdate = Stream.of(lastQuotationDate, lastInvoiceDate)
-                                .filter(Objects::nonNull)
-                                .max(LocalDateTime::compareTo)
-                                .orElse(null);
+                // Dernière écriture de factures ou de devis (catalogue des imports)
+                LocalDateTime lastUpdate = salesCatalog.getLastUpdate();
 
                 if (lastUpdate != null) {
                         return ResponseEntity.ok(lastUpdate.toString());
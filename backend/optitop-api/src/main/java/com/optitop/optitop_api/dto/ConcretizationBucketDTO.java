@@ -0,0 +1,71 @@
+package com.optitop.optitop_api.dto;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de la concrétisation des devis sur une tranche de période
+ *
+ * Contient le total magasin et le détail par vendeur, pour la tranche et la
+ * même tranche N-1. Les devis sans vendeur ne comptent que dans le total
+ * magasin.
+ */
+public class ConcretizationBucketDTO {
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Premier jour de la tranche
+     */
+    private final LocalDate bucketStart;
+
+    /**
+     * Total magasin
+     */
+    private final ConcretizationStatsDTO total;
+
+    /**
+     * Détail par vendeur, trié par référence
+     */
+    private final List<ConcretizationStatsDTO> sellers;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Constructeur principal
+     *
+     * @param bucketStart Premier jour de la tranche
+     * @param total       Total magasin
+     * @param sellers     Détail par vendeur
+     */
+    public ConcretizationBucketDTO(LocalDate bucketStart, ConcretizationStatsDTO total,
+            List<ConcretizationStatsDTO> sellers) {
+        this.bucketStart = bucketStart;
+        this.total = total;
+        this.sellers = List.copyOf(sellers);
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * @return Premier jour de la tranche
+     */
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    /**
+     * @return Total magasin
+     */
+    public ConcretizationStatsDTO getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Détail par vendeur, trié par référence
+     */
+    public List<ConcretizationStatsDTO> getSellers() {
+        return sellers;
+    }
+}
@@ -0,0 +1,117 @@
+package com.optitop.optitop_api.dto;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de l'analyse de concrétisation des devis d'une période
+ *
+ * Contient la période complète et son découpage en tranches, chacune avec
+ * le total magasin et le détail par vendeur, comparés à la même période
+ * N-1. Les tranches sans aucun devis (N et N-1) sont omises.
+ */
+public class ConcretizationSeriesDTO {
+
+    // ===== ENUM DÉCOUPAGE =====
+
+    /**
+     * Découpage de la période en tranches
+     *
+     * - NONE : Une seule tranche, la période complète
+     * - WEEK : Semaines, datées de leur lundi
+     * - MONTH : Mois, datés de leur premier jour
+     *
+     * La première tranche peut commencer avant le début de la période. Les
+     * jours N-1 sont placés dans la tranche de leur date décalée d'un an.
+     */
+    public enum Granularity {
+        NONE,
+        WEEK,
+        MONTH
+    }
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Date de début de la période
+     */
+    private final LocalDate startDate;
+
+    /**
+     * Date de fin de la période
+     */
+    private final LocalDate endDate;
+
+    /**
+     * Découpage des tranches
+     */
+    private final Granularity granularity;
+
+    /**
+     * Période complète
+     */
+    private final ConcretizationBucketDTO period;
+
+    /**
+     * Tranches de la période, par date croissante
+     */
+    private final List<ConcretizationBucketDTO> buckets;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Constructeur principal
+     *
+     * @param startDate   Date de début de la période
+     * @param endDate     Date de fin de la période
+     * @param granularity Découpage des tranches
+     * @param period      Période complète
+     * @param buckets     Tranches de la période
+     */
+    public ConcretizationSeriesDTO(LocalDate startDate, LocalDate endDate, Granularity granularity,
+            ConcretizationBucketDTO period, List<ConcretizationBucketDTO> buckets) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.granularity = granularity;
+        this.period = period;
+        this.buckets = List.copyOf(buckets);
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * @return Date de début de la période
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * @return Date de fin de la période
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * @return Découpage des tranches
+     */
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * @return Période complète
+     */
+    public ConcretizationBucketDTO getPeriod() {
+        return period;
+    }
+
+    /**
+     * @return Tranches de la période, par date croissante
+     */
+    public List<ConcretizationBucketDTO> getBuckets() {
+        return buckets;
+    }
+}
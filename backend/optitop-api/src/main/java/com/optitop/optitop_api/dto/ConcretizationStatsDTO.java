@@ -0,0 +1,143 @@
+package com.optitop.optitop_api.dto;
+
+/**
+ * DTO des devis et du taux de concrétisation d'un périmètre, sur la période
+ * et la même période N-1
+ *
+ * Le périmètre est le magasin (référence vendeur null) ou un vendeur. Les
+ * devis non validés et les taux sont déduits des nombres de devis et de
+ * devis validés.
+ */
+public class ConcretizationStatsDTO {
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Référence du vendeur, null pour le magasin
+     */
+    private final String sellerRef;
+
+    /**
+     * Nombre de devis de la période
+     */
+    private final long totalQuotations;
+
+    /**
+     * Nombre de devis validés de la période
+     */
+    private final long validatedQuotations;
+
+    /**
+     * Nombre de devis de la période N-1
+     */
+    private final long previousTotalQuotations;
+
+    /**
+     * Nombre de devis validés de la période N-1
+     */
+    private final long previousValidatedQuotations;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Constructeur principal
+     *
+     * @param sellerRef                   Référence du vendeur, null pour le
+     *                                    magasin
+     * @param totalQuotations             Nombre de devis de la période
+     * @param validatedQuotations         Nombre de devis validés de la période
+     * @param previousTotalQuotations     Nombre de devis N-1
+     * @param previousValidatedQuotations Nombre de devis validés N-1
+     */
+    public ConcretizationStatsDTO(String sellerRef, long totalQuotations, long validatedQuotations,
+            long previousTotalQuotations, long previousValidatedQuotations) {
+        this.sellerRef = sellerRef;
+        this.totalQuotations = totalQuotations;
+        this.validatedQuotations = validatedQuotations;
+        this.previousTotalQuotations = previousTotalQuotations;
+        this.previousValidatedQuotations = previousValidatedQuotations;
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * @return Référence du vendeur, null pour le magasin
+     */
+    public String getSellerRef() {
+        return sellerRef;
+    }
+
+    /**
+     * @return Nombre de devis de la période
+     */
+    public long getTotalQuotations() {
+        return totalQuotations;
+    }
+
+    /**
+     * @return Nombre de devis validés de la période
+     */
+    public long getValidatedQuotations() {
+        return validatedQuotations;
+    }
+
+    /**
+     * @return Nombre de devis non validés de la période
+     */
+    public long getUnvalidatedQuotations() {
+        return totalQuotations - validatedQuotations;
+    }
+
+    /**
+     * @return Taux de concrétisation de la période (0-100), 0 si aucun devis
+     */
+    public double getConcretizationRate() {
+        return rate(validatedQuotations, totalQuotations);
+    }
+
+    /**
+     * @return Nombre de devis N-1
+     */
+    public long getPreviousTotalQuotations() {
+        return previousTotalQuotations;
+    }
+
+    /**
+     * @return Nombre de devis validés N-1
+     */
+    public long getPreviousValidatedQuotations() {
+        return previousValidatedQuotations;
+    }
+
+    /**
+     * @return Nombre de devis non validés N-1
+     */
+    public long getPreviousUnvalidatedQuotations() {
+        return previousTotalQuotations - previousValidatedQuotations;
+    }
+
+    /**
+     * @return Taux de concrétisation N-1 (0-100), 0 si aucun devis N-1
+     */
+    public double getPreviousConcretizationRate() {
+        return rate(previousValidatedQuotations, previousTotalQuotations);
+    }
+
+    /**
+     * @return Écart de taux avec N-1 en points, null sans devis N-1
+     */
+    public Double getRateDelta() {
+        return previousTotalQuotations > 0 ? getConcretizationRate() - getPreviousConcretizationRate() : null;
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * @param validated Nombre de devis validés
+     * @param total     Nombre de devis
+     * @return Taux en pourcentage, 0 si aucun devis
+     */
+    private static double rate(long validated, long total) {
+        return total > 0 ? validated * 100.0 / total : 0.0;
+    }
+}
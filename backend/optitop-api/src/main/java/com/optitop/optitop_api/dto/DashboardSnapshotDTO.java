@@ -0,0 +1,130 @@
+package com.optitop.optitop_api.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO regroupant toutes les statistiques du tableau de bord d'une période
+ *
+ * Contient, pour une période donnée, les mêmes données que les endpoints
+ * unitaires de statistiques :
+ * - Chiffre d'affaires de la période et de la même période N-1
+ * - Statistiques globales du magasin (ligne TOTAL)
+ * - Chiffre d'affaires et part du CA magasin par vendeur
+ * - Paniers moyens par vendeur
+ * - Montures primées par vendeur
+ * - Statistiques des devis (globales et par vendeur)
+ *
+ * Permet au tableau de bord de se charger en un seul appel.
+ */
+public class DashboardSnapshotDTO {
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Date de début de la période
+     */
+    private LocalDate startDate;
+
+    /**
+     * Date de fin de la période
+     */
+    private LocalDate endDate;
+
+    /**
+     * Chiffre d'affaires de la période (currentAmount) et N-1 (previousAmount)
+     */
+    private Map<String, Object> periodRevenue;
+
+    /**
+     * Statistiques globales du magasin
+     */
+    private AverageBasketDTO totalStats;
+
+    /**
+     * Chiffre d'affaires et pourcentage du CA magasin par vendeur
+     */
+    private List<Map<String, Object>> sellerStats;
+
+    /**
+     * Paniers moyens par vendeur
+     */
+    private List<AverageBasketDTO> averageBaskets;
+
+    /**
+     * Montures et montures primées par vendeur
+     */
+    private List<FrameStatsDTO> frameStats;
+
+    /**
+     * Statistiques des devis
+     */
+    private QuotationStatsDTO quotationStats;
+
+    // ===== GETTERS ET SETTERS =====
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Map<String, Object> getPeriodRevenue() {
+        return periodRevenue;
+    }
+
+    public void setPeriodRevenue(Map<String, Object> periodRevenue) {
+        this.periodRevenue = periodRevenue;
+    }
+
+    public AverageBasketDTO getTotalStats() {
+        return totalStats;
+    }
+
+    public void setTotalStats(AverageBasketDTO totalStats) {
+        this.totalStats = totalStats;
+    }
+
+    public List<Map<String, Object>> getSellerStats() {
+        return sellerStats;
+    }
+
+    public void setSellerStats(List<Map<String, Object>> sellerStats) {
+        this.sellerStats = sellerStats;
+    }
+
+    public List<AverageBasketDTO> getAverageBaskets() {
+        return averageBaskets;
+    }
+
+    public void setAverageBaskets(List<AverageBasketDTO> averageBaskets) {
+        this.averageBaskets = averageBaskets;
+    }
+
+    public List<FrameStatsDTO> getFrameStats() {
+        return frameStats;
+    }
+
+    public void setFrameStats(List<FrameStatsDTO> frameStats) {
+        this.frameStats = frameStats;
+    }
+
+    public QuotationStatsDTO getQuotationStats() {
+        return quotationStats;
+    }
+
+    public void setQuotationStats(QuotationStatsDTO quotationStats) {
+        this.quotationStats = quotationStats;
+    }
+}
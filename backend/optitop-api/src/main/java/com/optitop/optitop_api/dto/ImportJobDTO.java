@@ -0,0 +1,193 @@
+package com.optitop.optitop_api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO pour le suivi d'un import de ventes en tâche de fond
+ *
+ * Contient l'état courant d'un import soumis :
+ * - Identifiant de la tâche et fichier importé
+ * - Étape en cours (PENDING, PARSE, DELETE, INSERT, AGGREGATE, COMPLETED,
+ * FAILED)
+ * - Période des données et compteurs de lignes
+ * - Erreurs rencontrées (lignes rejetées, cause d'un échec)
+ *
+ * Utilisé par la page d'importation pour afficher la progression.
+ */
+public class ImportJobDTO {
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Identifiant de la tâche d'import
+     */
+    private String id;
+
+    /**
+     * Nom du fichier importé
+     */
+    private String fileName;
+
+    /**
+     * Mode d'import (FULL, DELTA ou CHUNKED)
+     */
+    private String mode;
+
+    /**
+     * Étape en cours
+     */
+    private String phase;
+
+    /**
+     * Date de début des données du fichier (connue après la première passe)
+     */
+    private LocalDate startDate;
+
+    /**
+     * Date de fin des données du fichier (connue après la première passe)
+     */
+    private LocalDate endDate;
+
+    /**
+     * Nombre de lignes de données du fichier (connu après la première passe)
+     */
+    private long totalRows;
+
+    /**
+     * Nombre de lignes analysées
+     */
+    private long rowsParsed;
+
+    /**
+     * Nombre de lignes écrites en base
+     */
+    private long rowsWritten;
+
+    /**
+     * Nombre total d'erreurs
+     */
+    private long errorCount;
+
+    /**
+     * Premiers messages d'erreur
+     */
+    private List<String> errors;
+
+    /**
+     * Date et heure de soumission
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * Date et heure de fin (null si en cours)
+     */
+    private LocalDateTime finishedAt;
+
+    // ===== GETTERS ET SETTERS =====
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    public void setRowsParsed(long rowsParsed) {
+        this.rowsParsed = rowsParsed;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,83 @@
+package com.optitop.optitop_api.dto;
+
+/**
+ * DTO pour le chiffre d'affaires d'un mois et sa comparaison N-1
+ * 
+ * Contient les données d'un mois de la série de chiffre d'affaires :
+ * - Chiffre d'affaires du mois et du même mois l'année précédente
+ * - Écart en valeur et en pourcentage calculés automatiquement
+ * 
+ * Les mois sans facture ont un chiffre d'affaires nul.
+ */
+public class MonthlyRevenueDTO {
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Numéro du mois (1-12)
+     */
+    private int month;
+
+    /**
+     * Chiffre d'affaires du mois
+     */
+    private double revenue;
+
+    /**
+     * Chiffre d'affaires du même mois l'année précédente
+     */
+    private double previousRevenue;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Constructeur principal
+     * 
+     * @param month           Numéro du mois (1-12)
+     * @param revenue         Chiffre d'affaires du mois
+     * @param previousRevenue Chiffre d'affaires du même mois N-1
+     */
+    public MonthlyRevenueDTO(int month, double revenue, double previousRevenue) {
+        this.month = month;
+        this.revenue = revenue;
+        this.previousRevenue = previousRevenue;
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * @return Numéro du mois (1-12)
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * @return Chiffre d'affaires du mois
+     */
+    public double getRevenue() {
+        return revenue;
+    }
+
+    /**
+     * @return Chiffre d'affaires du même mois N-1
+     */
+    public double getPreviousRevenue() {
+        return previousRevenue;
+    }
+
+    /**
+     * @return Écart avec N-1 (N - N-1)
+     */
+    public double getDelta() {
+        return revenue - previousRevenue;
+    }
+
+    /**
+     * @return Écart avec N-1 en pourcentage de N-1, null sans chiffre
+     *         d'affaires N-1
+     */
+    public Double getDeltaPercent() {
+        return previousRevenue != 0 ? (revenue - previousRevenue) / previousRevenue * 100 : null;
+    }
+}
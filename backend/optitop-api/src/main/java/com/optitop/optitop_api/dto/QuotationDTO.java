@@ -1,5 +1,8 @@
 package com.optitop.optitop_api.dto;
 
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.Quotations.QuotationAction;
+
 // ===== IMPORTS UTILITAIRES =====
 import java.time.LocalDate;
 
@@ -12,6 +15,7 @@ import java.time.LocalDate;
  * - Informations temporelles (date de création)
  * - Données commerciales (vendeur, client)
  * - Statut de traitement (action appliquée, commentaires)
+ * - Version, à renvoyer avec les modifications (verrouillage optimiste)
  * 
  * Utilisé pour les échanges API entre le frontend et le backend
  * dans la gestion des devis non validés et leurs mises à jour.
@@ -54,6 +58,13 @@ public class QuotationDTO {
      */
     private String comment;
 
+    /**
+     * Version du devis à sa lecture
+     * Renvoyée avec une modification pour détecter les modifications
+     * concurrentes
+     */
+    private Long version;
+
     // ===== CONSTRUCTEUR =====
 
     /**
@@ -68,6 +79,31 @@ public class QuotationDTO {
         this.id = id;
     }
 
+    /**
+     * Constructeur de projection JPQL
+     * 
+     * Alimenté directement par la requête, sans charger l'entité ni son
+     * vendeur
+     * 
+     * @param id        Identifiant unique du devis
+     * @param date      Date de création du devis
+     * @param sellerRef Référence du vendeur, null si non assigné
+     * @param client    Nom du client
+     * @param action    Action appliquée, null si aucune
+     * @param comment   Commentaire associé
+     * @param version   Version du devis
+     */
+    public QuotationDTO(Long id, LocalDate date, String sellerRef, String client, QuotationAction action,
+            String comment, Long version) {
+        this.id = id;
+        this.date = date;
+        this.seller = sellerRef != null ? sellerRef : "Non assigné";
+        this.client = client;
+        this.action = action != null ? action.getValue() : null;
+        this.comment = comment;
+        this.version = version;
+    }
+
     // ===== GETTERS =====
 
     /**
@@ -112,6 +148,13 @@ public class QuotationDTO {
         return comment;
     }
 
+    /**
+     * @return Version du devis à sa lecture
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     // ===== SETTERS =====
 
     /**
@@ -148,4 +191,11 @@ public class QuotationDTO {
     public void setComment(String comment) {
         this.comment = comment;
     }
-}
\ No newline at end of file
+
+    /**
+     * @param version Version du devis à définir
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
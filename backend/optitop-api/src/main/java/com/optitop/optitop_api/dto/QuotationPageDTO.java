@@ -0,0 +1,80 @@
+package com.optitop.optitop_api.dto;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO d'une page de devis non validés
+ *
+ * Contient les devis de la page, du plus récent au plus ancien, et le
+ * curseur de la page suivante : date et identifiant du dernier devis de la
+ * page, à renvoyer tels quels (afterDate, afterId) pour poursuivre la
+ * lecture. Le curseur est null lorsque la page est la dernière.
+ */
+public class QuotationPageDTO {
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Devis de la page
+     */
+    private List<QuotationDTO> items;
+
+    /**
+     * Date du dernier devis de la page, null si dernière page
+     */
+    private LocalDate nextAfterDate;
+
+    /**
+     * Identifiant du dernier devis de la page, null si dernière page
+     */
+    private Long nextAfterId;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Constructeur principal
+     *
+     * @param items   Devis de la page
+     * @param hasMore true si d'autres devis suivent la page
+     */
+    public QuotationPageDTO(List<QuotationDTO> items, boolean hasMore) {
+        this.items = items;
+        if (hasMore && !items.isEmpty()) {
+            QuotationDTO last = items.get(items.size() - 1);
+            this.nextAfterDate = last.getDate();
+            this.nextAfterId = last.getId();
+        }
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * @return Devis de la page
+     */
+    public List<QuotationDTO> getItems() {
+        return items;
+    }
+
+    /**
+     * @return Date du dernier devis de la page, null si dernière page
+     */
+    public LocalDate getNextAfterDate() {
+        return nextAfterDate;
+    }
+
+    /**
+     * @return Identifiant du dernier devis de la page, null si dernière page
+     */
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    /**
+     * @return true si d'autres devis suivent la page
+     */
+    public boolean isHasMore() {
+        return nextAfterId != null;
+    }
+}
@@ -44,10 +44,10 @@ public class QuotationStatsDTO {
     // ===== PROPRIÉTÉS DÉTAILLÉES =====
 
     /**
-     * Statistiques détaillées par vendeur
+     * Statistiques détaillées par vendeur (liste non modifiable)
      * Permet l'analyse des performances individuelles
      */
-    private List<SellerStatsDTO> sellerStats;
+    private final List<SellerStatsDTO> sellerStats;
 
     // ===== CONSTRUCTEUR =====
 
@@ -57,11 +57,13 @@ public class QuotationStatsDTO {
      * @param total       Nombre total de devis
      * @param validated   Nombre de devis validés
      * @param unvalidated Nombre de devis non validés
+     * @param sellerStats Statistiques par vendeur
      */
-    public QuotationStatsDTO(Long total, Long validated, Long unvalidated) {
+    public QuotationStatsDTO(Long total, Long validated, Long unvalidated, List<SellerStatsDTO> sellerStats) {
         this.totalQuotations = total;
         this.validatedQuotations = validated;
         this.unvalidatedQuotations = unvalidated;
+        this.sellerStats = List.copyOf(sellerStats);
 
         // Calcul automatique du taux de concrétisation avec protection division par
         // zéro
@@ -106,13 +108,4 @@ public class QuotationStatsDTO {
     public List<SellerStatsDTO> getSellerStats() {
         return sellerStats;
     }
-
-    // ===== SETTERS =====
-
-    /**
-     * @param sellerStats Statistiques par vendeur à définir
-     */
-    public void setSellerStats(List<SellerStatsDTO> sellerStats) {
-        this.sellerStats = sellerStats;
-    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ package com.optitop.optitop_api.dto;
  * - Identifiant unique du devis (immutable pour la traçabilité)
  * - Action à appliquer au devis (validation, refus, attente...)
  * - Commentaire libre pour justifier l'action
+ * - Version du devis lue par le client (verrouillage optimiste)
  * 
  * Utilisé spécifiquement pour les mises à jour en lot depuis l'interface
  * de gestion des devis non validés. Optimise les performances en regroupant
@@ -34,6 +35,13 @@ public class QuotationUpdateDTO {
      */
     private String comment;
 
+    /**
+     * Version du devis sur laquelle se fonde la modification
+     * La modification est refusée si le devis a changé depuis. Absente
+     * (anciens clients), la modification est appliquée sans contrôle
+     */
+    private Long version;
+
     // ===== CONSTRUCTEUR =====
 
     /**
@@ -71,6 +79,13 @@ public class QuotationUpdateDTO {
         return comment;
     }
 
+    /**
+     * @return Version du devis lue par le client, null si inconnue
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     // ===== SETTERS =====
 
     /**
@@ -86,4 +101,11 @@ public class QuotationUpdateDTO {
     public void setComment(String comment) {
         this.comment = comment;
     }
-}
\ No newline at end of file
+
+    /**
+     * @param version Version du devis lue par le client
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
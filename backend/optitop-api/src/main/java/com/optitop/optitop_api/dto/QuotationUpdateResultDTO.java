@@ -0,0 +1,87 @@
+package com.optitop.optitop_api.dto;
+
+/**
+ * DTO du résultat de la mise à jour d'un devis
+ *
+ * Retourné pour chaque modification d'un lot, dans l'ordre de la demande :
+ * le client sait quels devis ont été enregistrés et lesquels doivent être
+ * corrigés ou rechargés. Un devis enregistré porte sa nouvelle version, à
+ * utiliser pour la modification suivante.
+ */
+public class QuotationUpdateResultDTO {
+
+    // ===== ENUM STATUTS =====
+
+    /**
+     * Issue de la mise à jour d'un devis
+     *
+     * - UPDATED : Action et commentaire enregistrés
+     * - NOT_FOUND : Aucun devis avec cet identifiant
+     * - INVALID_ACTION : Action inconnue, devis laissé inchangé
+     * - CONFLICT : Devis modifié depuis sa lecture par le client, laissé
+     * inchangé
+     * - DUPLICATE : Devis présent plusieurs fois dans le lot, laissé inchangé
+     */
+    public enum Status {
+        UPDATED,
+        NOT_FOUND,
+        INVALID_ACTION,
+        CONFLICT,
+        DUPLICATE
+    }
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Identifiant du devis concerné
+     */
+    private final Long id;
+
+    /**
+     * Issue de la mise à jour
+     */
+    private final Status status;
+
+    /**
+     * Nouvelle version du devis, relue en base, null si non enregistré
+     */
+    private final Long version;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Constructeur principal
+     *
+     * @param id      Identifiant du devis concerné
+     * @param status  Issue de la mise à jour
+     * @param version Nouvelle version du devis, null si non enregistré
+     */
+    public QuotationUpdateResultDTO(Long id, Status status, Long version) {
+        this.id = id;
+        this.status = status;
+        this.version = version;
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * @return Identifiant du devis concerné
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return Issue de la mise à jour
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Nouvelle version du devis, null si inconnue
+     */
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,185 @@
+package com.optitop.optitop_api.dto;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+
+/**
+ * DTO d'un devis de la liste de relance
+ *
+ * Contient les informations d'affichage et de modification d'un devis
+ * (mêmes champs que {@link QuotationDTO}) ainsi que les éléments de sa
+ * priorité :
+ * - Montant et ancienneté du devis
+ * - Score de priorité calculé par la requête
+ * - Rang du devis dans la liste de son vendeur (1 = plus prioritaire)
+ */
+public class QuotationWorklistDTO {
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Identifiant unique du devis
+     */
+    private final Long id;
+
+    /**
+     * Date de création du devis
+     */
+    private final LocalDate date;
+
+    /**
+     * Référence du vendeur responsable du devis
+     */
+    private final String seller;
+
+    /**
+     * Nom du client concerné par le devis
+     */
+    private final String client;
+
+    /**
+     * Action appliquée au devis (libellé affiché), null si aucune
+     */
+    private final String action;
+
+    /**
+     * Commentaire libre associé au devis
+     */
+    private final String comment;
+
+    /**
+     * Version du devis, à renvoyer avec une modification
+     */
+    private final Long version;
+
+    /**
+     * Montant du devis
+     */
+    private final double totalQuotation;
+
+    /**
+     * Ancienneté du devis en jours
+     */
+    private final int ageDays;
+
+    /**
+     * Score de priorité (plus élevé = plus prioritaire)
+     */
+    private final double priority;
+
+    /**
+     * Rang du devis dans la liste de son vendeur
+     */
+    private final int rank;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Constructeur principal
+     *
+     * @param id             Identifiant unique du devis
+     * @param date           Date de création du devis
+     * @param seller         Référence du vendeur
+     * @param client         Nom du client
+     * @param action         Libellé de l'action, null si aucune
+     * @param comment        Commentaire associé
+     * @param version        Version du devis
+     * @param totalQuotation Montant du devis
+     * @param ageDays        Ancienneté en jours
+     * @param priority       Score de priorité
+     * @param rank           Rang dans la liste du vendeur
+     */
+    public QuotationWorklistDTO(Long id, LocalDate date, String seller, String client, String action,
+            String comment, Long version, double totalQuotation, int ageDays, double priority, int rank) {
+        this.id = id;
+        this.date = date;
+        this.seller = seller;
+        this.client = client;
+        this.action = action;
+        this.comment = comment;
+        this.version = version;
+        this.totalQuotation = totalQuotation;
+        this.ageDays = ageDays;
+        this.priority = priority;
+        this.rank = rank;
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * @return Identifiant unique du devis
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return Date de création du devis
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return Référence du vendeur
+     */
+    public String getSeller() {
+        return seller;
+    }
+
+    /**
+     * @return Nom du client
+     */
+    public String getClient() {
+        return client;
+    }
+
+    /**
+     * @return Libellé de l'action, null si aucune
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * @return Commentaire associé
+     */
+    public String getComment() {
+        return comment;
+    }
+
+    /**
+     * @return Version du devis
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Montant du devis
+     */
+    public double getTotalQuotation() {
+        return totalQuotation;
+    }
+
+    /**
+     * @return Ancienneté en jours
+     */
+    public int getAgeDays() {
+        return ageDays;
+    }
+
+    /**
+     * @return Score de priorité
+     */
+    public double getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return Rang dans la liste du vendeur
+     */
+    public int getRank() {
+        return rank;
+    }
+}
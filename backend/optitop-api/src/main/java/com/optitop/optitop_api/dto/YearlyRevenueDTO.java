@@ -0,0 +1,88 @@
+package com.optitop.optitop_api.dto;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.util.List;
+
+/**
+ * DTO pour le chiffre d'affaires mensuel d'une année et sa comparaison N-1
+ * 
+ * Contient une année de la série de chiffre d'affaires :
+ * - Détail des 12 mois avec leur comparaison N-1
+ * - Totaux annuels N et N-1 et écarts calculés automatiquement
+ * 
+ * Utilisé par les tableaux et graphiques de chiffre d'affaires sur
+ * plusieurs années.
+ */
+public class YearlyRevenueDTO {
+
+    // ===== PROPRIÉTÉS =====
+
+    /**
+     * Année
+     */
+    private int year;
+
+    /**
+     * Chiffre d'affaires des 12 mois de l'année
+     */
+    private List<MonthlyRevenueDTO> months;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Constructeur principal
+     * 
+     * @param year   Année
+     * @param months Chiffre d'affaires des 12 mois, triés par mois
+     */
+    public YearlyRevenueDTO(int year, List<MonthlyRevenueDTO> months) {
+        this.year = year;
+        this.months = List.copyOf(months);
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * @return Année
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return Chiffre d'affaires des 12 mois de l'année
+     */
+    public List<MonthlyRevenueDTO> getMonths() {
+        return months;
+    }
+
+    /**
+     * @return Chiffre d'affaires de l'année
+     */
+    public double getRevenue() {
+        return months.stream().mapToDouble(MonthlyRevenueDTO::getRevenue).sum();
+    }
+
+    /**
+     * @return Chiffre d'affaires de l'année précédente
+     */
+    public double getPreviousRevenue() {
+        return months.stream().mapToDouble(MonthlyRevenueDTO::getPreviousRevenue).sum();
+    }
+
+    /**
+     * @return Écart avec N-1 (N - N-1)
+     */
+    public double getDelta() {
+        return getRevenue() - getPreviousRevenue();
+    }
+
+    /**
+     * @return Écart avec N-1 en pourcentage de N-1, null sans chiffre
+     *         d'affaires N-1
+     */
+    public Double getDeltaPercent() {
+        double previousRevenue = getPreviousRevenue();
+        return previousRevenue != 0 ? getDelta() / previousRevenue * 100 : null;
+    }
+}
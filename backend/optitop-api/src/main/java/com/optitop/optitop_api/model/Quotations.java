@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 // ===== IMPORTS UTILITAIRES =====
 import java.time.LocalDate;
@@ -26,6 +27,7 @@ import java.time.LocalDateTime;
  * - Statut de validation (validé/non validé)
  * - Action de suivi appliquée au devis
  * - Commentaires libres pour le suivi
+ * - Montant, pour la priorité de relance
  * 
  * Utilisée pour la gestion du pipeline commercial et le suivi des prospects.
  * Les devis non validés nécessitent un traitement par les managers.
@@ -94,6 +96,13 @@ public class Quotations {
     @Column(name = "comment")
     private String comment;
 
+    /**
+     * Montant du devis, recopié des lignes de verres à l'import
+     * Utilisé pour prioriser la liste de relance
+     */
+    @Column(name = "total_quotation", nullable = false)
+    private Double totalQuotation = 0.0;
+
     // ===== PROPRIÉTÉS TECHNIQUES =====
 
     /**
@@ -103,6 +112,14 @@ public class Quotations {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    /**
+     * Version du devis pour le verrouillage optimiste
+     * Incrémentée à chaque modification de l'action ou du commentaire
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // ===== ENUM ACTIONS =====
 
     /**
@@ -284,6 +301,20 @@ public class Quotations {
         this.comment = comment;
     }
 
+    /**
+     * @return Montant du devis
+     */
+    public Double getTotalQuotation() {
+        return totalQuotation;
+    }
+
+    /**
+     * @param totalQuotation Montant du devis à définir
+     */
+    public void setTotalQuotation(Double totalQuotation) {
+        this.totalQuotation = totalQuotation;
+    }
+
     /**
      * @return Date de création de l'enregistrement
      */
@@ -297,4 +328,18 @@ public class Quotations {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    /**
+     * @return Version du devis
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param version Version à définir
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+package com.optitop.optitop_api.model;
+
+// ===== IMPORTS JPA =====
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// ===== IMPORTS HIBERNATE =====
+import org.hibernate.annotations.Immutable;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+
+/**
+ * Entité représentant les indicateurs de vente d'un vendeur sur un jour
+ *
+ * Agrégats pré-calculés des factures, lignes de factures et devis :
+ * - Chiffre d'affaires et nombre de factures
+ * - Factures optiques (nombre, montant, nombre net factures - avoirs)
+ * - Paniers P1 montures, P1 verres et P2 (montants et quantités)
+ * - Montures primées
+ * - Devis créés et devis validés
+ *
+ * Une ligne par couple (jour, vendeur), reconstruite en base par l'import
+ * pour chaque période importée (voir
+ * {@link com.optitop.optitop_api.repository.SalesBatchRepository#rebuildDailyRollup}).
+ * Les données sans vendeur sont regroupées sous la référence ''. Les
+ * statistiques sur une période somment ces lignes au lieu de parcourir les
+ * lignes de vente. Lecture seule côté JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "sales_daily_rollup")
+public class SalesDailyRollup {
+
+    // ===== PROPRIÉTÉS PRINCIPALES =====
+
+    /**
+     * Identifiant unique de la ligne
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Jour des ventes
+     */
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    /**
+     * Référence du vendeur ('' pour les données sans vendeur)
+     */
+    @Column(name = "seller_ref", nullable = false, length = 50)
+    private String sellerRef;
+
+    // ===== INDICATEURS DES FACTURES =====
+
+    /**
+     * Chiffre d'affaires de toutes les factures
+     */
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+
+    /**
+     * Nombre de factures (factures et avoirs)
+     */
+    @Column(name = "invoices", nullable = false)
+    private int invoices;
+
+    /**
+     * Nombre de factures optiques (factures et avoirs)
+     */
+    @Column(name = "optical_invoices", nullable = false)
+    private int opticalInvoices;
+
+    /**
+     * Montant des factures optiques
+     */
+    @Column(name = "optical_amount", nullable = false)
+    private double opticalAmount;
+
+    /**
+     * Nombre net de factures optiques (factures - avoirs)
+     */
+    @Column(name = "optical_net_invoices", nullable = false)
+    private int opticalNetInvoices;
+
+    // ===== INDICATEURS DES LIGNES DE FACTURES =====
+
+    /**
+     * Nombre de lignes de montures P1
+     */
+    @Column(name = "p1_mon_lines", nullable = false)
+    private int p1MonLines;
+
+    /**
+     * Nombre net de montures P1 (factures - avoirs)
+     */
+    @Column(name = "p1_mon_count", nullable = false)
+    private int p1MonCount;
+
+    /**
+     * Montant des montures P1
+     */
+    @Column(name = "p1_mon_amount", nullable = false)
+    private double p1MonAmount;
+
+    /**
+     * Quantité de verres P1
+     */
+    @Column(name = "p1_ver_count", nullable = false)
+    private int p1VerCount;
+
+    /**
+     * Montant des verres P1
+     */
+    @Column(name = "p1_ver_amount", nullable = false)
+    private double p1VerAmount;
+
+    /**
+     * Quantité d'équipements P2
+     */
+    @Column(name = "p2_count", nullable = false)
+    private int p2Count;
+
+    /**
+     * Montant des équipements P2
+     */
+    @Column(name = "p2_amount", nullable = false)
+    private double p2Amount;
+
+    /**
+     * Nombre net de montures primées (montant TTC ≥ 200€, avoirs décomptés)
+     */
+    @Column(name = "premium_frames", nullable = false)
+    private int premiumFrames;
+
+    // ===== INDICATEURS DES DEVIS =====
+
+    /**
+     * Nombre de devis
+     */
+    @Column(name = "quotations", nullable = false)
+    private int quotations;
+
+    /**
+     * Nombre de devis validés
+     */
+    @Column(name = "validated_quotations", nullable = false)
+    private int validatedQuotations;
+
+    // ===== CONSTRUCTEURS =====
+
+    /**
+     * Constructeur par défaut pour JPA
+     */
+    public SalesDailyRollup() {
+    }
+
+    // ===== GETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getSellerRef() {
+        return sellerRef;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public int getInvoices() {
+        return invoices;
+    }
+
+    public int getOpticalInvoices() {
+        return opticalInvoices;
+    }
+
+    public double getOpticalAmount() {
+        return opticalAmount;
+    }
+
+    public int getOpticalNetInvoices() {
+        return opticalNetInvoices;
+    }
+
+    public int getP1MonLines() {
+        return p1MonLines;
+    }
+
+    public int getP1MonCount() {
+        return p1MonCount;
+    }
+
+    public double getP1MonAmount() {
+        return p1MonAmount;
+    }
+
+    public int getP1VerCount() {
+        return p1VerCount;
+    }
+
+    public double getP1VerAmount() {
+        return p1VerAmount;
+    }
+
+    public int getP2Count() {
+        return p2Count;
+    }
+
+    public double getP2Amount() {
+        return p2Amount;
+    }
+
+    public int getPremiumFrames() {
+        return premiumFrames;
+    }
+
+    public int getQuotations() {
+        return quotations;
+    }
+
+    public int getValidatedQuotations() {
+        return validatedQuotations;
+    }
+}
@@ -0,0 +1,268 @@
+package com.optitop.optitop_api.model;
+
+// ===== IMPORTS JPA =====
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entité représentant un import de ventes (catalogue des imports)
+ *
+ * Une ligne par import, quel que soit son mode :
+ * - Fichier importé (nom et empreinte SHA-256 du contenu) et mode d'import
+ * - Période couverte par le fichier
+ * - Dernier jour dont les données sont validées en base (point de reprise)
+ * - Nombre de lignes de factures et de devis écrites
+ * - Statut de l'import
+ *
+ * Les imports complets et différentiels sont enregistrés à la fin de leur
+ * transaction, directement au statut COMPLETED. Un import par étapes est
+ * suivi jour par jour : interrompu (échec, annulation, arrêt du serveur), il
+ * reprend au jour suivant le point de reprise lorsque le même fichier est
+ * réimporté.
+ */
+@Entity
+@Table(name = "sales_imports")
+public class SalesImport {
+
+    // ===== PROPRIÉTÉS PRINCIPALES =====
+
+    /**
+     * Identifiant unique de l'import
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Nom du fichier importé
+     */
+    @Column(name = "file_name")
+    private String fileName;
+
+    /**
+     * Mode d'import
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Mode mode;
+
+    /**
+     * Empreinte SHA-256 du fichier (hexadécimal)
+     * Identifie le fichier lors d'une reprise
+     */
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    /**
+     * Date de début des données du fichier
+     */
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    /**
+     * Date de fin des données du fichier
+     */
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    // ===== PROPRIÉTÉS DE SUIVI =====
+
+    /**
+     * Statut de l'import
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    /**
+     * Dernier jour dont les données sont validées en base
+     * null tant qu'aucune étape n'est validée
+     */
+    @Column(name = "last_committed_date")
+    private LocalDate lastCommittedDate;
+
+    /**
+     * Nombre de lignes de factures écrites
+     */
+    @Column(name = "invoices_lines", nullable = false)
+    private int invoicesLines;
+
+    /**
+     * Nombre de lignes de devis écrites
+     */
+    @Column(name = "quotations_lines", nullable = false)
+    private int quotationsLines;
+
+    /**
+     * Date et heure de création de l'import
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Date et heure de la dernière étape validée
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // ===== ENUMS =====
+
+    /**
+     * Modes d'import
+     *
+     * - FULL : Réécriture de toute la période du fichier
+     * - DELTA : Réécriture des seuls jours modifiés
+     * - CHUNKED : Réécriture par étapes validées séparément
+     */
+    public enum Mode {
+        FULL, DELTA, CHUNKED
+    }
+
+    /**
+     * Statuts d'un import
+     *
+     * - IN_PROGRESS : Import en cours (ou serveur arrêté pendant l'import)
+     * - COMPLETED : Toutes les étapes sont validées
+     * - FAILED : Import interrompu par une erreur
+     * - CANCELLED : Import annulé par l'utilisateur
+     */
+    public enum Status {
+        IN_PROGRESS, COMPLETED, FAILED, CANCELLED
+    }
+
+    // ===== CONSTRUCTEURS =====
+
+    /**
+     * Constructeur par défaut pour JPA
+     */
+    public SalesImport() {
+    }
+
+    /**
+     * Constructeur pour un nouvel import
+     *
+     * @param fileName  Nom du fichier importé
+     * @param mode      Mode d'import
+     * @param checksum  Empreinte SHA-256 du fichier
+     * @param startDate Date de début des données
+     * @param endDate   Date de fin des données
+     */
+    public SalesImport(String fileName, Mode mode, String checksum, LocalDate startDate, LocalDate endDate) {
+        this.fileName = fileName;
+        this.mode = mode;
+        this.checksum = checksum;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = Status.IN_PROGRESS;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // ===== GETTERS ET SETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDate getLastCommittedDate() {
+        return lastCommittedDate;
+    }
+
+    public void setLastCommittedDate(LocalDate lastCommittedDate) {
+        this.lastCommittedDate = lastCommittedDate;
+    }
+
+    public int getInvoicesLines() {
+        return invoicesLines;
+    }
+
+    public void setInvoicesLines(int invoicesLines) {
+        this.invoicesLines = invoicesLines;
+    }
+
+    public int getQuotationsLines() {
+        return quotationsLines;
+    }
+
+    public void setQuotationsLines(int quotationsLines) {
+        this.quotationsLines = quotationsLines;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.optitop.optitop_api.model;
+
+// ===== IMPORTS JPA =====
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// ===== IMPORTS HIBERNATE =====
+import org.hibernate.annotations.Immutable;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+
+/**
+ * Entité représentant le chiffre d'affaires d'un vendeur sur un mois
+ *
+ * Série mensuelle matérialisée à partir des agrégats journaliers
+ * ({@link SalesDailyRollup}), recalculée par l'import pour les mois couverts
+ * par la période importée (voir
+ * {@link com.optitop.optitop_api.repository.SalesBatchRepository#rebuildMonthlyRevenue}).
+ * Seuls les couples (mois, vendeur) ayant au moins une facture sont
+ * présents. Les données sans vendeur sont regroupées sous la référence ''.
+ * Lecture seule côté JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "sales_monthly_revenue")
+public class SalesMonthlyRevenue {
+
+    // ===== PROPRIÉTÉS PRINCIPALES =====
+
+    /**
+     * Identifiant unique de la ligne
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Premier jour du mois
+     */
+    @Column(name = "month", nullable = false)
+    private LocalDate month;
+
+    /**
+     * Référence du vendeur ('' pour les données sans vendeur)
+     */
+    @Column(name = "seller_ref", nullable = false, length = 50)
+    private String sellerRef;
+
+    // ===== INDICATEURS =====
+
+    /**
+     * Chiffre d'affaires du mois
+     */
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+
+    /**
+     * Nombre de factures du mois (factures et avoirs)
+     */
+    @Column(name = "invoices", nullable = false)
+    private int invoices;
+
+    // ===== CONSTRUCTEURS =====
+
+    /**
+     * Constructeur par défaut pour JPA
+     */
+    public SalesMonthlyRevenue() {
+    }
+
+    // ===== GETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public String getSellerRef() {
+        return sellerRef;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public int getInvoices() {
+        return invoices;
+    }
+}
@@ -0,0 +1,174 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.Quotations.QuotationAction;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Repository de mise à jour en masse des devis
+ *
+ * Les modifications d'un lot sont envoyées en une seule requête batch
+ * JdbcTemplate.batchUpdate, sans charger les devis ni leur vendeur. Avec
+ * l'option rewriteBatchedStatements du connecteur MySQL, le lot entier
+ * part en un aller-retour vers la base.
+ *
+ * Verrouillage optimiste : une modification portant la version lue par le
+ * client n'est appliquée que si le devis est toujours à cette version. La
+ * condition est évaluée par la requête elle-même, sans verrou posé à la
+ * lecture.
+ *
+ * Les écritures participent à la transaction JPA en cours (même connexion).
+ */
+@Repository
+public class QuotationBatchRepository {
+
+    // ===== REQUÊTES DE MISE À JOUR =====
+
+    /**
+     * Action inchangée si aucune nouvelle action n'est fournie. Version
+     * contrôlée si le client la fournit, incrémentée dans tous les cas
+     */
+    private static final String UPDATE_ACTION_AND_COMMENT = "UPDATE quotations "
+            + "SET action = COALESCE(?, action), comment = ?, version = version + 1 "
+            + "WHERE id = ? AND (? IS NULL OR version = ?)";
+
+    // ===== REQUÊTES DE LECTURE =====
+
+    private static final String SELECT_VERSIONS = "SELECT id, version FROM quotations WHERE id IN (%s)";
+
+    /**
+     * Nombre maximal d'identifiants par requête de lecture
+     */
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    /**
+     * Accès JDBC partageant la connexion de la transaction en cours
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructeur avec injection des dépendances
+     *
+     * @param jdbcTemplate Template JDBC configuré sur la source de données
+     */
+    public QuotationBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // ===== MISE À JOUR =====
+
+    /**
+     * Modification à appliquer à un devis
+     *
+     * @param id              Identifiant du devis
+     * @param action          Nouvelle action, null pour conserver l'action
+     *                        actuelle
+     * @param comment         Nouveau commentaire
+     * @param expectedVersion Version lue par le client, null pour modifier
+     *                        sans contrôle
+     */
+    public record QuotationChange(long id, QuotationAction action, String comment, Long expectedVersion) {
+    }
+
+    /**
+     * Applique un lot de modifications en une seule requête batch
+     *
+     * Les devis sont modifiés par identifiant croissant : deux lots
+     * concurrents verrouillent leurs devis communs dans le même ordre et ne
+     * peuvent pas s'interbloquer.
+     *
+     * Le résultat de chaque modification est lu dans le nombre de lignes
+     * modifiées. Si le pilote ne le communique pas
+     * ({@link Statement#SUCCESS_NO_INFO}), le contrôle de version ne peut
+     * être établi : une exception annule la transaction.
+     *
+     * @param changes Modifications à appliquer, un devis au plus une fois
+     * @return Pour chaque modification, dans l'ordre, true si le devis existe,
+     *         est à la version attendue et a été mis à jour
+     * @throws IllegalArgumentException                    si un devis est
+     *                                                     présent plusieurs
+     *                                                     fois
+     * @throws IncorrectUpdateSemanticsDataAccessException si le nombre de
+     *                                                     lignes modifiées
+     *                                                     n'est pas communiqué
+     */
+    public boolean[] updateActionsAndComments(List<QuotationChange> changes) {
+        boolean[] updated = new boolean[changes.size()];
+        if (changes.isEmpty()) {
+            return updated;
+        }
+
+        List<Integer> order = IntStream.range(0, changes.size()).boxed()
+                .sorted(Comparator.comparingLong(i -> changes.get(i).id()))
+                .toList();
+        for (int i = 1; i < order.size(); i++) {
+            if (changes.get(order.get(i)).id() == changes.get(order.get(i - 1)).id()) {
+                throw new IllegalArgumentException("Devis " + changes.get(order.get(i)).id()
+                        + " présent plusieurs fois dans le lot");
+            }
+        }
+        List<QuotationChange> ordered = order.stream().map(changes::get).toList();
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_ACTION_AND_COMMENT, ordered, ordered.size(),
+                (ps, change) -> {
+                    ps.setString(1, change.action() != null ? change.action().name() : null);
+                    ps.setString(2, change.comment());
+                    ps.setLong(3, change.id());
+                    ps.setObject(4, change.expectedVersion(), Types.BIGINT);
+                    ps.setObject(5, change.expectedVersion(), Types.BIGINT);
+                });
+
+        // Un seul lot : compte de lignes trouvées par modification, replacé
+        // dans l'ordre de la demande
+        for (int i = 0; i < updated.length; i++) {
+            if (counts[0][i] == Statement.SUCCESS_NO_INFO) {
+                throw new IncorrectUpdateSemanticsDataAccessException("Nombre de lignes modifiées non communiqué "
+                        + "pour le devis " + ordered.get(i).id() + " : contrôle de version impossible");
+            }
+            updated[order.get(i)] = counts[0][i] > 0;
+        }
+        return updated;
+    }
+
+    // ===== LECTURE =====
+
+    /**
+     * Lit la version actuelle de devis
+     *
+     * Appelé dans la transaction de la mise à jour, après celle-ci : les
+     * devis modifiés restent verrouillés jusqu'à la validation, la version
+     * lue est donc celle écrite par la transaction.
+     *
+     * @param ids Identifiants des devis
+     * @return Version par identifiant, devis inexistants absents
+     */
+    public Map<Long, Long> findVersions(Collection<Long> ids) {
+        Map<Long, Long> versions = new HashMap<>();
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> part = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinctIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(part.size(), "?"));
+            jdbcTemplate.query(String.format(SELECT_VERSIONS, placeholders), rs -> {
+                versions.put(rs.getLong(1), rs.getLong(2));
+            }, part.toArray());
+        }
+        return versions;
+    }
+}
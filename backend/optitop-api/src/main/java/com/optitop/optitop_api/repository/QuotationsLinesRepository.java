@@ -80,28 +80,6 @@ public interface QuotationsLinesRepository extends JpaRepository<QuotationsLines
                         @Param("endDate") LocalDate endDate,
                         @Param("families") List<String> families);
 
-        /**
-         * Recherche les lignes de devis avec vendeur associé (optimisée)
-         * 
-         * Utilise LEFT JOIN FETCH pour éviter le problème N+1 lors de l'accès
-         * aux informations vendeur. Optimise les performances pour les rapports
-         * nécessitant les données vendeur.
-         * 
-         * @param startDate Date de début de la période
-         * @param endDate   Date de fin de la période
-         * @param families  Liste des familles de produits à inclure
-         * @return Liste des lignes avec vendeurs chargés en une seule requête
-         */
-        @Query("SELECT q FROM QuotationsLines q " +
-                        "LEFT JOIN FETCH q.seller " +
-                        "WHERE q.date BETWEEN :startDate AND :endDate " +
-                        "AND q.family IN :families " +
-                        "ORDER BY q.date DESC")
-        List<QuotationsLines> findByDateBetweenAndFamilyInFetchSeller(
-                        @Param("startDate") LocalDate startDate,
-                        @Param("endDate") LocalDate endDate,
-                        @Param("families") List<String> families);
-
         // ===== MAINTENANCE DES DONNÉES =====
 
         /**
@@ -1,9 +1,12 @@
 package com.optitop.optitop_api.repository;
 
-// ===== IMPORTS MODÈLES =====
+// ===== IMPORTS DTO ET MODÈLES =====
+import com.optitop.optitop_api.dto.QuotationDTO;
 import com.optitop.optitop_api.model.Quotations;
+import com.optitop.optitop_api.model.Quotations.QuotationAction;
 
 // ===== IMPORTS SPRING DATA JPA =====
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -28,17 +31,6 @@ import java.util.List;
 @Repository
 public interface QuotationsRepository extends JpaRepository<Quotations, Long> {
 
-        // ===== OPÉRATIONS CRUD DE BASE =====
-
-        /**
-         * Recherche des devis par client et date
-         * 
-         * @param clientId Identifiant du client
-         * @param date     Date de création du devis
-         * @return Liste des devis correspondants
-         */
-        List<Quotations> findByClientIdAndDate(String clientId, LocalDate date);
-
         // ===== REQUÊTES DEVIS NON VALIDÉS =====
 
         /**
@@ -79,6 +71,102 @@ public interface QuotationsRepository extends JpaRepository<Quotations, Long> {
                         @Param("endDate") LocalDate endDate,
                         @Param("sellerRef") String sellerRef);
 
+        /**
+         * Récupère une page de devis non validés, du plus récent au plus ancien
+         * 
+         * Pagination par curseur sur (date, id) : la page suivante reprend
+         * strictement après le dernier devis reçu, sans OFFSET. Les filtres
+         * null sont ignorés. Projection directe en DTO : ni l'entité ni son
+         * vendeur ne sont chargés.
+         * 
+         * @param startDate    Date de début de la période
+         * @param endDate      Date de fin de la période
+         * @param sellerRef    Référence du vendeur, null pour tous
+         * @param action       Action appliquée, null pour toutes
+         * @param noAction     true pour ne garder que les devis sans action
+         * @param clientPrefix Motif LIKE du début du nom du client (caractères
+         *                     spéciaux échappés par '!'), null pour tous
+         * @param afterDate    Date du dernier devis de la page précédente, null
+         *                     pour la première page
+         * @param afterId      Identifiant du dernier devis de la page précédente
+         * @param limit        Nombre maximal de devis retournés
+         * @return Devis triés par date puis identifiant décroissants
+         */
+        @Query("SELECT new com.optitop.optitop_api.dto.QuotationDTO(" +
+                        "q.id, q.date, s.sellerRef, q.client, q.action, q.comment, q.version) " +
+                        "FROM Quotations q LEFT JOIN q.seller s " +
+                        "WHERE q.date BETWEEN :startDate AND :endDate " +
+                        "AND (q.isValidated IS NULL OR q.isValidated = false) " +
+                        "AND (:sellerRef IS NULL OR s.sellerRef = :sellerRef) " +
+                        "AND (:action IS NULL OR q.action = :action) " +
+                        "AND (:noAction = false OR q.action IS NULL) " +
+                        "AND (:clientPrefix IS NULL OR q.client LIKE :clientPrefix ESCAPE '!') " +
+                        "AND (:afterDate IS NULL OR q.date < :afterDate " +
+                        "OR (q.date = :afterDate AND q.id < :afterId)) " +
+                        "ORDER BY q.date DESC, q.id DESC")
+        List<QuotationDTO> findUnvalidatedPage(
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate,
+                        @Param("sellerRef") String sellerRef,
+                        @Param("action") QuotationAction action,
+                        @Param("noAction") boolean noAction,
+                        @Param("clientPrefix") String clientPrefix,
+                        @Param("afterDate") LocalDate afterDate,
+                        @Param("afterId") Long afterId,
+                        Limit limit);
+
+        // ===== LISTE DE RELANCE =====
+
+        /**
+         * Classe les devis non validés de chaque vendeur par priorité de relance
+         * 
+         * Score de priorité :
+         * - Ancienneté : 1 point par jour, 60 au plus
+         * - Montant : 1 point par tranche de 20 €, 50 au plus
+         * - Action : A_RELANCER 40, VOIR_OPTICIEN 30, aucune action 30,
+         * ATTENTE_RETOUR 20, ATTENTE_MUTUELLE 10
+         * Les devis NON_VALIDE (abandonnés) sont exclus.
+         * 
+         * L'index idx_quotations_worklist couvre le classement (ROW_NUMBER par
+         * vendeur) : la liste d'un vendeur est établie sans lire la table,
+         * seuls les devis retenus y sont ensuite lus.
+         * 
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @param today     Date de référence de l'ancienneté
+         * @param sellerRef Référence du vendeur, null pour tous
+         * @param action    Code de l'action, null pour toutes
+         * @param noAction  true pour ne garder que les devis sans action
+         * @param perSeller Nombre de devis retenus par vendeur
+         * @return Liste [id, date, sellerRef, client, action, comment, version,
+         *         totalQuotation, ageDays, priority, rank] par vendeur puis rang
+         */
+        @Query(value = "SELECT q.id, q.date, q.seller_ref, q.client, q.action, q.comment, q.version, " +
+                        "q.total_quotation, r.age_days, r.priority, r.seller_rank " +
+                        "FROM (SELECT w.id, w.age_days, w.priority, " +
+                        "ROW_NUMBER() OVER (PARTITION BY w.seller_ref ORDER BY w.priority DESC, w.date, w.id) AS seller_rank " +
+                        "FROM (SELECT id, seller_ref, date, GREATEST(DATEDIFF(:today, date), 0) AS age_days, " +
+                        "LEAST(GREATEST(DATEDIFF(:today, date), 0), 60) + LEAST(total_quotation / 20, 50) + " +
+                        "CASE action WHEN 'A_RELANCER' THEN 40 WHEN 'VOIR_OPTICIEN' THEN 30 " +
+                        "WHEN 'ATTENTE_RETOUR' THEN 20 WHEN 'ATTENTE_MUTUELLE' THEN 10 ELSE 30 END AS priority " +
+                        "FROM quotations " +
+                        "WHERE is_validated = 0 AND date BETWEEN :startDate AND :endDate " +
+                        "AND (:sellerRef IS NULL OR seller_ref = :sellerRef) " +
+                        "AND (action IS NULL OR action <> 'NON_VALIDE') " +
+                        "AND (:action IS NULL OR action = :action) " +
+                        "AND (:noAction = false OR action IS NULL)) w) r " +
+                        "JOIN quotations q ON q.id = r.id " +
+                        "WHERE r.seller_rank <= :perSeller " +
+                        "ORDER BY q.seller_ref, r.seller_rank", nativeQuery = true)
+        List<Object[]> findWorklist(
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate,
+                        @Param("today") LocalDate today,
+                        @Param("sellerRef") String sellerRef,
+                        @Param("action") String action,
+                        @Param("noAction") boolean noAction,
+                        @Param("perSeller") int perSeller);
+
         // ===== STATISTIQUES GLOBALES =====
 
         /**
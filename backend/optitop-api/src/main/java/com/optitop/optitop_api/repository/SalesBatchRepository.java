@@ -0,0 +1,539 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.InvoicesLines;
+import com.optitop.optitop_api.model.QuotationsLines;
+import com.optitop.optitop_api.model.Seller;
+
+// ===== IMPORTS ANALYSE CSV =====
+import com.optitop.optitop_api.utils.SalesCsvLine;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Repository d'écriture et de lecture en masse des données de vente
+ *
+ * Les entités de vente utilisent des identifiants IDENTITY, ce qui empêche
+ * Hibernate de regrouper les insertions : chaque saveAll produit un INSERT
+ * par ligne. Ce repository écrit directement via JdbcTemplate.batchUpdate
+ * les lignes de factures et de devis. Combiné à l'option
+ * rewriteBatchedStatements du connecteur MySQL, chaque lot est envoyé sous
+ * forme d'INSERT multi-lignes.
+ *
+ * Les entêtes de factures et de devis sont construits côté base à partir
+ * des lignes d'une période, en quelques requêtes ensemblistes
+ * (INSERT ... SELECT ... GROUP BY, UPDATE ... JOIN), de même que les
+ * agrégats journaliers et le chiffre d'affaires mensuel par vendeur servant
+ * aux statistiques.
+ *
+ * Fournit aussi la lecture des lignes existantes sous forme de lignes CSV
+ * analysées, pour la comparaison de l'import différentiel.
+ *
+ * Les écritures participent à la transaction JPA en cours (même connexion).
+ * Les entités passées ne sont pas rattachées au contexte de persistance et
+ * leur identifiant n'est pas renseigné.
+ */
+@Repository
+public class SalesBatchRepository {
+
+    // ===== REQUÊTES D'INSERTION =====
+
+    private static final String INSERT_INVOICES_LINES = "INSERT INTO invoices_lines "
+            + "(date, client_id, client, invoice_ref, family, quantity, total_ttc, seller_ref, "
+            + "total_invoice, pair, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_QUOTATIONS_LINES = "INSERT INTO quotations_lines "
+            + "(date, client_id, client, quotation_ref, family, quantity, total_ttc, seller_ref, "
+            + "total_quotation, pair, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // ===== REQUÊTES DE SUPPRESSION =====
+
+    static final String DELETE_INVOICES_LINES = "DELETE FROM invoices_lines WHERE date BETWEEN ? AND ?";
+
+    private static final String DELETE_QUOTATIONS_LINES = "DELETE FROM quotations_lines WHERE date BETWEEN ? AND ?";
+
+    // ===== REQUÊTES DE CONSTRUCTION DES ENTÊTES =====
+
+    static final String DELETE_INVOICES = "DELETE FROM invoices WHERE date BETWEEN ? AND ?";
+
+    /**
+     * Références de factures ayant des lignes dans une période
+     */
+    private static final String INVOICE_REFS_IN_PERIOD = "SELECT invoice_ref FROM invoices_lines "
+            + "WHERE date BETWEEN ? AND ?";
+
+    /**
+     * Références de factures ayant des lignes dans une période et hors de
+     * celle-ci
+     */
+    private static final String SELECT_SPANNING_INVOICE_REFS = "SELECT DISTINCT l.invoice_ref "
+            + "FROM invoices_lines l WHERE l.date BETWEEN ? AND ? "
+            + "AND EXISTS (SELECT 1 FROM invoices_lines o WHERE o.invoice_ref = l.invoice_ref "
+            + "AND (o.date < ? OR o.date > ?))";
+
+    private static final String DELETE_INVOICES_OF_REFS = "DELETE FROM invoices WHERE invoice_ref IN (%s)";
+
+    /**
+     * Une facture par référence, construite à partir de toutes ses lignes,
+     * y compris hors de la période : informations de sa première ligne (plus
+     * petit identifiant), optique si au moins une ligne de verres
+     */
+    private static final String INSERT_INVOICES_FROM_LINES = "INSERT INTO invoices "
+            + "(date, client_id, client, invoice_ref, seller_ref, total_invoice, status, is_optical, created_at) "
+            + "SELECT f.date, f.client_id, f.client, f.invoice_ref, f.seller_ref, f.total_invoice, f.status, "
+            + "g.is_optical, ? "
+            + "FROM (SELECT invoice_ref, MIN(id) AS first_id, "
+            + "MAX(CASE WHEN family = 'VER' THEN 1 ELSE 0 END) AS is_optical "
+            + "FROM invoices_lines WHERE invoice_ref IN (%s) GROUP BY invoice_ref) g "
+            + "JOIN invoices_lines f ON f.id = g.first_id";
+
+    /**
+     * Dates hors d'une période des factures dont des lignes sont dans la
+     * période
+     */
+    private static final String SELECT_INVOICE_DATES_OUTSIDE_PERIOD = "SELECT DISTINCT date FROM invoices "
+            + "WHERE (date < ? OR date > ?) AND invoice_ref IN (%s)";
+
+    /**
+     * Nombre maximal de références par liste IN
+     */
+    private static final int MAX_REFS_PER_QUERY = 500;
+
+    /**
+     * Groupes (client, date) des lignes de verres d'une période, avec leur
+     * première ligne, leur statut de validation et leur montant (plus grand
+     * total des devis du groupe, variantes d'une même offre)
+     */
+    static final String QUOTATION_GROUPS = "SELECT client_id, date, MIN(id) AS first_id, "
+            + "MAX(CASE WHEN status = 'devis validé' THEN 1 ELSE 0 END) AS is_validated, "
+            + "MAX(total_quotation) AS total_quotation "
+            + "FROM quotations_lines WHERE date BETWEEN ? AND ? AND family = 'VER' GROUP BY client_id, date";
+
+    static final String UPDATE_QUOTATIONS_VALIDATION = "UPDATE quotations q "
+            + "JOIN (" + QUOTATION_GROUPS + ") g ON g.client_id = q.client_id AND g.date = q.date "
+            + "SET q.is_validated = g.is_validated, q.total_quotation = g.total_quotation";
+
+    /**
+     * Un devis par groupe (client, date) sans devis existant : client et
+     * vendeur de la première ligne du groupe
+     */
+    static final String INSERT_MISSING_QUOTATIONS = "INSERT INTO quotations "
+            + "(date, client_id, client, seller_ref, is_validated, total_quotation, created_at) "
+            + "SELECT f.date, f.client_id, f.client, f.seller_ref, g.is_validated, g.total_quotation, ? "
+            + "FROM (" + QUOTATION_GROUPS + ") g "
+            + "JOIN quotations_lines f ON f.id = g.first_id "
+            + "WHERE NOT EXISTS (SELECT 1 FROM quotations q WHERE q.client_id = g.client_id AND q.date = g.date)";
+
+    // ===== REQUÊTES DES AGRÉGATS JOURNALIERS =====
+
+    private static final String DELETE_DAILY_ROLLUP = "DELETE FROM sales_daily_rollup WHERE date BETWEEN ? AND ?";
+
+    /**
+     * Une ligne par couple (jour, vendeur) : agrégats des factures, de leurs
+     * lignes et des devis, réunis par UNION ALL puis sommés
+     */
+    static final String INSERT_DAILY_ROLLUP = "INSERT INTO sales_daily_rollup "
+            + "(date, seller_ref, revenue, invoices, optical_invoices, optical_amount, optical_net_invoices, "
+            + "p1_mon_lines, p1_mon_count, p1_mon_amount, p1_ver_count, p1_ver_amount, p2_count, p2_amount, "
+            + "premium_frames, quotations, validated_quotations) "
+            + "SELECT r.date, r.seller_ref, SUM(r.revenue), SUM(r.invoices), SUM(r.optical_invoices), "
+            + "SUM(r.optical_amount), SUM(r.optical_net_invoices), SUM(r.p1_mon_lines), SUM(r.p1_mon_count), "
+            + "SUM(r.p1_mon_amount), SUM(r.p1_ver_count), SUM(r.p1_ver_amount), SUM(r.p2_count), "
+            + "SUM(r.p2_amount), SUM(r.premium_frames), SUM(r.quotations), SUM(r.validated_quotations) "
+            + "FROM ("
+            + "SELECT date, COALESCE(seller_ref, '') AS seller_ref, SUM(total_invoice) AS revenue, "
+            + "COUNT(*) AS invoices, SUM(is_optical) AS optical_invoices, "
+            + "SUM(CASE WHEN is_optical = 1 THEN total_invoice ELSE 0 END) AS optical_amount, "
+            + "SUM(CASE WHEN is_optical = 1 AND status = 'facture' THEN 1 "
+            + "WHEN is_optical = 1 AND status = 'avoir' THEN -1 ELSE 0 END) AS optical_net_invoices, "
+            + "0 AS p1_mon_lines, 0 AS p1_mon_count, 0 AS p1_mon_amount, 0 AS p1_ver_count, "
+            + "0 AS p1_ver_amount, 0 AS p2_count, 0 AS p2_amount, 0 AS premium_frames, "
+            + "0 AS quotations, 0 AS validated_quotations "
+            + "FROM invoices WHERE date BETWEEN ? AND ? GROUP BY date, seller_ref "
+            + "UNION ALL "
+            + "SELECT date, seller_ref, 0, 0, 0, 0, 0, "
+            + "SUM(CASE WHEN family = 'MON' AND pair = 1 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN family = 'MON' AND pair = 1 AND status = 'facture' THEN 1 "
+            + "WHEN family = 'MON' AND pair = 1 AND status = 'avoir' THEN -1 ELSE 0 END), "
+            + "SUM(CASE WHEN family = 'MON' AND pair = 1 THEN total_ttc ELSE 0 END), "
+            + "SUM(CASE WHEN family = 'VER' AND pair = 1 THEN quantity ELSE 0 END), "
+            + "SUM(CASE WHEN family = 'VER' AND pair = 1 THEN total_ttc ELSE 0 END), "
+            + "SUM(CASE WHEN pair = 2 THEN quantity ELSE 0 END), "
+            + "SUM(CASE WHEN pair = 2 THEN total_ttc ELSE 0 END), "
+            + "SUM(CASE WHEN family = 'MON' AND total_ttc >= 200 THEN 1 "
+            + "WHEN family = 'MON' AND total_ttc <= -200 THEN -1 ELSE 0 END), "
+            + "0, 0 "
+            + "FROM invoices_lines WHERE date BETWEEN ? AND ? GROUP BY date, seller_ref "
+            + "UNION ALL "
+            + "SELECT date, COALESCE(seller_ref, ''), 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, "
+            + "COUNT(*), SUM(is_validated) "
+            + "FROM quotations WHERE date BETWEEN ? AND ? GROUP BY date, seller_ref"
+            + ") r "
+            + "GROUP BY r.date, r.seller_ref";
+
+    private static final String DELETE_MONTHLY_REVENUE = "DELETE FROM sales_monthly_revenue "
+            + "WHERE month BETWEEN ? AND ?";
+
+    /**
+     * Une ligne par couple (mois, vendeur) ayant au moins une facture,
+     * sommée à partir des agrégats journaliers
+     */
+    private static final String INSERT_MONTHLY_REVENUE = "INSERT INTO sales_monthly_revenue "
+            + "(month, seller_ref, revenue, invoices) "
+            + "SELECT date - INTERVAL (DAYOFMONTH(date) - 1) DAY, seller_ref, SUM(revenue), SUM(invoices) "
+            + "FROM sales_daily_rollup WHERE date BETWEEN ? AND ? AND invoices > 0 "
+            + "GROUP BY date - INTERVAL (DAYOFMONTH(date) - 1) DAY, seller_ref";
+
+    /**
+     * Première et dernière dates des données agrégées (factures, lignes de
+     * factures et devis)
+     */
+    private static final String SELECT_SALES_DATE_RANGE = "SELECT MIN(d.min_date), MAX(d.max_date) FROM ("
+            + "SELECT MIN(date) AS min_date, MAX(date) AS max_date FROM invoices "
+            + "UNION ALL SELECT MIN(date), MAX(date) FROM invoices_lines "
+            + "UNION ALL SELECT MIN(date), MAX(date) FROM quotations"
+            + ") d";
+
+    // ===== REQUÊTES DE LECTURE =====
+
+    private static final String SELECT_INVOICES_LINES = "SELECT date, client_id, client, invoice_ref, "
+            + "family, quantity, total_ttc, total_invoice, pair, status, seller_ref "
+            + "FROM invoices_lines WHERE date BETWEEN ? AND ?";
+
+    private static final String SELECT_QUOTATIONS_LINES = "SELECT date, client_id, client, quotation_ref, "
+            + "family, quantity, total_ttc, total_quotation, pair, status, seller_ref "
+            + "FROM quotations_lines WHERE date BETWEEN ? AND ?";
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    /**
+     * Accès JDBC partageant la connexion de la transaction en cours
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructeur avec injection des dépendances
+     *
+     * @param jdbcTemplate Template JDBC configuré sur la source de données
+     */
+    public SalesBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // ===== INSERTIONS DES LIGNES =====
+
+    /**
+     * Insère un lot de lignes de factures en une seule requête batch
+     *
+     * @param lines Lignes de factures à insérer
+     */
+    public void insertInvoicesLines(List<InvoicesLines> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_INVOICES_LINES, lines, lines.size(), (ps, line) -> {
+            ps.setObject(1, line.getDate());
+            ps.setString(2, line.getClientId());
+            ps.setString(3, line.getClient());
+            ps.setString(4, line.getInvoiceRef());
+            ps.setString(5, line.getFamily());
+            ps.setInt(6, line.getQuantity());
+            ps.setDouble(7, line.getTotalTtc());
+            setSellerRef(ps, 8, line.getSeller());
+            ps.setDouble(9, line.getTotalInvoice());
+            ps.setObject(10, line.getPair(), Types.INTEGER);
+            ps.setString(11, line.getStatus());
+            ps.setObject(12, line.getCreatedAt());
+        });
+    }
+
+    /**
+     * Insère un lot de lignes de devis en une seule requête batch
+     *
+     * @param lines Lignes de devis à insérer
+     */
+    public void insertQuotationsLines(List<QuotationsLines> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_QUOTATIONS_LINES, lines, lines.size(), (ps, line) -> {
+            ps.setObject(1, line.getDate());
+            ps.setString(2, line.getClientId());
+            ps.setString(3, line.getClient());
+            ps.setString(4, line.getQuotationRef());
+            ps.setString(5, line.getFamily());
+            ps.setInt(6, line.getQuantity());
+            ps.setDouble(7, line.getTotalTtc());
+            setSellerRef(ps, 8, line.getSeller());
+            ps.setDouble(9, line.getTotalQuotation());
+            ps.setObject(10, line.getPair(), Types.INTEGER);
+            ps.setString(11, line.getStatus());
+            ps.setObject(12, line.getCreatedAt());
+        });
+    }
+
+    // ===== SUPPRESSION DES LIGNES =====
+
+    /**
+     * Supprime les lignes de factures et de devis d'une période
+     *
+     * Requêtes exécutées immédiatement, contrairement aux suppressions JPA
+     * différées jusqu'au flush : les écritures JDBC suivantes voient la
+     * période vidée. Les factures de la période sont supprimées en cascade.
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     */
+    public void deleteLines(LocalDate startDate, LocalDate endDate) {
+        jdbcTemplate.update(DELETE_INVOICES_LINES, startDate, endDate);
+        jdbcTemplate.update(DELETE_QUOTATIONS_LINES, startDate, endDate);
+    }
+
+    // ===== CONSTRUCTION DES ENTÊTES =====
+
+    /**
+     * Retourne les références de factures ayant des lignes dans une période
+     * et hors de celle-ci
+     *
+     * À lire avant {@link #deleteLines} : la suppression des lignes de la
+     * période supprime en cascade la facture de ces références, qui doit
+     * être reconstruite à partir des lignes restantes.
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @return Références des factures à cheval sur la période
+     */
+    public Set<String> findSpanningInvoiceRefs(LocalDate startDate, LocalDate endDate) {
+        return new HashSet<>(jdbcTemplate.queryForList(SELECT_SPANNING_INVOICE_REFS, String.class,
+                startDate, endDate, startDate, endDate));
+    }
+
+    /**
+     * Résultat de la reconstruction des factures d'une période
+     *
+     * @param created             Nombre de factures créées
+     * @param datesOutsidePeriod  Dates hors de la période des factures
+     *                            reconstruites (agrégats à recalculer)
+     */
+    public record InvoicesRebuild(int created, SortedSet<LocalDate> datesOutsidePeriod) {
+    }
+
+    /**
+     * Reconstruit les factures d'une période à partir de leurs lignes
+     *
+     * Une facture par référence, à partir de toutes les lignes de la
+     * référence : une facture dont les lignes couvrent plusieurs jours peut
+     * être à cheval sur deux étapes d'import ou deux plages de l'import
+     * différentiel. Sont supprimées puis recréées :
+     * - Les factures datées de la période
+     * - Les factures des références ayant des lignes dans la période
+     * - Les factures des références indiquées (lignes restantes hors de la
+     * période, voir {@link #findSpanningInvoiceRefs})
+     *
+     * Les factures reconstruites peuvent être datées hors de la période
+     * (première ligne antérieure) : leurs dates sont retournées pour le
+     * recalcul des agrégats.
+     *
+     * @param startDate    Date de début de la période
+     * @param endDate      Date de fin de la période
+     * @param spanningRefs Références supplémentaires à reconstruire
+     * @return Nombre de factures créées et dates hors période concernées
+     */
+    public InvoicesRebuild rebuildInvoices(LocalDate startDate, LocalDate endDate,
+            Collection<String> spanningRefs) {
+        LocalDateTime now = LocalDateTime.now();
+        SortedSet<LocalDate> datesOutsidePeriod = new TreeSet<>();
+
+        // Références ayant des lignes dans la période
+        jdbcTemplate.update(DELETE_INVOICES, startDate, endDate);
+        jdbcTemplate.update(String.format(DELETE_INVOICES_OF_REFS, INVOICE_REFS_IN_PERIOD), startDate, endDate);
+        int created = jdbcTemplate.update(String.format(INSERT_INVOICES_FROM_LINES, INVOICE_REFS_IN_PERIOD),
+                now, startDate, endDate);
+        datesOutsidePeriod.addAll(jdbcTemplate.queryForList(
+                String.format(SELECT_INVOICE_DATES_OUTSIDE_PERIOD, INVOICE_REFS_IN_PERIOD), LocalDate.class,
+                startDate, endDate, startDate, endDate));
+
+        // Références n'ayant plus de lignes que hors de la période
+        List<String> refs = List.copyOf(spanningRefs);
+        for (int from = 0; from < refs.size(); from += MAX_REFS_PER_QUERY) {
+            List<String> part = refs.subList(from, Math.min(from + MAX_REFS_PER_QUERY, refs.size()));
+            String placeholders = String.join(", ", Collections.nCopies(part.size(), "?"));
+            jdbcTemplate.update(String.format(DELETE_INVOICES_OF_REFS, placeholders), part.toArray());
+            created += jdbcTemplate.update(String.format(INSERT_INVOICES_FROM_LINES, placeholders),
+                    withRefs(part, now));
+            datesOutsidePeriod.addAll(jdbcTemplate.queryForList(
+                    String.format(SELECT_INVOICE_DATES_OUTSIDE_PERIOD, placeholders), LocalDate.class,
+                    withRefs(part, startDate, endDate)));
+        }
+        return new InvoicesRebuild(created, datesOutsidePeriod);
+    }
+
+    /**
+     * Met à jour les devis d'une période à partir des lignes de verres
+     *
+     * Pour chaque couple (client, date) ayant des lignes de verres :
+     * - Devis existants : statut de validation et montant recalculés,
+     * action et commentaire conservés
+     * - Aucun devis existant : création d'un devis
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @return Nombre de devis créés
+     */
+    public int mergeQuotations(LocalDate startDate, LocalDate endDate) {
+        jdbcTemplate.update(UPDATE_QUOTATIONS_VALIDATION, startDate, endDate);
+        return jdbcTemplate.update(INSERT_MISSING_QUOTATIONS, LocalDateTime.now(), startDate, endDate);
+    }
+
+    // ===== AGRÉGATS JOURNALIERS =====
+
+    /**
+     * Reconstruit les agrégats journaliers par vendeur d'une période
+     *
+     * À appeler après la construction des factures et des devis de la
+     * période : les agrégats sont calculés à partir de ces tables et des
+     * lignes de factures.
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @return Nombre de lignes d'agrégats créées
+     */
+    public int rebuildDailyRollup(LocalDate startDate, LocalDate endDate) {
+        jdbcTemplate.update(DELETE_DAILY_ROLLUP, startDate, endDate);
+        return jdbcTemplate.update(INSERT_DAILY_ROLLUP, startDate, endDate, startDate, endDate,
+                startDate, endDate);
+    }
+
+    /**
+     * Reconstruit le chiffre d'affaires mensuel par vendeur des mois d'une
+     * période
+     *
+     * À appeler après {@link #rebuildDailyRollup} : chaque mois touché par la
+     * période est recalculé en entier à partir de ses agrégats journaliers,
+     * y compris les jours hors de la période.
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @return Nombre de lignes mensuelles créées
+     */
+    public int rebuildMonthlyRevenue(LocalDate startDate, LocalDate endDate) {
+        LocalDate firstMonth = startDate.withDayOfMonth(1);
+        LocalDate lastMonth = endDate.withDayOfMonth(1);
+        jdbcTemplate.update(DELETE_MONTHLY_REVENUE, firstMonth, lastMonth);
+        return jdbcTemplate.update(INSERT_MONTHLY_REVENUE, firstMonth,
+                endDate.withDayOfMonth(endDate.lengthOfMonth()));
+    }
+
+    /**
+     * Retourne la période couverte par les données de vente en base
+     *
+     * @return Tableau [première date, dernière date], dates null si aucune
+     *         donnée
+     */
+    public LocalDate[] findSalesDateRange() {
+        return jdbcTemplate.queryForObject(SELECT_SALES_DATE_RANGE, (rs, rowNum) -> new LocalDate[] {
+                rs.getObject(1, LocalDate.class), rs.getObject(2, LocalDate.class) });
+    }
+
+    // ===== LECTURE DES LIGNES =====
+
+    /**
+     * Parcourt les lignes de factures d'une période sans créer d'entités
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @param consumer  Traitement du contenu de chaque ligne
+     */
+    public void forEachInvoicesLine(LocalDate startDate, LocalDate endDate, Consumer<SalesCsvLine> consumer) {
+        jdbcTemplate.query(SELECT_INVOICES_LINES,
+                (RowCallbackHandler) rs -> consumer.accept(toSalesLine(rs)),
+                startDate, endDate);
+    }
+
+    /**
+     * Parcourt les lignes de devis d'une période sans créer d'entités
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @param consumer  Traitement du contenu de chaque ligne
+     */
+    public void forEachQuotationsLine(LocalDate startDate, LocalDate endDate, Consumer<SalesCsvLine> consumer) {
+        jdbcTemplate.query(SELECT_QUOTATIONS_LINES,
+                (RowCallbackHandler) rs -> consumer.accept(toSalesLine(rs)),
+                startDate, endDate);
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Convertit la ligne courante d'un résultat en ligne CSV analysée
+     *
+     * Les colonnes sont lues par position : les requêtes de lecture des
+     * deux tables les sélectionnent dans le même ordre.
+     *
+     * @param rs Résultat positionné sur une ligne
+     * @return Contenu de la ligne
+     * @throws SQLException si erreur de lecture
+     */
+    private SalesCsvLine toSalesLine(ResultSet rs) throws SQLException {
+        return new SalesCsvLine(
+                rs.getObject(1, LocalDate.class),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getInt(6),
+                rs.getDouble(7),
+                rs.getDouble(8),
+                rs.getObject(9, Integer.class),
+                rs.getString(10),
+                rs.getString(11));
+    }
+
+    /**
+     * Renseigne la référence vendeur (clé étrangère) d'un paramètre
+     *
+     * @param ps     Requête préparée
+     * @param index  Index du paramètre
+     * @param seller Vendeur associé (peut être null)
+     * @throws SQLException si erreur d'affectation du paramètre
+     */
+    private void setSellerRef(PreparedStatement ps, int index, Seller seller) throws SQLException {
+        ps.setString(index, seller != null ? seller.getSellerRef() : null);
+    }
+
+    /**
+     * Construit les paramètres d'une requête se terminant par une liste IN
+     *
+     * @param refs    Références de la liste IN
+     * @param leading Paramètres précédant la liste
+     * @return Paramètres dans l'ordre des marqueurs
+     */
+    private static Object[] withRefs(List<String> refs, Object... leading) {
+        Object[] parameters = Arrays.copyOf(leading, leading.length + refs.size());
+        for (int i = 0; i < refs.size(); i++) {
+            parameters[leading.length + i] = refs.get(i);
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,226 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.SalesDailyRollup;
+
+// ===== IMPORTS SPRING DATA JPA =====
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository des agrégats journaliers de vente par vendeur
+ *
+ * Fournit les statistiques des tableaux de bord à partir des agrégats
+ * pré-calculés à l'import : une période se calcule en sommant au plus une
+ * ligne par jour et par vendeur, quel que soit le volume des lignes de vente.
+ * - Paniers moyens par vendeur et total magasin
+ * - Montures primées
+ * - Chiffre d'affaires (période, répartition par vendeur)
+ * - Statistiques et taux de concrétisation des devis (N et N-1, par tranche)
+ *
+ * Les agrégats sont écrits par {@link SalesBatchRepository#rebuildDailyRollup}.
+ * Les données sans vendeur portent la référence ''.
+ */
+@Repository
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, Long> {
+
+        // ===== PANIERS MOYENS =====
+
+        /**
+         * Calcule les indicateurs de panier moyen par vendeur et le total magasin
+         *
+         * La ligne de total magasin est produite par ROLLUP et porte une
+         * référence null. Les données sans vendeur (référence '') ne comptent
+         * que dans le total.
+         *
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @return Liste [sellerRef, opticalInvoices, totalAmount, invoiceCount,
+         *         p1MonAmount, p1MonCount, p1VerAmount, p1VerCount, p2Amount,
+         *         p2Count], ligne de total en dernier
+         */
+        @Query(value = "SELECT r.seller_ref, SUM(r.optical_invoices), SUM(r.optical_amount), " +
+                        "SUM(r.optical_net_invoices), SUM(r.p1_mon_amount), SUM(r.p1_mon_count), " +
+                        "SUM(r.p1_ver_amount), SUM(r.p1_ver_count), SUM(r.p2_amount), SUM(r.p2_count) " +
+                        "FROM sales_daily_rollup r " +
+                        "WHERE r.date BETWEEN :startDate AND :endDate " +
+                        "GROUP BY r.seller_ref WITH ROLLUP", nativeQuery = true)
+        List<Object[]> calculateAverageBasketMetrics(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        // ===== MONTURES PRIMÉES =====
+
+        /**
+         * Calcule le nombre de montures P1 et de montures primées par vendeur
+         *
+         * Seuls les vendeurs ayant au moins une ligne de monture P1 sur la
+         * période sont retournés.
+         *
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @return Liste [sellerRef, p1FramesCount, premiumFramesCount] triée par
+         *         référence vendeur
+         */
+        @Query("SELECT r.sellerRef, SUM(r.p1MonCount), SUM(r.premiumFrames) " +
+                        "FROM SalesDailyRollup r " +
+                        "WHERE r.date BETWEEN :startDate AND :endDate " +
+                        "GROUP BY r.sellerRef " +
+                        "HAVING SUM(r.p1MonLines) > 0 " +
+                        "ORDER BY r.sellerRef")
+        List<Object[]> calculateFrameCounts(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        // ===== CHIFFRE D'AFFAIRES =====
+
+        /**
+         * Calcule le chiffre d'affaires total d'une période
+         *
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @return Montant total ou 0 si aucune donnée
+         */
+        @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM SalesDailyRollup r " +
+                        "WHERE r.date BETWEEN :startDate AND :endDate")
+        Double getPeriodRevenue(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+        /**
+         * Calcule le chiffre d'affaires et le pourcentage du CA magasin par vendeur
+         *
+         * Le CA magasin comprend les factures sans vendeur. Seuls les vendeurs
+         * ayant au moins une facture sur la période sont retournés.
+         *
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @return Liste [sellerRef, sellerAmount, percentage] triée par CA
+         *         décroissant
+         */
+        @Query(value = "SELECT s.seller_ref, s.seller_amount, " +
+                        "s.seller_amount / s.period_amount * 100 AS percentage " +
+                        "FROM (" +
+                        "SELECT r.seller_ref, SUM(r.revenue) AS seller_amount, SUM(r.invoices) AS invoices, " +
+                        "SUM(SUM(r.revenue)) OVER () AS period_amount " +
+                        "FROM sales_daily_rollup r " +
+                        "WHERE r.date BETWEEN :startDate AND :endDate " +
+                        "GROUP BY r.seller_ref" +
+                        ") s " +
+                        "WHERE s.seller_ref <> '' AND s.invoices > 0 " +
+                        "ORDER BY s.seller_amount DESC", nativeQuery = true)
+        List<Object[]> getSellerRevenueStats(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        // ===== DEVIS =====
+
+        /**
+         * Compte le nombre total de devis sur une période
+         *
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @return Nombre de devis, 0 si aucun
+         */
+        @Query("SELECT COALESCE(SUM(r.quotations), 0L) FROM SalesDailyRollup r " +
+                        "WHERE r.date BETWEEN :startDate AND :endDate")
+        Long countQuotationsBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+        /**
+         * Compte le nombre de devis validés sur une période
+         *
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @return Nombre de devis validés, 0 si aucun
+         */
+        @Query("SELECT COALESCE(SUM(r.validatedQuotations), 0L) FROM SalesDailyRollup r " +
+                        "WHERE r.date BETWEEN :startDate AND :endDate")
+        Long countValidatedQuotationsBetween(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Calcule les statistiques de devis par vendeur
+         *
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @return Liste [sellerRef, total, unvalidated] triée par référence
+         *         vendeur
+         */
+        @Query("SELECT r.sellerRef, SUM(r.quotations), SUM(r.quotations) - SUM(r.validatedQuotations) " +
+                        "FROM SalesDailyRollup r " +
+                        "WHERE r.date BETWEEN :startDate AND :endDate " +
+                        "AND r.sellerRef <> '' " +
+                        "GROUP BY r.sellerRef " +
+                        "HAVING SUM(r.quotations) > 0 " +
+                        "ORDER BY r.sellerRef")
+        List<Object[]> getQuotationSellerStats(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Calcule le taux de concrétisation des devis sur une période
+         *
+         * Formule : (devis validés / total devis) * 100
+         *
+         * @param startDate Date de début de la période
+         * @param endDate   Date de fin de la période
+         * @return Taux en pourcentage (0-100), null si aucun devis
+         */
+        @Query("SELECT SUM(r.validatedQuotations) * 100.0 / SUM(r.quotations) FROM SalesDailyRollup r " +
+                        "WHERE r.date BETWEEN :startDate AND :endDate")
+        Double getConcretizationRate(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Calcule les devis et devis validés par tranche et par vendeur, pour
+         * une période et la même période N-1
+         *
+         * Une seule lecture des agrégats : la jointure sur (0 = N, 1 = N-1)
+         * affecte chaque jour à la ou les périodes qui le contiennent, et les
+         * sommes conditionnelles séparent les deux périodes. Les jours N-1 sont
+         * décalés d'un an avant le découpage pour tomber dans la tranche N
+         * correspondante.
+         *
+         * Tranches :
+         * - MONTH : premier jour du mois
+         * - WEEK : lundi de la semaine
+         * - Autre valeur : une seule tranche, datée du début de la période
+         *
+         * @param startDate         Date de début de la période
+         * @param endDate           Date de fin de la période
+         * @param previousStartDate Date de début de la période N-1
+         * @param previousEndDate   Date de fin de la période N-1
+         * @param granularity       Découpage (MONTH, WEEK ou NONE)
+         * @param sellerRef         Référence du vendeur, null pour tous
+         * @return Liste [bucketStart, sellerRef, quotations, validated,
+         *         previousQuotations, previousValidated] triée par tranche
+         *         puis vendeur
+         */
+        @Query(value = "SELECT b.bucket_start, b.seller_ref, " +
+                        "SUM(CASE WHEN b.period = 0 THEN b.quotations ELSE 0 END), " +
+                        "SUM(CASE WHEN b.period = 0 THEN b.validated_quotations ELSE 0 END), " +
+                        "SUM(CASE WHEN b.period = 1 THEN b.quotations ELSE 0 END), " +
+                        "SUM(CASE WHEN b.period = 1 THEN b.validated_quotations ELSE 0 END) " +
+                        "FROM (SELECT p.period, r.seller_ref, r.quotations, r.validated_quotations, " +
+                        "CAST(CASE :granularity " +
+                        "WHEN 'MONTH' THEN (r.date + INTERVAL p.period YEAR) " +
+                        "- INTERVAL DAYOFMONTH(r.date + INTERVAL p.period YEAR) - 1 DAY " +
+                        "WHEN 'WEEK' THEN (r.date + INTERVAL p.period YEAR) " +
+                        "- INTERVAL WEEKDAY(r.date + INTERVAL p.period YEAR) DAY " +
+                        "ELSE :startDate END AS DATE) AS bucket_start " +
+                        "FROM sales_daily_rollup r " +
+                        "JOIN (SELECT 0 AS period UNION ALL SELECT 1) p " +
+                        "ON (p.period = 0 AND r.date BETWEEN :startDate AND :endDate) " +
+                        "OR (p.period = 1 AND r.date BETWEEN :previousStartDate AND :previousEndDate) " +
+                        "WHERE (r.date BETWEEN :startDate AND :endDate " +
+                        "OR r.date BETWEEN :previousStartDate AND :previousEndDate) " +
+                        "AND (:sellerRef IS NULL OR r.seller_ref = :sellerRef)) b " +
+                        "GROUP BY b.bucket_start, b.seller_ref " +
+                        "ORDER BY b.bucket_start, b.seller_ref", nativeQuery = true)
+        List<Object[]> getConcretizationSeries(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate,
+                        @Param("previousStartDate") LocalDate previousStartDate,
+                        @Param("previousEndDate") LocalDate previousEndDate,
+                        @Param("granularity") String granularity,
+                        @Param("sellerRef") String sellerRef);
+}
@@ -0,0 +1,71 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.SalesImport;
+
+// ===== IMPORTS SPRING DATA JPA =====
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository du catalogue des imports de ventes
+ *
+ * Fournit l'accès aux imports enregistrés avec :
+ * - Recherche du dernier import inachevé d'un fichier (reprise)
+ * - Détection des écritures d'autres imports depuis un point de reprise
+ * - Date de la dernière écriture de données
+ * - Opérations CRUD sur les imports
+ */
+@Repository
+public interface SalesImportRepository extends JpaRepository<SalesImport, Long> {
+
+    /**
+     * Recherche le dernier import d'un fichier ayant l'un des statuts donnés
+     *
+     * @param checksum Empreinte SHA-256 du fichier
+     * @param statuses Statuts recherchés
+     * @return Optional contenant l'import le plus récent si trouvé
+     */
+    Optional<SalesImport> findFirstByChecksumAndStatusInOrderByIdDesc(String checksum,
+            Collection<SalesImport.Status> statuses);
+
+    /**
+     * Indique si un autre import a écrit des jours d'une période depuis le
+     * point de reprise d'un import
+     *
+     * Imports ayant validé au moins un jour (import complet ou différentiel
+     * terminé, étapes validées d'un import par étapes) dont la période
+     * écrite chevauche la période donnée, créés après l'import ou mis à
+     * jour depuis son point de reprise. La comparaison inclut la seconde du
+     * point de reprise (précision de la colonne updated_at).
+     *
+     * @param id         Identifiant de l'import à reprendre
+     * @param startDate  Premier jour validé de l'import
+     * @param endDate    Dernier jour validé de l'import
+     * @param checkpoint Date et heure du point de reprise
+     * @return true si les jours validés ont pu être réécrits
+     */
+    @Query("SELECT COUNT(s) > 0 FROM SalesImport s WHERE s.id <> :id AND s.lastCommittedDate IS NOT NULL " +
+            "AND s.startDate <= :endDate AND s.lastCommittedDate >= :startDate " +
+            "AND (s.id > :id OR s.updatedAt >= :checkpoint)")
+    boolean existsWriteSince(@Param("id") Long id, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate, @Param("checkpoint") LocalDateTime checkpoint);
+
+    /**
+     * Retourne la date de la dernière écriture de lignes de vente
+     *
+     * Dernière étape validée des imports ayant écrit au moins une ligne.
+     *
+     * @return Date et heure, null si aucun import enregistré n'a écrit de ligne
+     */
+    @Query("SELECT MAX(s.updatedAt) FROM SalesImport s WHERE s.invoicesLines + s.quotationsLines > 0")
+    LocalDateTime findLastDataUpdate();
+}
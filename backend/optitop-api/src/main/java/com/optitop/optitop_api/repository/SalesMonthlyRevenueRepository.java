@@ -0,0 +1,51 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.SalesMonthlyRevenue;
+
+// ===== IMPORTS SPRING DATA JPA =====
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository de la série mensuelle de chiffre d'affaires par vendeur
+ *
+ * Fournit le chiffre d'affaires mois par mois sur une ou plusieurs années,
+ * en un parcours de l'index (month, seller_ref). La série est écrite par
+ * {@link SalesBatchRepository#rebuildMonthlyRevenue}.
+ */
+@Repository
+public interface SalesMonthlyRevenueRepository extends JpaRepository<SalesMonthlyRevenue, Long> {
+
+        /**
+         * Calcule le chiffre d'affaires par mois sur une période
+         *
+         * @param startMonth Premier jour du premier mois
+         * @param endMonth   Premier jour du dernier mois
+         * @param sellerRef  Référence du vendeur, null pour tout le magasin
+         * @return Liste [month, revenue] triée par mois, mois sans facture
+         *         absents
+         */
+        @Query("SELECT r.month, SUM(r.revenue) FROM SalesMonthlyRevenue r " +
+                        "WHERE r.month BETWEEN :startMonth AND :endMonth " +
+                        "AND (:sellerRef IS NULL OR r.sellerRef = :sellerRef) " +
+                        "GROUP BY r.month " +
+                        "ORDER BY r.month")
+        List<Object[]> findRevenueByMonth(@Param("startMonth") LocalDate startMonth,
+                        @Param("endMonth") LocalDate endMonth,
+                        @Param("sellerRef") String sellerRef);
+
+        /**
+         * Liste les années ayant au moins une facture
+         *
+         * @return Liste des années triée par ordre décroissant
+         */
+        @Query("SELECT DISTINCT YEAR(r.month) AS year FROM SalesMonthlyRevenue r ORDER BY year DESC")
+        List<Integer> findDistinctYears();
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 // ===== IMPORTS JAVA =====
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +29,14 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      */
     User findByLogin(String login);
 
+    /**
+     * Trouve en une requête les utilisateurs correspondant à plusieurs logins
+     * 
+     * @param logins les identifiants de connexion recherchés
+     * @return les utilisateurs trouvés (les logins inconnus sont ignorés)
+     */
+    List<User> findByLoginIn(Collection<String> logins);
+
     /**
      * Récupère tous les identifiants de connexion triés par ordre alphabétique
      * 
@@ -0,0 +1,105 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS REPOSITORIES =====
+import com.optitop.optitop_api.repository.SalesBatchRepository;
+import com.optitop.optitop_api.repository.SalesDailyRollupRepository;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// ===== IMPORTS UTILITAIRES =====
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+
+/**
+ * Initialisation des agrégats journaliers de vente au démarrage
+ *
+ * Les agrégats (journaliers et chiffre d'affaires mensuel) sont maintenus
+ * par chaque import. Une base dont les données
+ * de vente précèdent leur mise en place (table des agrégats vide) est
+ * complétée au démarrage, en une requête sur toute la période des données.
+ * La reconstruction complète peut aussi être forcée par configuration
+ * (optitop.rollup.rebuild-on-startup).
+ *
+ * La période est réservée auprès de {@link ImportRangeLock} : un import
+ * soumis pendant le calcul attend sa fin.
+ */
+@Component
+public class DailyRollupInitializer {
+
+    // ===== CONSTANTES =====
+
+    /**
+     * Logger pour tracer l'initialisation des agrégats
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DailyRollupInitializer.class);
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    @Autowired
+    private SalesBatchRepository salesBatchRepository;
+
+    @Autowired
+    private ImportRangeLock importRangeLock;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reconstruit les agrégats même s'ils existent déjà
+     */
+    @Value("${optitop.rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    // ===== INITIALISATION =====
+
+    /**
+     * Calcule les agrégats de toute la période des données si nécessaire
+     *
+     * @throws RuntimeException si erreur lors du calcul
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeDailyRollup() {
+        if (!rebuildOnStartup && salesDailyRollupRepository.count() > 0) {
+            return;
+        }
+
+        LocalDate[] range = salesBatchRepository.findSalesDateRange();
+        if (range[0] == null) {
+            return;
+        }
+
+        logger.info("Calcul des agrégats journaliers entre {} et {}", range[0], range[1]);
+        try {
+            ImportRangeLock.Range lock = importRangeLock.acquire(range[0], range[1]);
+            try {
+                Integer created = transactionTemplate.execute(status -> {
+                    int rows = salesBatchRepository.rebuildDailyRollup(range[0], range[1]);
+                    salesBatchRepository.rebuildMonthlyRevenue(range[0], range[1]);
+                    eventPublisher.publishEvent(new SalesDataChangedEvent(range[0], range[1]));
+                    return rows;
+                });
+                logger.info("{} agrégats journaliers calculés", created);
+            } finally {
+                importRangeLock.release(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Calcul des agrégats journaliers interrompu", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS DTO ET MODÈLES =====
+import com.optitop.optitop_api.dto.AverageBasketDTO;
+import com.optitop.optitop_api.dto.DashboardSnapshotDTO;
+import com.optitop.optitop_api.dto.FrameStatsDTO;
+import com.optitop.optitop_api.dto.QuotationStatsDTO;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Service de l'instantané du tableau de bord
+ *
+ * Calcule en un seul appel toutes les statistiques affichées par le tableau
+ * de bord pour une période. Les calculs indépendants sont lancés en
+ * parallèle sur des threads virtuels ({@code statsExecutor}) : la durée
+ * de l'appel est celle du calcul le plus long et non leur somme.
+ *
+ * Chaque calcul passe par les services de statistiques et profite donc de
+ * {@link StatsCache}.
+ */
+@Service
+public class DashboardService {
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private QuotationService quotationService;
+
+    /**
+     * Exécuteur à threads virtuels des calculs
+     */
+    @Autowired
+    @Qualifier("statsExecutor")
+    private ExecutorService statsExecutor;
+
+    // ===== INSTANTANÉ =====
+
+    /**
+     * Calcule toutes les statistiques du tableau de bord d'une période
+     *
+     * Les paniers moyens et les statistiques globales proviennent de la même
+     * requête : ils sont calculés dans la même tâche, le second lisant le
+     * résultat mis en cache par le premier.
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @return Statistiques du tableau de bord
+     * @throws RuntimeException si un des calculs échoue
+     */
+    public DashboardSnapshotDTO getSnapshot(LocalDate startDate, LocalDate endDate) {
+        CompletableFuture<Map<String, Object>> periodRevenue = submit(
+                () -> invoiceService.getPeriodRevenue(startDate, endDate));
+        CompletableFuture<List<Map<String, Object>>> sellerStats = submit(
+                () -> invoiceService.getSellerRevenueStats(startDate, endDate));
+        CompletableFuture<List<AverageBasketDTO>> averageBaskets = submit(
+                () -> invoiceService.getAverageBaskets(startDate, endDate));
+        CompletableFuture<AverageBasketDTO> totalStats = averageBaskets.thenApply(
+                baskets -> invoiceService.getTotalStats(startDate, endDate));
+        CompletableFuture<List<FrameStatsDTO>> frameStats = submit(
+                () -> invoiceService.getFrameStats(startDate, endDate));
+        CompletableFuture<QuotationStatsDTO> quotationStats = submit(
+                () -> quotationService.getQuotationStats(startDate, endDate));
+
+        try {
+            CompletableFuture.allOf(periodRevenue, sellerStats, totalStats, frameStats, quotationStats).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Erreur lors du calcul des statistiques du tableau de bord", e.getCause());
+        }
+
+        DashboardSnapshotDTO snapshot = new DashboardSnapshotDTO();
+        snapshot.setStartDate(startDate);
+        snapshot.setEndDate(endDate);
+        snapshot.setPeriodRevenue(periodRevenue.join());
+        snapshot.setTotalStats(totalStats.join());
+        snapshot.setSellerStats(sellerStats.join());
+        snapshot.setAverageBaskets(averageBaskets.join());
+        snapshot.setFrameStats(frameStats.join());
+        snapshot.setQuotationStats(quotationStats.join());
+        return snapshot;
+    }
+
+    /**
+     * Lance un calcul sur l'exécuteur des statistiques
+     *
+     * @param task Calcul à lancer
+     * @return Résultat à venir du calcul
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, statsExecutor);
+    }
+}
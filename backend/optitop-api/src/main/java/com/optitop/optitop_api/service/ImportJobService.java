@@ -0,0 +1,342 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS DTOs =====
+import com.optitop.optitop_api.dto.ImportJobDTO;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+// ===== IMPORTS UTILITAIRES =====
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service d'orchestration des imports de ventes
+ *
+ * Gère l'exécution des imports, synchrones ou en tâche de fond :
+ * - Première passe sur le fichier hors transaction (plage de dates)
+ * - Réservation de la période : un seul import à la fois par période
+ * - Délégation de l'import transactionnel à {@link SalesService}
+ * - Registre des tâches de fond, de leur avancement et de leur annulation
+ *
+ * Les fichiers des tâches de fond sont copiés dans un fichier temporaire,
+ * supprimé à la fin de l'import.
+ */
+@Service
+public class ImportJobService {
+
+    // ===== CONSTANTES =====
+
+    /**
+     * Logger pour tracer les tâches d'import
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    /**
+     * Durée de conservation des tâches terminées dans le registre (heures)
+     */
+    private static final long FINISHED_JOB_RETENTION_HOURS = 24;
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    /**
+     * Service métier d'import des données de vente
+     */
+    @Autowired
+    private SalesService salesService;
+
+    /**
+     * Verrou des périodes en cours d'import
+     */
+    @Autowired
+    private ImportRangeLock importRangeLock;
+
+    /**
+     * Pool borné d'exécution des imports en tâche de fond
+     */
+    @Autowired
+    @Qualifier("salesImportExecutor")
+    private ExecutorService salesImportExecutor;
+
+    // ===== ÉTAT =====
+
+    /**
+     * Tâches soumises indexées par identifiant
+     */
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Tâche d'import en tâche de fond
+     */
+    private static final class ImportJob {
+        private final String id = UUID.randomUUID().toString();
+        private final String fileName;
+        private final SalesService.ImportMode mode;
+        private final ImportProgress progress = new ImportProgress();
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final Path tempFile;
+        private volatile Future<?> future;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String fileName, SalesService.ImportMode mode, Path tempFile) {
+            this.fileName = fileName;
+            this.mode = mode;
+            this.tempFile = tempFile;
+        }
+    }
+
+    // ===== IMPORT SYNCHRONE =====
+
+    /**
+     * Importe un fichier dans le thread appelant
+     *
+     * @param source   Source du fichier CSV
+     * @param fileName Nom du fichier importé
+     * @param mode     Mode d'import
+     * @return Avancement final de l'import
+     * @throws RuntimeException si erreur lors de l'import
+     */
+    public ImportProgress importNow(InputStreamSource source, String fileName, SalesService.ImportMode mode) {
+        ImportProgress progress = new ImportProgress();
+        runImport(source, fileName, mode, progress);
+        return progress;
+    }
+
+    // ===== IMPORTS EN TÂCHE DE FOND =====
+
+    /**
+     * Soumet l'import d'un fichier en tâche de fond
+     *
+     * Le fichier est copié dans un fichier temporaire avant le retour, la
+     * requête HTTP pouvant se terminer avant le début de l'import.
+     *
+     * @param file Fichier CSV reçu
+     * @param mode Mode d'import
+     * @return État initial de la tâche
+     * @throws IOException                si erreur de copie du fichier
+     * @throws RejectedExecutionException si trop d'imports sont en attente
+     */
+    public ImportJobDTO submit(MultipartFile file, SalesService.ImportMode mode) throws IOException {
+        purgeFinishedJobs();
+
+        Path tempFile = Files.createTempFile("optitop-import-", ".csv");
+        try {
+            file.transferTo(tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(file.getOriginalFilename(), mode, tempFile);
+        jobs.put(job.id, job);
+
+        try {
+            job.future = salesImportExecutor.submit(() -> runJob(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        logger.info("Import {} soumis pour le fichier {} (mode {})", job.id, job.fileName, mode);
+        return toDTO(job);
+    }
+
+    /**
+     * Retourne l'état d'une tâche d'import
+     *
+     * @param id Identifiant de la tâche
+     * @return État de la tâche, vide si inconnue ou expirée
+     */
+    public Optional<ImportJobDTO> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(this::toDTO);
+    }
+
+    /**
+     * Annule une tâche d'import en attente ou en cours
+     *
+     * Une tâche en cours est interrompue : en mode par étapes, les étapes
+     * déjà validées sont conservées et l'import reprendra après elles si
+     * le même fichier est soumis de nouveau.
+     *
+     * @param id Identifiant de la tâche
+     * @return État de la tâche, vide si inconnue ou expirée
+     */
+    public Optional<ImportJobDTO> cancel(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        if (job.finishedAt == null) {
+            if (job.started.compareAndSet(false, true)) {
+                // Tâche encore en file : elle ne démarrera pas
+                job.future.cancel(false);
+                job.progress.fail("Import annulé");
+                job.finishedAt = LocalDateTime.now();
+                deleteTempFile(job.tempFile);
+            } else {
+                job.future.cancel(true);
+            }
+        }
+        logger.info("Annulation de l'import {} demandée", id);
+        return Optional.of(toDTO(job));
+    }
+
+    /**
+     * Exécute une tâche d'import puis supprime son fichier temporaire
+     *
+     * @param job Tâche à exécuter
+     */
+    private void runJob(ImportJob job) {
+        if (!job.started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runImport(new FileSystemResource(job.tempFile), job.fileName, job.mode, job.progress);
+            logger.info("Import {} terminé ({} lignes écrites)", job.id, job.progress.getRowsWritten());
+        } catch (Exception e) {
+            logger.error("Échec de l'import {} du fichier {}", job.id, job.fileName, e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            deleteTempFile(job.tempFile);
+        }
+    }
+
+    // ===== EXÉCUTION D'UN IMPORT =====
+
+    /**
+     * Exécute un import complet avec réservation de sa période
+     *
+     * @param source   Source du fichier CSV
+     * @param fileName Nom du fichier importé
+     * @param mode     Mode d'import
+     * @param progress Avancement de l'import
+     * @throws RuntimeException si erreur lors de l'import
+     */
+    private void runImport(InputStreamSource source, String fileName, SalesService.ImportMode mode,
+            ImportProgress progress) {
+        try {
+            // Première passe hors transaction : période concernée
+            progress.setPhase(ImportProgress.Phase.PARSE);
+            SalesService.ImportScan scan = salesService.scanSource(source);
+            if (scan == null) {
+                logger.warn("Aucune ligne de données après suppression de l'en-tête");
+                progress.setPhase(ImportProgress.Phase.COMPLETED);
+                return;
+            }
+            progress.setScope(scan.minDate(), scan.maxDate(), scan.lineCount());
+
+            // Attente des imports en cours sur une période qui chevauche
+            progress.setPhase(ImportProgress.Phase.PENDING);
+            ImportRangeLock.Range range = importRangeLock.acquire(scan.minDate(), scan.maxDate());
+            try {
+                if (mode == SalesService.ImportMode.CHUNKED) {
+                    // Transactions par étapes, gérées par le service
+                    salesService.importSalesChunked(source, scan, fileName, progress);
+                } else {
+                    salesService.importSales(source, scan, fileName, mode, progress);
+                }
+            } finally {
+                importRangeLock.release(range);
+            }
+            progress.setPhase(ImportProgress.Phase.COMPLETED);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(progress, e);
+            throw new RuntimeException("Import interrompu", e);
+        } catch (IOException e) {
+            fail(progress, e);
+            throw new RuntimeException("Erreur lors de la lecture du fichier", e);
+        } catch (RuntimeException e) {
+            fail(progress, e);
+            throw e;
+        }
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Marque un import en échec avec la cause la plus précise disponible
+     *
+     * @param progress Avancement de l'import
+     * @param e        Exception rencontrée
+     */
+    private void fail(ImportProgress progress, Exception e) {
+        if (Thread.currentThread().isInterrupted()) {
+            progress.fail("Import annulé");
+            return;
+        }
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        progress.fail("Échec de l'import : " + cause.getMessage());
+    }
+
+    /**
+     * Supprime le fichier temporaire d'une tâche
+     *
+     * @param tempFile Copie du fichier importé
+     */
+    private void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            logger.warn("Impossible de supprimer le fichier temporaire {}", tempFile, e);
+        }
+    }
+
+    /**
+     * Retire du registre les tâches terminées depuis longtemps
+     */
+    private void purgeFinishedJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusHours(FINISHED_JOB_RETENTION_HOURS);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    /**
+     * Convertit une tâche en DTO
+     *
+     * @param job Tâche d'import
+     * @return État courant de la tâche
+     */
+    private ImportJobDTO toDTO(ImportJob job) {
+        ImportProgress progress = job.progress;
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setId(job.id);
+        dto.setFileName(job.fileName);
+        dto.setMode(job.mode.name());
+        dto.setPhase(progress.getPhase().name());
+        dto.setStartDate(progress.getStartDate());
+        dto.setEndDate(progress.getEndDate());
+        dto.setTotalRows(progress.getTotalRows());
+        dto.setRowsParsed(progress.getRowsParsed());
+        dto.setRowsWritten(progress.getRowsWritten());
+        dto.setErrorCount(progress.getErrorCount());
+        dto.setErrors(progress.getErrors());
+        dto.setSubmittedAt(job.submittedAt);
+        dto.setFinishedAt(job.finishedAt);
+        return dto;
+    }
+}
@@ -0,0 +1,182 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Suivi de l'avancement d'un import de ventes
+ *
+ * Mis à jour par le thread de l'import et par les workers d'analyse,
+ * consulté par les requêtes de suivi : toutes les opérations sont
+ * sûres en accès concurrent.
+ */
+public class ImportProgress {
+
+    // ===== CONSTANTES =====
+
+    /**
+     * Nombre maximal de messages d'erreur conservés
+     */
+    private static final int MAX_ERRORS = 50;
+
+    // ===== PHASES =====
+
+    /**
+     * Étapes successives d'un import
+     */
+    public enum Phase {
+        /**
+         * En attente d'exécution ou d'un autre import sur la même période
+         */
+        PENDING,
+
+        /**
+         * Lecture du fichier (plage de dates, vendeurs, comparaison)
+         */
+        PARSE,
+
+        /**
+         * Suppression des données existantes de la période
+         */
+        DELETE,
+
+        /**
+         * Analyse et insertion des lignes
+         */
+        INSERT,
+
+        /**
+         * Recalcul des factures et devis agrégés
+         */
+        AGGREGATE,
+
+        /**
+         * Import terminé avec succès
+         */
+        COMPLETED,
+
+        /**
+         * Import interrompu par une erreur
+         */
+        FAILED
+    }
+
+    // ===== ÉTAT =====
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile LocalDate startDate;
+    private volatile LocalDate endDate;
+    private volatile long totalRows;
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+
+    // ===== MISES À JOUR =====
+
+    /**
+     * @param phase Nouvelle étape de l'import
+     */
+    public void setPhase(Phase phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Renseigne la période et le nombre de lignes relevés par la première passe
+     *
+     * @param startDate Date de début des données
+     * @param endDate   Date de fin des données
+     * @param totalRows Nombre de lignes de données
+     */
+    public void setScope(LocalDate startDate, LocalDate endDate, long totalRows) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalRows = totalRows;
+    }
+
+    /**
+     * @param count Nombre de lignes analysées à ajouter
+     */
+    public void addRowsParsed(long count) {
+        rowsParsed.addAndGet(count);
+    }
+
+    /**
+     * @param count Nombre de lignes écrites à ajouter
+     */
+    public void addRowsWritten(long count) {
+        rowsWritten.addAndGet(count);
+    }
+
+    /**
+     * Enregistre une erreur (seuls les premiers messages sont conservés)
+     *
+     * @param message Description de l'erreur
+     */
+    public void addError(String message) {
+        errorCount.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+    }
+
+    /**
+     * Marque l'import en échec
+     *
+     * Le message est toujours conservé, en dernier, même si la limite des
+     * messages d'erreur est atteinte.
+     *
+     * @param message Cause de l'échec
+     */
+    public void fail(String message) {
+        errorCount.incrementAndGet();
+        synchronized (errors) {
+            errors.add(message);
+        }
+        phase = Phase.FAILED;
+    }
+
+    // ===== GETTERS =====
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * @return Copie des messages d'erreur conservés
+     */
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.stereotype.Component;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verrou des périodes en cours d'import
+ *
+ * Garantit qu'un seul import à la fois travaille sur une période donnée :
+ * un import dont la plage de dates chevauche celle d'un import en cours
+ * attend la fin de celui-ci. Les imports sur des périodes disjointes
+ * s'exécutent en parallèle.
+ *
+ * Partagé par l'import synchrone et les imports en tâche de fond.
+ */
+@Component
+public class ImportRangeLock {
+
+    // ===== TYPES =====
+
+    /**
+     * Période réservée par un import
+     *
+     * @param startDate Date de début (incluse)
+     * @param endDate   Date de fin (incluse)
+     */
+    public record Range(LocalDate startDate, LocalDate endDate) {
+
+        /**
+         * @param other Autre période
+         * @return true si les deux périodes ont au moins un jour en commun
+         */
+        public boolean overlaps(Range other) {
+            return !startDate.isAfter(other.endDate) && !other.startDate.isAfter(endDate);
+        }
+    }
+
+    // ===== ÉTAT =====
+
+    /**
+     * Périodes actuellement réservées
+     */
+    private final List<Range> activeRanges = new ArrayList<>();
+
+    // ===== OPÉRATIONS =====
+
+    /**
+     * Réserve une période, en attendant la fin des imports qui la chevauchent
+     *
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @return Période réservée, à libérer avec {@link #release(Range)}
+     * @throws InterruptedException si l'attente est interrompue
+     */
+    public synchronized Range acquire(LocalDate startDate, LocalDate endDate) throws InterruptedException {
+        Range range = new Range(startDate, endDate);
+        while (activeRanges.stream().anyMatch(range::overlaps)) {
+            wait();
+        }
+        activeRanges.add(range);
+        return range;
+    }
+
+    /**
+     * Libère une période réservée et réveille les imports en attente
+     *
+     * @param range Période obtenue par {@link #acquire(LocalDate, LocalDate)}
+     */
+    public synchronized void release(Range range) {
+        activeRanges.remove(range);
+        notifyAll();
+    }
+}
@@ -3,23 +3,24 @@ package com.optitop.optitop_api.service;
 // ===== IMPORTS DTO ET MODÈLES =====
 import com.optitop.optitop_api.dto.AverageBasketDTO;
 import com.optitop.optitop_api.dto.FrameStatsDTO;
-import com.optitop.optitop_api.repository.InvoicesLinesRepository;
-import com.optitop.optitop_api.repository.InvoicesRepository;
+import com.optitop.optitop_api.dto.MonthlyRevenueDTO;
+import com.optitop.optitop_api.dto.YearlyRevenueDTO;
+import com.optitop.optitop_api.repository.SalesDailyRollupRepository;
+import com.optitop.optitop_api.repository.SalesMonthlyRevenueRepository;
 
 // ===== IMPORTS SPRING FRAMEWORK =====
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 // ===== IMPORTS UTILITAIRES =====
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +32,15 @@ import java.util.stream.Collectors;
  * - Analyses des montures primées
  * - Évolutions du chiffre d'affaires
  * - Comparaisons temporelles et performances vendeurs
+ * 
+ * Les statistiques sont lues dans les agrégats journaliers par vendeur
+ * maintenus par l'import : leur coût dépend du nombre de jours de la période
+ * et non du volume des lignes de vente. Le chiffre d'affaires mensuel est
+ * lu dans sa série matérialisée par mois et par vendeur. Les résultats sont
+ * conservés dans {@link StatsCache} jusqu'à l'import d'une période qui les
+ * concerne.
+ * Les requêtes indépendantes d'un même calcul passent par
+ * {@link StatsQueryRunner} (en parallèle si configuré).
  */
 @Service
 public class InvoiceService {
@@ -38,190 +48,133 @@ public class InvoiceService {
         // ===== INJECTION DES DÉPENDANCES =====
 
         /**
-         * Repository pour l'accès aux données des lignes de factures
-         * Gère les requêtes sur les détails produits (P1 MON, P1 VER, P2)
+         * Repository des agrégats journaliers de vente par vendeur
+         * Fournit tous les indicateurs de factures et de lignes de factures
+         */
+        @Autowired
+        private SalesDailyRollupRepository salesDailyRollupRepository;
+
+        /**
+         * Repository de la série mensuelle de chiffre d'affaires par vendeur
          */
         @Autowired
-        private InvoicesLinesRepository invoicesLinesRepository;
+        private SalesMonthlyRevenueRepository salesMonthlyRevenueRepository;
 
         /**
-         * Repository pour l'accès aux données des factures
-         * Gère les requêtes sur les totaux et métadonnées de factures
+         * Cache des statistiques par période
          */
         @Autowired
-        private InvoicesRepository invoicesRepository;
+        private StatsCache statsCache;
 
         /**
-         * Logger pour tracer les opérations et déboguer les calculs
+         * Exécution des requêtes indépendantes d'un même calcul
          */
-        private static final Logger logger = LoggerFactory.getLogger(InvoiceService.class);
+        @Autowired
+        private StatsQueryRunner statsQueryRunner;
+
+        /**
+         * Métadonnées des données de vente conservées en mémoire
+         */
+        @Autowired
+        private SalesCatalog salesCatalog;
 
         // ===== MÉTHODES STATISTIQUES DÉTAILLÉES =====
 
         /**
          * Calcule les statistiques détaillées des paniers moyens par vendeur
          * 
+         * Indicateurs obtenus en une seule requête
+         * ({@link SalesDailyRollupRepository#calculateAverageBasketMetrics}).
+         * Seuls les vendeurs ayant au moins une facture optique sur la période
+         * sont retournés.
+         * 
          * @param startDate Date de début de la période d'analyse
          * @param endDate   Date de fin de la période d'analyse
          * @return Liste des statistiques par vendeur triée par référence vendeur
          */
         public List<AverageBasketDTO> getAverageBaskets(LocalDate startDate, LocalDate endDate) {
-                // Récupération des montants totaux par vendeur
-                Map<String, Double> totalAmounts = invoicesRepository.calculateTotalAmounts(startDate, endDate)
-                                .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Double) row[1]));
-
-                // Récupération des nombres de factures par vendeur
-                Map<String, Long> invoiceCounts = invoicesRepository.calculateInvoiceCounts(startDate, endDate)
-                                .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Long) row[1]));
-
-                // Récupération des montants P1 montures
-                Map<String, Double> p1MonAmounts = invoicesLinesRepository
-                                .calculateP1FramesTotalAmounts(startDate, endDate)
-                                .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Double) row[1],
-                                                (v1, v2) -> v1,
-                                                HashMap::new));
-
-                // Récupération des compteurs P1 montures
-                Map<String, Long> p1MonCounts = invoicesLinesRepository.calculateP1FramesCounts(startDate, endDate)
-                                .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Long) row[1],
-                                                (v1, v2) -> v1,
-                                                HashMap::new));
-
-                // Récupération des montants P1 verres
-                Map<String, Double> p1VerAmounts = invoicesLinesRepository
-                                .calculateP1LensesTotalAmounts(startDate, endDate)
-                                .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Double) row[1],
-                                                (v1, v2) -> v1,
-                                                HashMap::new));
-
-                // Récupération des compteurs P1 verres
-                Map<String, Long> p1VerCounts = invoicesLinesRepository.calculateP1LensesCounts(startDate, endDate)
-                                .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Long) row[1],
-                                                (v1, v2) -> v1,
-                                                HashMap::new));
-
-                // Récupération des montants P2
-                Map<String, Double> p2Amounts = invoicesLinesRepository.calculateP2TotalAmounts(startDate, endDate)
-                                .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Double) row[1],
-                                                (v1, v2) -> v1,
-                                                HashMap::new));
-
-                // Récupération des compteurs P2
-                Map<String, Long> p2Counts = invoicesLinesRepository.calculateP2Counts(startDate, endDate)
+                return statsCache.get("average-baskets", startDate, endDate, () -> averageBasketMetrics(startDate, endDate)
                                 .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Long) row[1],
-                                                (v1, v2) -> v1,
-                                                HashMap::new));
-
-                // Création des DTOs avec toutes les données collectées
-                return totalAmounts.keySet().stream()
-                                .map(sellerRef -> new AverageBasketDTO(
-                                                sellerRef,
-                                                totalAmounts.get(sellerRef),
-                                                invoiceCounts.getOrDefault(sellerRef, 0L),
-                                                p1MonAmounts.getOrDefault(sellerRef, 0.0),
-                                                p1MonCounts.getOrDefault(sellerRef, 0L),
-                                                p1VerAmounts.getOrDefault(sellerRef, 0.0),
-                                                p1VerCounts.getOrDefault(sellerRef, 0L),
-                                                p2Amounts.getOrDefault(sellerRef, 0.0),
-                                                p2Counts.getOrDefault(sellerRef, 0L)))
+                                .filter(row -> row[0] != null && !((String) row[0]).isEmpty())
+                                .filter(row -> toLong(row[1]) > 0)
+                                .map(row -> toAverageBasket((String) row[0], row))
                                 .sorted(Comparator.comparing(AverageBasketDTO::getSellerRef))
-                                .collect(Collectors.toList());
+                                .toList());
         }
 
         /**
          * Calcule les statistiques globales du magasin pour la période donnée
          * 
+         * Ligne de total (ROLLUP) de la requête des paniers moyens par vendeur.
+         * 
          * @param startDate Date de début de la période d'analyse
          * @param endDate   Date de fin de la période d'analyse
          * @return DTO avec les totaux et moyennes globales (ligne TOTAL)
          */
         public AverageBasketDTO getTotalStats(LocalDate startDate, LocalDate endDate) {
-                // Totaux depuis la table Invoices
-                Double totalAmount = invoicesRepository.calculateTotalAmount(startDate, endDate);
-                Long invoiceCount = invoicesRepository.calculateTotalInvoiceCount(startDate, endDate);
-
-                // Totaux depuis la table InvoicesLines - P1 Montures
-                List<Object[]> p1FramesTotalAmounts = invoicesLinesRepository.calculateP1FramesTotalAmounts(startDate,
-                                endDate);
-
-                logger.info("P1 Frames Total Amounts: {}", p1FramesTotalAmounts);
-                p1FramesTotalAmounts.forEach(row -> {
-                        logger.info("Seller: {}, Amount: {}", row[0], row[1]);
-                });
-
-                Double totalAmountP1MON = p1FramesTotalAmounts.stream()
-                                .map(row -> (Double) row[1])
-                                .reduce(0.0, Double::sum);
-
-                logger.info("Total Amount P1MON: {}", totalAmountP1MON);
-
-                Long countP1MON = invoicesLinesRepository
-                                .calculateP1FramesCounts(startDate, endDate)
+                return statsCache.get("total-stats", startDate, endDate, () -> averageBasketMetrics(startDate, endDate)
                                 .stream()
-                                .map(row -> (Long) row[1])
-                                .reduce(0L, Long::sum);
-
-                // Totaux P1 Verres
-                Double totalAmountP1VER = invoicesLinesRepository
-                                .calculateP1LensesTotalAmounts(startDate, endDate)
-                                .stream()
-                                .map(row -> (Double) row[1])
-                                .reduce(0.0, Double::sum);
+                                .filter(row -> row[0] == null)
+                                .findFirst()
+                                .map(row -> toAverageBasket("TOTAL", row))
+                                .orElseGet(() -> new AverageBasketDTO("TOTAL", null, 0L, 0.0, 0L, 0.0, 0L, 0.0, 0L)));
+        }
 
-                Long countP1VER = invoicesLinesRepository
-                                .calculateP1LensesCounts(startDate, endDate)
-                                .stream()
-                                .map(row -> (Long) row[1])
-                                .reduce(0L, Long::sum);
+        /**
+         * Indicateurs de panier moyen par vendeur et total magasin
+         * 
+         * Résultat partagé par les paniers moyens et les statistiques globales,
+         * demandés ensemble par les tableaux de bord : une seule requête pour
+         * les deux.
+         * 
+         * @param startDate Date de début de la période d'analyse
+         * @param endDate   Date de fin de la période d'analyse
+         * @return Lignes de {@link SalesDailyRollupRepository#calculateAverageBasketMetrics}
+         */
+        private List<Object[]> averageBasketMetrics(LocalDate startDate, LocalDate endDate) {
+                return statsCache.get("average-basket-metrics", startDate, endDate,
+                                () -> List.copyOf(salesDailyRollupRepository.calculateAverageBasketMetrics(startDate,
+                                                endDate)));
+        }
 
-                // Totaux P2
-                Double totalAmountP2 = invoicesLinesRepository
-                                .calculateP2TotalAmounts(startDate, endDate)
-                                .stream()
-                                .map(row -> (Double) row[1])
-                                .reduce(0.0, Double::sum);
+        /**
+         * Construit les statistiques de panier moyen d'une ligne de la requête
+         * consolidée
+         * 
+         * @param sellerRef Référence affichée (vendeur ou TOTAL)
+         * @param row       Ligne [sellerRef, opticalInvoices, totalAmount,
+         *                  invoiceCount, p1MonAmount, p1MonCount, p1VerAmount,
+         *                  p1VerCount, p2Amount, p2Count]
+         * @return Statistiques avec moyennes calculées, montant total null sans
+         *         facture optique
+         */
+        private AverageBasketDTO toAverageBasket(String sellerRef, Object[] row) {
+                return new AverageBasketDTO(
+                                sellerRef,
+                                toLong(row[1]) > 0 ? toDouble(row[2]) : null,
+                                toLong(row[3]),
+                                toDouble(row[4]),
+                                toLong(row[5]),
+                                toDouble(row[6]),
+                                toLong(row[7]),
+                                toDouble(row[8]),
+                                toLong(row[9]));
+        }
 
-                Long countP2 = invoicesLinesRepository
-                                .calculateP2Counts(startDate, endDate)
-                                .stream()
-                                .map(row -> (Long) row[1])
-                                .reduce(0L, Long::sum);
+        /**
+         * @param value Somme SQL (DECIMAL, DOUBLE ou null)
+         * @return Valeur entière, 0 si null
+         */
+        private Long toLong(Object value) {
+                return value != null ? ((Number) value).longValue() : 0L;
+        }
 
-                // Retour du DTO global avec reference "TOTAL"
-                return new AverageBasketDTO(
-                                "TOTAL",
-                                totalAmount,
-                                invoiceCount,
-                                totalAmountP1MON,
-                                countP1MON,
-                                totalAmountP1VER,
-                                countP1VER,
-                                totalAmountP2,
-                                countP2);
+        /**
+         * @param value Somme SQL (DECIMAL, DOUBLE ou null)
+         * @return Valeur décimale, 0 si null
+         */
+        private Double toDouble(Object value) {
+                return value != null ? ((Number) value).doubleValue() : 0.0;
         }
 
         // ===== MÉTHODES ANALYSES DES MONTURES =====
@@ -234,29 +187,16 @@ public class InvoiceService {
          * @return Liste des statistiques de montures (normales et primées) par vendeur
          */
         public List<FrameStatsDTO> getFrameStats(LocalDate startDate, LocalDate endDate) {
-                // Récupération du nombre total de montures par vendeur
-                Map<String, Long> totalFrames = invoicesLinesRepository.calculateP1FramesCounts(startDate, endDate)
+                // Nombre total de montures et de montures primées par vendeur
+                return statsCache.get("frame-stats", startDate, endDate, () -> salesDailyRollupRepository
+                                .calculateFrameCounts(startDate, endDate)
                                 .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Long) row[1]));
-
-                // Récupération du nombre de montures primées par vendeur
-                Map<String, Long> premiumFrames = invoicesLinesRepository
-                                .calculatePremiumFramesCount(startDate, endDate)
-                                .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (String) row[0],
-                                                row -> (Long) row[1]));
-
-                // Création des DTOs avec les données de montures
-                return totalFrames.keySet().stream()
-                                .map(sellerRef -> new FrameStatsDTO(
-                                                sellerRef,
-                                                totalFrames.getOrDefault(sellerRef, 0L),
-                                                premiumFrames.getOrDefault(sellerRef, 0L)))
+                                .map(row -> new FrameStatsDTO(
+                                                (String) row[0],
+                                                toLong(row[1]),
+                                                toLong(row[2])))
                                 .sorted(Comparator.comparing(FrameStatsDTO::getSellerRef))
-                                .collect(Collectors.toList());
+                                .toList());
         }
 
         // ===== MÉTHODES DONNÉES RÉFÉRENTIELLES =====
@@ -264,10 +204,12 @@ public class InvoiceService {
         /**
          * Liste toutes les années pour lesquelles des factures existent en base
          * 
+         * Lues en mémoire ({@link SalesCatalog}, rechargé après chaque import).
+         * 
          * @return Liste des années d'activité disponibles
          */
         public List<Integer> getDistinctYears() {
-                return invoicesLinesRepository.findDistinctYears();
+                return salesCatalog.getYears();
         }
 
         // ===== MÉTHODES ANALYSES TEMPORELLES =====
@@ -279,13 +221,54 @@ public class InvoiceService {
          * @return Map avec les numéros de mois (1-12) et leurs montants de CA
          */
         public Map<Integer, Double> getMonthlyRevenue(int year) {
-                return invoicesRepository.calculateMonthlyRevenue(year)
+                LocalDate startDate = LocalDate.of(year, 1, 1);
+                LocalDate endDate = LocalDate.of(year, 12, 31);
+                return statsCache.get("monthly-revenue", startDate, endDate, () -> salesMonthlyRevenueRepository
+                                .findRevenueByMonth(startDate, LocalDate.of(year, 12, 1), null)
                                 .stream()
-                                .collect(Collectors.toMap(
-                                                row -> (Integer) row[0],
+                                .collect(Collectors.toUnmodifiableMap(
+                                                row -> ((LocalDate) row[0]).getMonthValue(),
                                                 row -> (Double) row[1],
-                                                (v1, v2) -> v1,
-                                                () -> new HashMap<>()));
+                                                (v1, v2) -> v1)));
+        }
+
+        /**
+         * Calcule le chiffre d'affaires mensuel de plusieurs années avec leur
+         * comparaison N-1
+         * 
+         * Une seule lecture de la série mensuelle, de l'année précédant la
+         * première année demandée jusqu'à la dernière.
+         * 
+         * @param startYear Première année de la série
+         * @param endYear   Dernière année de la série
+         * @param sellerRef Référence du vendeur, null pour tout le magasin
+         * @return Liste des années de la série, 12 mois chacune, triée par année
+         */
+        public List<YearlyRevenueDTO> getMonthlyRevenueSeries(int startYear, int endYear, String sellerRef) {
+                LocalDate startDate = LocalDate.of(startYear - 1, 1, 1);
+                LocalDate endDate = LocalDate.of(endYear, 12, 31);
+                String cacheName = sellerRef != null ? "monthly-revenue-series:" + sellerRef
+                                : "monthly-revenue-series";
+                return statsCache.get(cacheName, startDate, endDate, () -> {
+                        // Chiffre d'affaires indexé par mois (premier jour)
+                        Map<LocalDate, Double> revenueByMonth = salesMonthlyRevenueRepository
+                                        .findRevenueByMonth(startDate, LocalDate.of(endYear, 12, 1), sellerRef)
+                                        .stream()
+                                        .collect(Collectors.toMap(row -> (LocalDate) row[0], row -> (Double) row[1]));
+
+                        // Une entrée par année et par mois, comparée au même mois N-1
+                        List<YearlyRevenueDTO> series = new ArrayList<>();
+                        for (int year = startYear; year <= endYear; year++) {
+                                List<MonthlyRevenueDTO> months = new ArrayList<>();
+                                for (int month = 1; month <= 12; month++) {
+                                        months.add(new MonthlyRevenueDTO(month,
+                                                        revenueByMonth.getOrDefault(LocalDate.of(year, month, 1), 0.0),
+                                                        revenueByMonth.getOrDefault(LocalDate.of(year - 1, month, 1), 0.0)));
+                                }
+                                series.add(new YearlyRevenueDTO(year, months));
+                        }
+                        return List.copyOf(series);
+                });
         }
 
         /**
@@ -297,6 +280,19 @@ public class InvoiceService {
          * @return Map avec currentAmount, previousAmount pour comparaison N vs N-1
          */
         public Map<String, Object> getPeriodRevenue(LocalDate startDate, LocalDate endDate) {
+                // Mise en cache sur la période englobant N-1 et N
+                return statsCache.get("period-revenue", startDate.minusYears(1), endDate,
+                                () -> calculatePeriodRevenue(startDate, endDate));
+        }
+
+        /**
+         * Calcule le chiffre d'affaires d'une période et de la même période N-1
+         * 
+         * @param startDate Date de début de la période d'analyse
+         * @param endDate   Date de fin de la période d'analyse
+         * @return Map avec currentAmount et previousAmount
+         */
+        private Map<String, Object> calculatePeriodRevenue(LocalDate startDate, LocalDate endDate) {
                 Map<String, Object> result = new HashMap<>();
 
                 // Calcul des dates pour la période précédente (année N-1)
@@ -304,14 +300,16 @@ public class InvoiceService {
                 LocalDate previousEndDate = endDate.minusYears(1);
 
                 // Récupération des montants pour les deux périodes
-                Double currentAmount = invoicesRepository.getCurrentPeriodTotal(startDate, endDate);
-                Double previousAmount = invoicesRepository.getCurrentPeriodTotal(previousStartDate, previousEndDate);
+                CompletableFuture<Double> currentAmount = statsQueryRunner
+                                .submit(() -> salesDailyRollupRepository.getPeriodRevenue(startDate, endDate));
+                CompletableFuture<Double> previousAmount = statsQueryRunner.submit(
+                                () -> salesDailyRollupRepository.getPeriodRevenue(previousStartDate, previousEndDate));
 
                 // Construction du résultat de comparaison
-                result.put("currentAmount", currentAmount);
-                result.put("previousAmount", previousAmount);
+                result.put("currentAmount", currentAmount.join());
+                result.put("previousAmount", previousAmount.join());
 
-                return result;
+                return Map.copyOf(result);
         }
 
         // ===== MÉTHODES ANALYSES PAR VENDEUR =====
@@ -325,10 +323,22 @@ public class InvoiceService {
          * @return Liste des vendeurs avec leur CA et pourcentage de contribution
          */
         public List<Map<String, Object>> getSellerRevenueStats(LocalDate startDate, LocalDate endDate) {
+                return statsCache.get("seller-stats", startDate, endDate,
+                                () -> calculateSellerRevenueStats(startDate, endDate));
+        }
+
+        /**
+         * Calcule le chiffre d'affaires et le pourcentage du CA magasin par vendeur
+         * 
+         * @param startDate Date de début de la période d'analyse
+         * @param endDate   Date de fin de la période d'analyse
+         * @return Liste des vendeurs avec leur CA et pourcentage de contribution
+         */
+        private List<Map<String, Object>> calculateSellerRevenueStats(LocalDate startDate, LocalDate endDate) {
                 List<Map<String, Object>> result = new ArrayList<>();
 
                 // Récupération des données brutes depuis le repository
-                List<Object[]> data = invoicesRepository.getSellerRevenueStats(startDate, endDate);
+                List<Object[]> data = salesDailyRollupRepository.getSellerRevenueStats(startDate, endDate);
 
                 // Transformation en format Map pour chaque vendeur
                 for (Object[] row : data) {
@@ -336,9 +346,10 @@ public class InvoiceService {
                         sellerStats.put("sellerRef", row[0]);
                         sellerStats.put("amount", row[1]);
                         sellerStats.put("percentage", row[2]);
-                        result.add(sellerStats);
+                        // Pourcentage null si le CA magasin est nul (refusé par Map.copyOf)
+                        result.add(Collections.unmodifiableMap(sellerStats));
                 }
 
-                return result;
+                return List.copyOf(result);
         }
 }
\ No newline at end of file
@@ -1,15 +1,30 @@
 package com.optitop.optitop_api.service;
 
 // ===== IMPORTS DTO ET MODÈLES =====
+import com.optitop.optitop_api.dto.ConcretizationBucketDTO;
+import com.optitop.optitop_api.dto.ConcretizationSeriesDTO;
+import com.optitop.optitop_api.dto.ConcretizationSeriesDTO.Granularity;
+import com.optitop.optitop_api.dto.ConcretizationStatsDTO;
+import com.optitop.optitop_api.dto.QuotationDTO;
+import com.optitop.optitop_api.dto.QuotationPageDTO;
+import com.optitop.optitop_api.dto.QuotationStatsDTO;
 import com.optitop.optitop_api.dto.QuotationUpdateDTO;
+import com.optitop.optitop_api.dto.QuotationUpdateResultDTO;
+import com.optitop.optitop_api.dto.QuotationUpdateResultDTO.Status;
+import com.optitop.optitop_api.dto.QuotationWorklistDTO;
+import com.optitop.optitop_api.dto.SellerStatsDTO;
 import com.optitop.optitop_api.model.Quotations;
 import com.optitop.optitop_api.model.Quotations.QuotationAction;
 import com.optitop.optitop_api.model.Seller;
+import com.optitop.optitop_api.repository.QuotationBatchRepository;
+import com.optitop.optitop_api.repository.QuotationBatchRepository.QuotationChange;
 import com.optitop.optitop_api.repository.QuotationsRepository;
+import com.optitop.optitop_api.repository.SalesDailyRollupRepository;
 import com.optitop.optitop_api.repository.SellerRepository;
 
 // ===== IMPORTS SPRING FRAMEWORK =====
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 // ===== IMPORTS JPA =====
@@ -20,16 +35,28 @@ import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * Service métier pour la gestion des devis optiques
  * 
  * Fournit les opérations métier complexes pour les devis :
- * - Mise à jour en lot des actions et commentaires
+ * - Mise à jour en lot des actions et commentaires, avec résultat par devis
  * - Validation et transformation des données
  * - Gestion transactionnelle des modifications
  * - Affectation des vendeurs aux devis
+ * - Statistiques des devis par période (mises en cache)
+ * - Analyse de concrétisation N / N-1 par tranche et par vendeur
+ * - Lecture paginée des devis non validés
+ * - Liste de relance priorisée par vendeur
  * 
  * Utilisé par le contrôleur pour déléguer la logique métier
  * et garantir la cohérence des données lors des opérations batch.
@@ -37,6 +64,13 @@ import java.util.List;
 @Service
 public class QuotationService {
 
+    // ===== CONSTANTES =====
+
+    /**
+     * Valeur du filtre d'action sélectionnant les devis sans action
+     */
+    public static final String NO_ACTION_FILTER = "NONE";
+
     // ===== INJECTION DES DÉPENDANCES =====
 
     /**
@@ -51,6 +85,12 @@ public class QuotationService {
     @Autowired
     private QuotationsRepository quotationsRepository;
 
+    /**
+     * Repository de mise à jour en masse des devis
+     */
+    @Autowired
+    private QuotationBatchRepository quotationBatchRepository;
+
     /**
      * Repository pour l'accès aux données des vendeurs
      * Utilisé pour la validation et l'affectation des vendeurs
@@ -58,96 +98,305 @@ public class QuotationService {
     @Autowired
     private SellerRepository sellerRepository;
 
+    /**
+     * Repository des agrégats journaliers de vente par vendeur
+     * Fournit les statistiques de devis sans parcourir les devis
+     */
+    @Autowired
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    /**
+     * Cache des statistiques par période
+     */
+    @Autowired
+    private StatsCache statsCache;
+
+    /**
+     * Exécution des requêtes indépendantes d'un même calcul
+     */
+    @Autowired
+    private StatsQueryRunner statsQueryRunner;
+
     // ===== OPÉRATIONS BATCH =====
 
     /**
      * Met à jour un lot de devis avec les nouvelles actions et commentaires
      * 
-     * Traite en une seule transaction toutes les mises à jour demandées.
-     * En cas d'erreur sur un devis, toute la transaction est annulée
-     * pour garantir la cohérence des données.
+     * Les actions sont validées avant toute écriture ; les modifications
+     * valides sont ensuite appliquées en une seule requête batch, sans
+     * charger les devis. Une action vide conserve l'action actuelle. Un
+     * devis dont l'action est inconnue n'est pas modifié, ni un devis
+     * présent plusieurs fois dans le lot (modifications contradictoires).
+     * 
+     * Verrouillage optimiste : une modification portant une version n'est
+     * appliquée que si le devis n'a pas changé depuis sa lecture par le
+     * client. Sinon le devis est signalé en conflit et la modification
+     * concurrente déjà enregistrée est conservée. La nouvelle version d'un
+     * devis enregistré est relue en base.
      * 
      * @param updates Liste des mises à jour à appliquer
-     * @throws RuntimeException         si une erreur survient pendant la mise à
-     *                                  jour
-     * @throws IllegalArgumentException si la liste est null ou vide
+     * @return Résultat de chaque mise à jour, dans l'ordre de la demande
      */
     @Transactional
-    public void batchUpdate(List<QuotationUpdateDTO> updates) {
+    public List<QuotationUpdateResultDTO> batchUpdate(List<QuotationUpdateDTO> updates) {
         // Validation des paramètres d'entrée
         if (updates == null || updates.isEmpty()) {
             logger.warn("Aucune mise à jour à effectuer - liste vide ou null");
-            return;
+            return List.of();
         }
 
         logger.info("Début de la mise à jour batch de {} devis", updates.size());
 
-        // Traitement de chaque mise à jour
+        // Devis présents plusieurs fois dans le lot
+        Set<Long> seenIds = new HashSet<>();
+        Set<Long> duplicateIds = new HashSet<>();
         for (QuotationUpdateDTO update : updates) {
+            if (update.getId() != null && !seenIds.add(update.getId())) {
+                duplicateIds.add(update.getId());
+            }
+        }
+
+        // Validation des actions : résultat connu d'avance pour les rejets
+        Status[] statuses = new Status[updates.size()];
+        List<QuotationChange> changes = new ArrayList<>();
+        List<Integer> changeIndexes = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            QuotationUpdateDTO update = updates.get(i);
+            if (update.getId() == null) {
+                statuses[i] = Status.NOT_FOUND;
+                continue;
+            }
+            if (duplicateIds.contains(update.getId())) {
+                logger.warn("Devis {} présent plusieurs fois dans le lot", update.getId());
+                statuses[i] = Status.DUPLICATE;
+                continue;
+            }
+
+            QuotationAction action;
             try {
-                updateSingleQuotation(update);
-            } catch (Exception e) {
-                String errorMsg = "Erreur lors de la mise à jour du devis %d".formatted(update.getId());
-                logger.error(errorMsg, e);
-                throw new RuntimeException(errorMsg, e);
+                action = parseAction(update.getAction());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Action invalide pour le devis {} : '{}'", update.getId(), update.getAction());
+                statuses[i] = Status.INVALID_ACTION;
+                continue;
+            }
+
+            changes.add(new QuotationChange(update.getId(), action, update.getComment(), update.getVersion()));
+            changeIndexes.add(i);
+        }
+
+        // Écriture des modifications valides en une requête batch
+        boolean[] updated = quotationBatchRepository.updateActionsAndComments(changes);
+
+        // Versions relues : nouvelle version des devis modifiés ; modification
+        // sans effet sur un devis existant = devis modifié entre-temps
+        Map<Long, Long> versions = quotationBatchRepository
+                .findVersions(changes.stream().map(QuotationChange::id).toList());
+        Long[] newVersions = new Long[updates.size()];
+        for (int c = 0; c < updated.length; c++) {
+            int i = changeIndexes.get(c);
+            Long version = versions.get(changes.get(c).id());
+            if (updated[c]) {
+                statuses[i] = Status.UPDATED;
+                newVersions[i] = version;
+            } else {
+                statuses[i] = version != null ? Status.CONFLICT : Status.NOT_FOUND;
             }
         }
 
-        logger.info("Mise à jour batch terminée avec succès pour {} devis", updates.size());
+        List<QuotationUpdateResultDTO> results = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            results.add(new QuotationUpdateResultDTO(updates.get(i).getId(), statuses[i], newVersions[i]));
+        }
+
+        logger.info("Mise à jour batch terminée : {} devis sur {} mis à jour",
+                results.stream().filter(r -> r.getStatus() == Status.UPDATED).count(), updates.size());
+        return results;
     }
 
-    // ===== OPÉRATIONS INDIVIDUELLES =====
+    // ===== LECTURE PAGINÉE =====
 
     /**
-     * Met à jour un devis individuel avec les nouvelles données
+     * Récupère une page de devis non validés, du plus récent au plus ancien
      * 
-     * Recherche le devis par son ID et applique les modifications
-     * si le devis existe. Ignore silencieusement les devis inexistants
-     * pour éviter les erreurs lors des opérations batch.
+     * La page suivante est demandée avec la date et l'identifiant du dernier
+     * devis reçu : chaque page est lue par l'index sans relire les pages
+     * précédentes, et reste stable si des devis sont traités entre deux
+     * appels.
      * 
-     * @param update DTO contenant les informations de mise à jour
-     */
-    private void updateSingleQuotation(QuotationUpdateDTO update) {
-        // Recherche et mise à jour du devis
-        quotationsRepository.findById(update.getId())
-                .ifPresentOrElse(
-                        quotation -> {
-                            // Application des modifications
-                            updateQuotationAction(quotation, update);
-                            quotation.setComment(update.getComment());
-
-                            // Sauvegarde des modifications
-                            quotationsRepository.save(quotation);
-                            logger.debug("Devis {} mis à jour avec succès", update.getId());
-                        },
-                        () -> logger.warn("Devis {} non trouvé pour mise à jour", update.getId()));
+     * @param startDate    Date de début de la période
+     * @param endDate      Date de fin de la période
+     * @param sellerRef    Référence du vendeur (optionnelle)
+     * @param action       Code de l'action, {@value #NO_ACTION_FILTER} pour
+     *                     les devis sans action (optionnel)
+     * @param clientPrefix Début du nom du client (optionnel)
+     * @param afterDate    Date du dernier devis de la page précédente
+     *                     (optionnelle)
+     * @param afterId      Identifiant du dernier devis de la page précédente
+     *                     (obligatoire avec afterDate)
+     * @param size         Nombre maximal de devis de la page
+     * @return Page de devis et curseur de la page suivante
+     * @throws IllegalArgumentException si l'action est inconnue ou le curseur
+     *                                  incomplet
+     */
+    public QuotationPageDTO getUnvalidatedPage(LocalDate startDate, LocalDate endDate, String sellerRef,
+            String action, String clientPrefix, LocalDate afterDate, Long afterId, int size) {
+        if ((afterDate == null) != (afterId == null)) {
+            throw new IllegalArgumentException("Curseur incomplet : afterDate et afterId vont ensemble");
+        }
+
+        // Filtre d'action : devis sans action ou action précise
+        boolean noAction = NO_ACTION_FILTER.equalsIgnoreCase(action);
+        QuotationAction actionFilter = noAction ? null : parseAction(action);
+
+        // Filtre client : préfixe avec caractères spéciaux LIKE échappés
+        String clientPattern = isBlank(clientPrefix) ? null
+                : clientPrefix.trim().replaceAll("[!%_]", "!$0") + "%";
+
+        // Un devis de plus que la taille de page indique une page suivante
+        List<QuotationDTO> rows = quotationsRepository.findUnvalidatedPage(startDate, endDate,
+                isBlank(sellerRef) ? null : sellerRef.trim(), actionFilter, noAction, clientPattern,
+                afterDate, afterId, Limit.of(size + 1));
+        boolean hasMore = rows.size() > size;
+
+        return new QuotationPageDTO(hasMore ? rows.subList(0, size) : rows, hasMore);
     }
 
+    // ===== LISTE DE RELANCE =====
+
     /**
-     * Met à jour l'action d'un devis si une nouvelle action est fournie
+     * Construit la liste de relance des devis non validés
      * 
-     * Valide la nouvelle action contre l'énumération QuotationAction
-     * avant de l'appliquer. Ignore les actions invalides avec un warning.
+     * Retient pour chaque vendeur ses devis les plus prioritaires selon leur
+     * ancienneté, leur montant et leur action (score calculé par la requête,
+     * voir {@link QuotationsRepository#findWorklist}).
      * 
-     * @param quotation Devis à mettre à jour
-     * @param update    DTO contenant la nouvelle action
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @param sellerRef Référence du vendeur (optionnelle)
+     * @param action    Code de l'action, {@value #NO_ACTION_FILTER} pour les
+     *                  devis sans action (optionnel)
+     * @param perSeller Nombre de devis retenus par vendeur
+     * @return Devis retenus, par vendeur puis rang
+     * @throws IllegalArgumentException si l'action est inconnue
      */
-    private void updateQuotationAction(Quotations quotation, QuotationUpdateDTO update) {
-        // Vérification de la présence d'une nouvelle action
-        if (update.getAction() == null || update.getAction().trim().isEmpty()) {
-            logger.debug("Aucune action à mettre à jour pour le devis {}", quotation.getId());
-            return;
-        }
+    public List<QuotationWorklistDTO> getWorklist(LocalDate startDate, LocalDate endDate, String sellerRef,
+            String action, int perSeller) {
+        boolean noAction = NO_ACTION_FILTER.equalsIgnoreCase(action);
+        QuotationAction actionFilter = noAction ? null : parseAction(action);
 
-        try {
-            // Conversion et validation de l'action
-            QuotationAction action = QuotationAction.valueOf(update.getAction().toUpperCase().trim());
-            quotation.setAction(action);
-            logger.debug("Action du devis {} mise à jour : {}", quotation.getId(), action);
-        } catch (IllegalArgumentException e) {
-            logger.warn("Action invalide ignorée pour le devis {} : '{}'",
-                    quotation.getId(), update.getAction());
-        }
+        return quotationsRepository.findWorklist(startDate, endDate, LocalDate.now(),
+                isBlank(sellerRef) ? null : sellerRef.trim(),
+                actionFilter != null ? actionFilter.name() : null, noAction, perSeller)
+                .stream()
+                .map(row -> new QuotationWorklistDTO(
+                        ((Number) row[0]).longValue(), // id
+                        toLocalDate(row[1]), // date
+                        row[2] != null ? (String) row[2] : "Non assigné", // sellerRef
+                        (String) row[3], // client
+                        row[4] != null ? QuotationAction.valueOf((String) row[4]).getValue() : null, // action
+                        (String) row[5], // comment
+                        ((Number) row[6]).longValue(), // version
+                        ((Number) row[7]).doubleValue(), // totalQuotation
+                        ((Number) row[8]).intValue(), // ageDays
+                        ((Number) row[9]).doubleValue(), // priority
+                        ((Number) row[10]).intValue() // rank
+                ))
+                .collect(Collectors.toList());
+    }
+
+    // ===== STATISTIQUES =====
+
+    /**
+     * Calcule les statistiques globales et par vendeur des devis d'une période
+     * 
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @return Statistiques des devis (instance partagée par le cache)
+     */
+    public QuotationStatsDTO getQuotationStats(LocalDate startDate, LocalDate endDate) {
+        return statsCache.get("quotation-stats", startDate, endDate, () -> {
+            // Requêtes indépendantes : totaux globaux et détail par vendeur
+            CompletableFuture<Long> total = statsQueryRunner
+                    .submit(() -> salesDailyRollupRepository.countQuotationsBetween(startDate, endDate));
+            CompletableFuture<Long> validated = statsQueryRunner
+                    .submit(() -> salesDailyRollupRepository.countValidatedQuotationsBetween(startDate, endDate));
+            CompletableFuture<List<Object[]>> sellerRows = statsQueryRunner
+                    .submit(() -> salesDailyRollupRepository.getQuotationSellerStats(startDate, endDate));
+
+            // Statistiques par vendeur
+            List<SellerStatsDTO> sellerStats = sellerRows.join()
+                    .stream()
+                    .map(row -> new SellerStatsDTO(
+                            (String) row[0], // sellerRef
+                            (Long) row[1], // total
+                            (Long) row[2] // unvalidated
+                    ))
+                    .toList();
+
+            // Statistiques globales à partir des agrégats journaliers
+            return new QuotationStatsDTO(total.join(), validated.join(), total.join() - validated.join(),
+                    sellerStats);
+        });
+    }
+
+    /**
+     * Calcule le taux de concrétisation des devis d'une période
+     * 
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     * @return Taux en pourcentage (0-100), 0 si aucun devis
+     */
+    public Double getConcretizationRate(LocalDate startDate, LocalDate endDate) {
+        return statsCache.get("concretization-rate", startDate, endDate, () -> {
+            Double rate = salesDailyRollupRepository.getConcretizationRate(startDate, endDate);
+            return rate != null ? rate : 0.0;
+        });
+    }
+
+    /**
+     * Analyse la concrétisation des devis d'une période, comparée à N-1
+     *
+     * Totaux magasin et par vendeur, sur la période complète et par tranche,
+     * calculés à partir d'une seule lecture des agrégats journaliers (voir
+     * {@link SalesDailyRollupRepository#getConcretizationSeries}).
+     *
+     * @param startDate   Date de début de la période
+     * @param endDate     Date de fin de la période
+     * @param granularity Découpage des tranches
+     * @param sellerRef   Référence du vendeur (optionnelle)
+     * @return Analyse de la période (instance partagée par le cache)
+     */
+    public ConcretizationSeriesDTO getConcretizationSeries(LocalDate startDate, LocalDate endDate,
+            Granularity granularity, String sellerRef) {
+        String seller = isBlank(sellerRef) ? null : sellerRef.trim();
+        String cacheName = "concretization-series:" + granularity + ":" + (seller != null ? seller : "");
+
+        // Période N-1 incluse dans la clé : un import N-1 invalide l'analyse
+        return statsCache.get(cacheName, startDate.minusYears(1), endDate, () -> {
+            ConcretizationTally period = new ConcretizationTally();
+            Map<LocalDate, ConcretizationTally> buckets = new TreeMap<>();
+
+            for (Object[] row : salesDailyRollupRepository.getConcretizationSeries(startDate, endDate,
+                    startDate.minusYears(1), endDate.minusYears(1), granularity.name(), seller)) {
+                String rowSeller = (String) row[1];
+                long[] counts = {
+                        ((Number) row[2]).longValue(), // quotations
+                        ((Number) row[3]).longValue(), // validated
+                        ((Number) row[4]).longValue(), // previousQuotations
+                        ((Number) row[5]).longValue() // previousValidated
+                };
+                period.add(rowSeller, counts);
+                buckets.computeIfAbsent(toLocalDate(row[0]), bucket -> new ConcretizationTally())
+                        .add(rowSeller, counts);
+            }
+
+            return new ConcretizationSeriesDTO(startDate, endDate, granularity, period.toBucket(startDate),
+                    buckets.entrySet().stream()
+                            .filter(bucket -> bucket.getValue().hasQuotations())
+                            .map(bucket -> bucket.getValue().toBucket(bucket.getKey()))
+                            .collect(Collectors.toList()));
+        });
     }
 
     // ===== GESTION DES VENDEURS =====
@@ -181,4 +430,115 @@ public class QuotationService {
         quotation.setSeller(seller);
         logger.debug("Vendeur {} associé au devis {}", sellerRef, quotation.getId());
     }
-}
\ No newline at end of file
+
+    // ===== CUMUL DE CONCRÉTISATION =====
+
+    /**
+     * Cumul des devis d'une tranche : total magasin et détail par vendeur
+     *
+     * Compteurs [devis, validés, devis N-1, validés N-1]. Les devis sans
+     * vendeur (référence '') ne comptent que dans le total magasin.
+     */
+    private static final class ConcretizationTally {
+
+        /**
+         * Compteurs du magasin
+         */
+        private final long[] total = new long[4];
+
+        /**
+         * Compteurs par vendeur, triés par référence
+         */
+        private final Map<String, long[]> sellers = new TreeMap<>();
+
+        /**
+         * Ajoute les compteurs d'un vendeur
+         *
+         * @param sellerRef Référence du vendeur, '' si aucun
+         * @param counts    Compteurs à ajouter
+         */
+        void add(String sellerRef, long[] counts) {
+            addTo(total, counts);
+            if (!sellerRef.isEmpty()) {
+                addTo(sellers.computeIfAbsent(sellerRef, ref -> new long[4]), counts);
+            }
+        }
+
+        /**
+         * @return true si la tranche compte au moins un devis (N ou N-1)
+         */
+        boolean hasQuotations() {
+            return hasQuotations(total);
+        }
+
+        /**
+         * @param bucketStart Premier jour de la tranche
+         * @return Tranche avec les vendeurs ayant au moins un devis (N ou N-1)
+         */
+        ConcretizationBucketDTO toBucket(LocalDate bucketStart) {
+            return new ConcretizationBucketDTO(bucketStart, toStats(null, total),
+                    sellers.entrySet().stream()
+                            .filter(seller -> hasQuotations(seller.getValue()))
+                            .map(seller -> toStats(seller.getKey(), seller.getValue()))
+                            .collect(Collectors.toList()));
+        }
+
+        /**
+         * @param target Compteurs cumulés
+         * @param counts Compteurs à ajouter
+         */
+        private static void addTo(long[] target, long[] counts) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += counts[i];
+            }
+        }
+
+        /**
+         * @param counts Compteurs d'un périmètre
+         * @return true si au moins un devis (N ou N-1)
+         */
+        private static boolean hasQuotations(long[] counts) {
+            return counts[0] > 0 || counts[2] > 0;
+        }
+
+        /**
+         * @param sellerRef Référence du vendeur, null pour le magasin
+         * @param counts    Compteurs du périmètre
+         * @return Statistiques du périmètre
+         */
+        private static ConcretizationStatsDTO toStats(String sellerRef, long[] counts) {
+            return new ConcretizationStatsDTO(sellerRef, counts[0], counts[1], counts[2], counts[3]);
+        }
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Convertit une date lue par requête native
+     * 
+     * @param value Date retournée par le pilote JDBC
+     * @return Date correspondante
+     */
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) value;
+    }
+
+    /**
+     * Convertit le code d'une action de devis
+     * 
+     * @param action Code de l'action (casse indifférente)
+     * @return Action correspondante, null si aucune action n'est fournie
+     * @throws IllegalArgumentException si le code est inconnu
+     */
+    private static QuotationAction parseAction(String action) {
+        return isBlank(action) ? null : QuotationAction.valueOf(action.trim().toUpperCase());
+    }
+
+    /**
+     * @param value Valeur d'un filtre optionnel
+     * @return true si le filtre est absent ou vide
+     */
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
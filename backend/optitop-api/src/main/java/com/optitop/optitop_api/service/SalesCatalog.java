@@ -0,0 +1,169 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.InvoicesLines;
+import com.optitop.optitop_api.model.QuotationsLines;
+
+// ===== IMPORTS REPOSITORIES =====
+import com.optitop.optitop_api.repository.InvoicesLinesRepository;
+import com.optitop.optitop_api.repository.QuotationsLinesRepository;
+import com.optitop.optitop_api.repository.SalesImportRepository;
+import com.optitop.optitop_api.repository.SalesMonthlyRevenueRepository;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Métadonnées des données de vente, conservées en mémoire
+ *
+ * Fournit sans requête les informations demandées à chaque affichage de
+ * page :
+ * - Date de la dernière mise à jour des données (catalogue des imports)
+ * - Années ayant au moins une facture (série mensuelle de chiffre
+ * d'affaires)
+ * - Version des données, changée à chaque rechargement (requêtes
+ * conditionnelles)
+ *
+ * Chargées au démarrage et rechargées après chaque import validé
+ * ({@link SalesDataChangedEvent}), après l'invalidation des statistiques en
+ * cache ({@link StatsCache}) : une nouvelle version n'est jamais associée à
+ * une statistique calculée sur les anciennes données. Pour une base dont
+ * les données précèdent le catalogue des imports, la date de dernière mise
+ * à jour est celle de la dernière ligne de vente écrite.
+ */
+@Component
+public class SalesCatalog {
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private SalesImportRepository salesImportRepository;
+
+    @Autowired
+    private SalesMonthlyRevenueRepository salesMonthlyRevenueRepository;
+
+    @Autowired
+    private InvoicesLinesRepository invoicesLinesRepository;
+
+    @Autowired
+    private QuotationsLinesRepository quotationsLinesRepository;
+
+    // ===== ÉTAT =====
+
+    /**
+     * Identifiant du démarrage de l'application : les numéros de
+     * rechargement repartent de zéro à chaque démarrage
+     */
+    private final String instanceId = Long.toHexString(System.currentTimeMillis());
+
+    /**
+     * Métadonnées courantes, remplacées d'un bloc à chaque rechargement
+     */
+    private volatile Snapshot snapshot = new Snapshot(null, List.of(), 0);
+
+    /**
+     * Métadonnées à un instant donné
+     *
+     * @param lastUpdate Date de la dernière mise à jour, null si aucune donnée
+     * @param years      Années ayant au moins une facture, par ordre
+     *                   décroissant
+     * @param generation Numéro du rechargement
+     */
+    private record Snapshot(LocalDateTime lastUpdate, List<Integer> years, long generation) {
+    }
+
+    // ===== LECTURE =====
+
+    /**
+     * @return Date de la dernière mise à jour des données, null si aucune
+     */
+    public LocalDateTime getLastUpdate() {
+        return snapshot.lastUpdate();
+    }
+
+    /**
+     * @return Années ayant au moins une facture, par ordre décroissant
+     */
+    public List<Integer> getYears() {
+        return snapshot.years();
+    }
+
+    /**
+     * Version des données : identifiant du démarrage et numéro du
+     * rechargement, strictement croissant d'un import validé à l'autre
+     *
+     * @return Version courante, null si aucune donnée
+     */
+    public String getDataVersion() {
+        Snapshot current = snapshot;
+        return current.lastUpdate() != null ? instanceId + "-" + current.generation() : null;
+    }
+
+    // ===== RECHARGEMENT =====
+
+    /**
+     * Charge les métadonnées au démarrage
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Recharge les métadonnées une fois l'import validé, après
+     * l'invalidation du cache des statistiques
+     *
+     * @param event Période dont les données ont changé
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSalesDataChanged(SalesDataChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Relit les métadonnées en base
+     */
+    private synchronized void refresh() {
+        LocalDateTime lastUpdate = salesImportRepository.findLastDataUpdate();
+        if (lastUpdate == null) {
+            lastUpdate = findLastLineCreation();
+        }
+        snapshot = new Snapshot(lastUpdate, List.copyOf(salesMonthlyRevenueRepository.findDistinctYears()),
+                snapshot.generation() + 1);
+    }
+
+    /**
+     * Recherche la date d'écriture de la dernière ligne de vente
+     *
+     * @return Date et heure, null si aucune ligne
+     */
+    private LocalDateTime findLastLineCreation() {
+        LocalDateTime lastQuotationDate = quotationsLinesRepository
+                .findTopByOrderByCreatedAtDesc()
+                .map(QuotationsLines::getCreatedAt)
+                .orElse(null);
+
+        LocalDateTime lastInvoiceDate = invoicesLinesRepository.findTopByOrderByCreatedAtDesc()
+                .map(InvoicesLines::getCreatedAt)
+                .orElse(null);
+
+        return Stream.of(lastQuotationDate, lastInvoiceDate)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+}
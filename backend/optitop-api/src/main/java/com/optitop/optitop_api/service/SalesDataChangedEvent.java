@@ -0,0 +1,17 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+
+/**
+ * Événement publié lorsque les données de vente d'une période sont modifiées
+ *
+ * Publié dans la transaction qui modifie les données (import, calcul des
+ * agrégats journaliers) : les abonnés transactionnels le reçoivent après la
+ * validation de cette transaction.
+ *
+ * @param startDate Date de début de la période modifiée
+ * @param endDate   Date de fin de la période modifiée
+ */
+public record SalesDataChangedEvent(LocalDate startDate, LocalDate endDate) {
+}
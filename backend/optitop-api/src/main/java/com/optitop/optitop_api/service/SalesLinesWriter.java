@@ -0,0 +1,177 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.InvoicesLines;
+import com.optitop.optitop_api.model.QuotationsLines;
+import com.optitop.optitop_api.model.Seller;
+
+// ===== IMPORTS REPOSITORIES =====
+import com.optitop.optitop_api.repository.SalesBatchRepository;
+
+// ===== IMPORTS ANALYSE CSV =====
+import com.optitop.optitop_api.utils.SalesCsvLine;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Écriture par lots des lignes de vente d'un import
+ *
+ * Convertit les lignes CSV analysées en lignes de factures ou de devis et
+ * les insère par lots JDBC multi-lignes :
+ * - Factures et avoirs vers invoices_lines
+ * - Devis (toutes variantes) vers quotations_lines
+ * - Autres types de pièce ignorés
+ *
+ * Instance non partagée : créée au début d'un import, utilisée par le seul
+ * thread détenteur de la transaction, puis vidée par {@link #flush()}.
+ */
+public class SalesLinesWriter {
+
+    // ===== DÉPENDANCES =====
+
+    /**
+     * Repository d'écriture en masse
+     */
+    private final SalesBatchRepository salesBatchRepository;
+
+    /**
+     * Résolution des vendeurs de l'import
+     */
+    private final SellerResolver sellerResolver;
+
+    /**
+     * Taille des lots d'insertion
+     */
+    private final int batchSize;
+
+    /**
+     * Suivi de l'avancement de l'import
+     */
+    private final ImportProgress progress;
+
+    // ===== ÉTAT DE L'IMPORT =====
+
+    private final List<InvoicesLines> invoiceBatch;
+    private final List<QuotationsLines> quotationBatch;
+    private long invoicesWrittenCount;
+    private long quotationsWrittenCount;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * @param salesBatchRepository Repository d'écriture en masse
+     * @param sellerResolver       Résolution des vendeurs de l'import
+     * @param batchSize            Taille des lots d'insertion
+     * @param progress             Suivi de l'avancement de l'import
+     */
+    public SalesLinesWriter(SalesBatchRepository salesBatchRepository, SellerResolver sellerResolver, int batchSize,
+            ImportProgress progress) {
+        this.salesBatchRepository = salesBatchRepository;
+        this.sellerResolver = sellerResolver;
+        this.batchSize = batchSize;
+        this.progress = progress;
+        this.invoiceBatch = new ArrayList<>(batchSize);
+        this.quotationBatch = new ArrayList<>(batchSize);
+    }
+
+    // ===== OPÉRATIONS =====
+
+    /**
+     * Ajoute une ligne analysée au lot approprié, écrit le lot s'il est plein
+     *
+     * @param line Ligne CSV analysée
+     */
+    public void add(SalesCsvLine line) {
+        // Vendeur résolu en mémoire (créé si absent du fichier analysé)
+        Seller seller = sellerResolver.resolve(line.sellerRef());
+
+        // Factures
+        if (line.isInvoice()) {
+            InvoicesLines invoice = new InvoicesLines();
+            invoice.setDate(line.date());
+            invoice.setClientId(line.clientId());
+            invoice.setClient(line.client());
+            invoice.setInvoiceRef(line.reference());
+            invoice.setFamily(line.family());
+            invoice.setQuantity(line.quantity());
+            invoice.setTotalTtc(line.totalTtc());
+            invoice.setTotalInvoice(line.documentTotal());
+            invoice.setPair(line.pair());
+            invoice.setStatus(line.type());
+            invoice.setCreatedAt(LocalDateTime.now());
+            invoice.setSeller(seller);
+
+            invoiceBatch.add(invoice);
+            if (invoiceBatch.size() >= batchSize) {
+                writeInvoices();
+            }
+        } else if (line.isQuotation()) {
+            QuotationsLines quotation = new QuotationsLines();
+            quotation.setDate(line.date());
+            quotation.setClientId(line.clientId());
+            quotation.setClient(line.client());
+            quotation.setQuotationRef(line.reference());
+            quotation.setFamily(line.family());
+            quotation.setQuantity(line.quantity());
+            quotation.setTotalTtc(line.totalTtc());
+            quotation.setTotalQuotation(line.documentTotal());
+            quotation.setPair(line.pair());
+            quotation.setStatus(line.type());
+            quotation.setCreatedAt(LocalDateTime.now());
+            quotation.setSeller(seller);
+
+            quotationBatch.add(quotation);
+            if (quotationBatch.size() >= batchSize) {
+                writeQuotations();
+            }
+        }
+    }
+
+    /**
+     * Écrit les derniers lots de factures et devis s'il y en a
+     */
+    public void flush() {
+        writeInvoices();
+        writeQuotations();
+    }
+
+    /**
+     * @return Nombre de lignes écrites en base depuis la création
+     */
+    public long getWrittenCount() {
+        return invoicesWrittenCount + quotationsWrittenCount;
+    }
+
+    /**
+     * @return Nombre de lignes de factures écrites en base depuis la création
+     */
+    public long getInvoicesWrittenCount() {
+        return invoicesWrittenCount;
+    }
+
+    /**
+     * @return Nombre de lignes de devis écrites en base depuis la création
+     */
+    public long getQuotationsWrittenCount() {
+        return quotationsWrittenCount;
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    private void writeInvoices() {
+        salesBatchRepository.insertInvoicesLines(invoiceBatch);
+        invoicesWrittenCount += invoiceBatch.size();
+        progress.addRowsWritten(invoiceBatch.size());
+        invoiceBatch.clear();
+    }
+
+    private void writeQuotations() {
+        salesBatchRepository.insertQuotationsLines(quotationBatch);
+        quotationsWrittenCount += quotationBatch.size();
+        progress.addRowsWritten(quotationBatch.size());
+        quotationBatch.clear();
+    }
+}
@@ -1,54 +1,75 @@
 package com.optitop.optitop_api.service;
 
 // ===== IMPORTS MODÈLES =====
-import com.optitop.optitop_api.model.Invoices;
-import com.optitop.optitop_api.model.InvoicesLines;
-import com.optitop.optitop_api.model.Quotations;
-import com.optitop.optitop_api.model.QuotationsLines;
-import com.optitop.optitop_api.model.Seller;
-import com.optitop.optitop_api.model.User;
+import com.optitop.optitop_api.model.SalesImport;
 
 // ===== IMPORTS REPOSITORIES =====
-import com.optitop.optitop_api.repository.InvoicesLinesRepository;
-import com.optitop.optitop_api.repository.InvoicesRepository;
-import com.optitop.optitop_api.repository.QuotationsLinesRepository;
-import com.optitop.optitop_api.repository.QuotationsRepository;
+import com.optitop.optitop_api.repository.SalesBatchRepository;
+import com.optitop.optitop_api.repository.SalesImportRepository;
 import com.optitop.optitop_api.repository.SellerRepository;
 import com.optitop.optitop_api.repository.UserRepository;
 
+// ===== IMPORTS ANALYSE CSV =====
+import com.optitop.optitop_api.utils.SalesCsvLine;
+import com.optitop.optitop_api.utils.SalesCsvParser;
+import com.optitop.optitop_api.utils.SalesCsvTokenizer;
+
 // ===== IMPORTS SPRING FRAMEWORK =====
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
-// ===== IMPORTS JPA =====
-import jakarta.persistence.EntityNotFoundException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 // ===== IMPORTS UTILITAIRES =====
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Service métier pour l'importation et le traitement des données de vente
  * 
  * Gère l'importation complète des données CSV de vente avec :
- * - Parsing et validation des lignes CSV
- * - Création automatique des vendeurs manquants
+ * - Parsing et validation des lignes CSV en parallèle, par morceaux
+ * - Création automatique et groupée des vendeurs manquants
  * - Traitement séparé des factures et devis
- * - Agrégation des lignes en entités métier
- * - Traitement par lots pour optimiser les performances
+ * - Agrégation des lignes en entités métier, par requêtes ensemblistes
+ * - Maintien des agrégats journaliers par vendeur lus par les statistiques
+ * - Insertions JDBC multi-lignes par lots pour optimiser les performances
  * - Gestion des périodes avec suppression/recréation
  * 
+ * Le fichier est lu en flux (deux passes sur la source) : aucune ligne
+ * n'est conservée en mémoire au-delà du lot en cours d'écriture.
+ * 
  * Le service distingue les factures (avec avoir) des devis et crée
  * les entités appropriées avec leurs lignes de détail.
  */
@@ -69,93 +90,176 @@ public class SalesService {
     private static final int BATCH_SIZE = 1000;
 
     /**
-     * Formateur de date pour le parsing des données CSV (format dd/MM/yyyy)
+     * Nombre de lignes CSV confiées à un worker d'analyse
      */
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    static final int PARSE_CHUNK_SIZE = 2000;
+
+    /**
+     * Nombre maximal de morceaux soumis et non encore écrits
+     * Borne la mémoire lorsque l'analyse va plus vite que la base
+     */
+    static final int MAX_CHUNKS_IN_FLIGHT = 8;
+
+    /**
+     * Nombre maximal de plages de jours réécrites séparément en import
+     * différentiel, au-delà une seule plage couvre tous les jours modifiés
+     */
+    private static final int MAX_DELTA_RANGES = 10;
+
+    /**
+     * Début de la ligne d'en-tête de l'export de caisse
+     */
+    private static final String HEADER_PREFIX = "Date;C.;Num client;Client;";
+
+    /**
+     * Marqueur BOM (Byte Order Mark) éventuellement présent en début de fichier
+     */
+    private static final String BOM = "\uFEFF";
 
     // ===== INJECTION DES DÉPENDANCES =====
 
     /**
-     * Repository pour l'accès aux lignes de factures
+     * Repository pour la gestion des vendeurs
      */
     @Autowired
-    private InvoicesLinesRepository invoicesLinesRepository;
+    private SellerRepository sellerRepository;
 
     /**
-     * Repository pour l'accès aux lignes de devis
+     * Repository pour la gestion des utilisateurs
      */
     @Autowired
-    private QuotationsLinesRepository quotationsLinesRepository;
+    private UserRepository userRepository;
 
     /**
-     * Repository pour l'accès aux factures agrégées
+     * Repository d'écriture en masse (INSERT multi-lignes via JDBC)
      */
     @Autowired
-    private InvoicesRepository invoicesRepository;
+    private SalesBatchRepository salesBatchRepository;
 
     /**
-     * Repository pour l'accès aux devis agrégés
+     * Pool de threads d'analyse des lignes CSV
      */
     @Autowired
-    private QuotationsRepository quotationsRepository;
+    @Qualifier("salesParseExecutor")
+    private ExecutorService salesParseExecutor;
 
     /**
-     * Repository pour la gestion des vendeurs
+     * Repository de suivi des imports par étapes
      */
     @Autowired
-    private SellerRepository sellerRepository;
+    private SalesImportRepository salesImportRepository;
 
     /**
-     * Repository pour la gestion des utilisateurs
+     * Transactions programmatiques de l'import par étapes
      */
     @Autowired
-    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Publication des périodes modifiées (invalidation des statistiques)
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Nombre minimal de lignes validées ensemble en import par étapes
+     * (la validation a toujours lieu entre deux jours)
+     */
+    @Value("${optitop.import.chunk-rows:5000}")
+    private int chunkRows;
+
+    // ===== MODES D'IMPORT =====
+
+    /**
+     * Mode d'import d'un fichier de ventes
+     */
+    public enum ImportMode {
+        /**
+         * Suppression puis réinsertion de toute la période du fichier
+         */
+        FULL,
+
+        /**
+         * Écriture des seules différences avec les lignes déjà en base
+         */
+        DELTA,
+
+        /**
+         * Réécriture de la période par étapes de quelques jours, chacune
+         * validée séparément et reprise en cas d'interruption
+         */
+        CHUNKED
+    }
 
     // ===== TRAITEMENT PRINCIPAL =====
 
     /**
-     * Traite un lot de lignes CSV pour l'importation des données de vente
+     * Importe les données de vente d'un fichier CSV lu en flux
      * 
-     * Processus complet d'importation :
-     * 1. Suppression de la ligne d'en-tête si présente
-     * 2. Calcul de la plage de dates des données
-     * 3. Suppression des données existantes sur la période
-     * 4. Traitement ligne par ligne avec création des entités
-     * 5. Sauvegarde par lots pour optimiser les performances
-     * 6. Création des entités agrégées (factures et devis)
+     * Processus complet d'importation, la première passe ({@link #scanSource})
+     * ayant déjà calculé la plage de dates et relevé les vendeurs :
+     * 1. Création groupée des vendeurs manquants et suppression des données
+     * existantes sur la période
+     * 2. Seconde passe : analyse des lignes en parallèle par morceaux, puis
+     * création des entités dans l'ordre du fichier, les vendeurs étant
+     * résolus en mémoire
+     * 3. Sauvegarde par lots JDBC, hors contexte de persistance, pour garder
+     * une mémoire constante
+     * 4. Création des entités agrégées (factures et devis)
+     * 5. Enregistrement de l'import au catalogue (sales_imports)
      * 
-     * @param lines Liste des lignes CSV à traiter
+     * En mode différentiel, les étapes 1 à 4 sont limitées aux jours dont
+     * le contenu diffère de la base (voir {@link #importDelta}).
+     * 
+     * La source doit pouvoir être ouverte plusieurs fois (fichier multipart,
+     * fichier temporaire...). L'encodage attendu est UTF-8, avec ou sans BOM,
+     * et la ligne d'en-tête est ignorée si présente.
+     * 
+     * @param source   Source du fichier CSV à importer
+     * @param scan     Résultat de la première passe sur la même source
+     * @param fileName Nom du fichier importé
+     * @param mode     Mode d'import (complet ou différentiel)
+     * @param progress Suivi de l'avancement, mis à jour à chaque étape
      * @throws RuntimeException si erreur lors du traitement
      */
     @Transactional
-    public void processBatch(List<String> lines) {
-        // Validation des paramètres d'entrée
-        if (lines == null || lines.isEmpty()) {
-            logger.warn("Aucune ligne à traiter dans le lot");
-            return;
-        }
-
+    public void importSales(InputStreamSource source, ImportScan scan, String fileName, ImportMode mode,
+            ImportProgress progress) {
         try {
-            // Préparation des données avec suppression de l'en-tête
-            List<String> dataLines = prepareDataLines(lines);
-            if (dataLines.isEmpty()) {
-                logger.warn("Aucune ligne de données après suppression de l'en-tête");
-                return;
+            LocalDate minDate = scan.minDate();
+            LocalDate maxDate = scan.maxDate();
+
+            // Chargement unique des vendeurs et création groupée des manquants
+            SellerResolver sellerResolver = new SellerResolver(sellerRepository, userRepository);
+            sellerResolver.createMissingSellers(scan.sellerRefs());
+
+            SalesLinesWriter writer = new SalesLinesWriter(salesBatchRepository, sellerResolver, BATCH_SIZE, progress);
+            if (mode == ImportMode.DELTA) {
+                // Écriture des seules différences avec la base
+                importDelta(source, writer, minDate, maxDate, progress);
+            } else {
+                // Suppression des données existantes sur la période
+                progress.setPhase(ImportProgress.Phase.DELETE);
+                Set<String> spanningRefs = deleteExistingData(minDate, maxDate);
+
+                // Seconde passe : traitement des lignes avec sauvegarde par lots
+                progress.setPhase(ImportProgress.Phase.INSERT);
+                processDataLines(source, progress, writer::add);
+                writer.flush();
+
+                // Création des entités agrégées
+                progress.setPhase(ImportProgress.Phase.AGGREGATE);
+                createAggregatedEntities(minDate, maxDate, spanningRefs);
             }
 
-            // Calcul de la plage de dates pour la suppression/recréation
-            LocalDate[] dateRange = calculateDateRange(dataLines);
-            LocalDate minDate = dateRange[0];
-            LocalDate maxDate = dateRange[1];
-
-            // Suppression des données existantes sur la période
-            deleteExistingData(minDate, maxDate);
-
-            // Traitement des lignes avec sauvegarde par lots
-            processDataLines(dataLines);
-
-            // Création des entités agrégées
-            createAggregatedEntities(minDate, maxDate);
+            // Enregistrement au catalogue, validé avec les données
+            SalesImport salesImport = new SalesImport(fileName, SalesImport.Mode.valueOf(mode.name()),
+                    scan.checksum(), minDate, maxDate);
+            salesImport.setStatus(SalesImport.Status.COMPLETED);
+            salesImport.setLastCommittedDate(maxDate);
+            salesImport.setInvoicesLines((int) writer.getInvoicesWrittenCount());
+            salesImport.setQuotationsLines((int) writer.getQuotationsWrittenCount());
+            salesImportRepository.save(salesImport);
 
             logger.info("Traitement du lot terminé avec succès pour la période {} - {}", minDate, maxDate);
 
@@ -165,64 +269,154 @@ public class SalesService {
         }
     }
 
-    // ===== MÉTHODES DE PRÉPARATION =====
+    // ===== MÉTHODES DE LECTURE =====
+
+    /**
+     * Parcourt les lignes de données d'une source CSV sans les conserver
+     * 
+     * Gère l'encodage UTF-8, la suppression du BOM sur la première ligne,
+     * l'ignorance de la ligne d'en-tête et des lignes vides.
+     * 
+     * @param source   Source du fichier CSV
+     * @param consumer Traitement appliqué à chaque ligne de données
+     * @throws IOException si erreur de lecture
+     */
+    private void forEachDataLine(InputStreamSource source, Consumer<String> consumer) throws IOException {
+        forEachDataLine(source.getInputStream(), consumer);
+    }
 
     /**
-     * Prépare les lignes de données en supprimant l'en-tête si présent
+     * Parcourt les lignes de données d'un flux CSV puis le ferme
      * 
-     * @param lines Lignes brutes du CSV
-     * @return Lignes de données sans en-tête
+     * @param input    Flux du fichier CSV
+     * @param consumer Traitement appliqué à chaque ligne de données
+     * @throws IOException si erreur de lecture
      */
-    private List<String> prepareDataLines(List<String> lines) {
-        List<String> dataLines = new ArrayList<>(lines);
+    private void forEachDataLine(InputStream input, Consumer<String> consumer) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
 
-        // Suppression de la ligne d'en-tête si détectée
-        if (!dataLines.isEmpty() && dataLines.get(0).contains("Date;C.;Num client;Client;")) {
-            logger.info("Détection et suppression de la ligne d'en-tête");
-            dataLines.remove(0);
+            // Lecture de la première ligne avec suppression du BOM et de l'en-tête
+            String line = reader.readLine();
+            if (line == null) {
+                return;
+            }
+            line = line.replace(BOM, "");
+            if (line.contains(HEADER_PREFIX)) {
+                logger.debug("Détection et suppression de la ligne d'en-tête");
+            } else if (!line.isBlank()) {
+                consumer.accept(line);
+            }
+
+            // Lecture des lignes suivantes
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    consumer.accept(line);
+                }
+            }
         }
+    }
 
-        return dataLines;
+    /**
+     * Résultat de la première passe sur le fichier
+     * 
+     * Calculé avant l'import pour réserver la période concernée avant
+     * l'ouverture de la transaction.
+     * 
+     * @param minDate    Date minimale des données
+     * @param maxDate    Date maximale des données
+     * @param sellerRefs Références vendeurs distinctes rencontrées
+     * @param lineCount  Nombre de lignes de données
+     * @param sorted     true si les dates du fichier sont croissantes
+     * @param checksum   Empreinte SHA-256 du fichier (hexadécimal)
+     */
+    public record ImportScan(LocalDate minDate, LocalDate maxDate, Set<String> sellerRefs, int lineCount,
+            boolean sorted, String checksum) {
     }
 
     /**
-     * Calcule la plage de dates min/max des données à traiter
+     * Calcule la plage de dates min/max et relève les vendeurs des données
+     * 
+     * Première passe sur le fichier : seules les colonnes date et vendeur
+     * sont lues (découpage sans allocation), seules les bornes et les
+     * références distinctes sont conservées. L'empreinte du fichier et
+     * l'ordre des dates sont relevés au passage pour l'import par étapes.
      * 
-     * @param dataLines Lignes de données CSV
-     * @return Tableau [minDate, maxDate]
+     * @param source Source du fichier CSV
+     * @return Résultat de l'analyse ou null si aucune ligne de données
+     * @throws IOException              si erreur de lecture
      * @throws IllegalArgumentException si aucune date valide trouvée
      */
-    private LocalDate[] calculateDateRange(List<String> dataLines) {
-        // Extraction et parsing de toutes les dates valides
-        List<LocalDate> dates = dataLines.stream()
-                .map(this::parseLineDate)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    public ImportScan scanSource(InputStreamSource source) throws IOException {
+        SalesCsvTokenizer tokenizer = new SalesCsvTokenizer();
+        LocalDate[] bounds = new LocalDate[2];
+        Set<String> sellerRefs = new HashSet<>();
+        int[] lineCount = { 0 };
+        LocalDate[] previousDate = new LocalDate[1];
+        boolean[] sorted = { true };
+        MessageDigest digest = sha256();
+
+        // Extraction des dates valides en ne gardant que les bornes
+        forEachDataLine(new DigestInputStream(source.getInputStream(), digest), line -> {
+            lineCount[0]++;
+            tokenizer.load(line);
+            LocalDate date = parseLineDate(tokenizer, line);
+            if (date == null) {
+                return;
+            }
+
+            // Vendeur relevé uniquement pour les lignes complètes
+            if (!tokenizer.isEmpty(SalesCsvTokenizer.TYPE_COLUMN)
+                    && !tokenizer.isEmpty(SalesCsvTokenizer.SELLER_REF_COLUMN)) {
+                sellerRefs.add(tokenizer.sellerRef());
+            }
+
+            if (previousDate[0] != null && date.isBefore(previousDate[0])) {
+                sorted[0] = false;
+            }
+            previousDate[0] = date;
+
+            if (bounds[0] == null || date.isBefore(bounds[0])) {
+                bounds[0] = date;
+            }
+            if (bounds[1] == null || date.isAfter(bounds[1])) {
+                bounds[1] = date;
+            }
+        });
 
-        if (dates.isEmpty()) {
+        if (lineCount[0] == 0) {
+            return null;
+        }
+        if (bounds[0] == null) {
             throw new IllegalArgumentException("Aucune date valide trouvée dans les données");
         }
 
-        // Calcul des bornes min/max
-        LocalDate minDate = dates.stream().min(LocalDate::compareTo)
-                .orElseThrow(() -> new IllegalArgumentException("Impossible de calculer la date minimale"));
-        LocalDate maxDate = dates.stream().max(LocalDate::compareTo)
-                .orElseThrow(() -> new IllegalArgumentException("Impossible de calculer la date maximale"));
+        logger.info("Plage de dates calculée : {} à {} ({} lignes, {} vendeurs)",
+                bounds[0], bounds[1], lineCount[0], sellerRefs.size());
+        return new ImportScan(bounds[0], bounds[1], sellerRefs, lineCount[0], sorted[0],
+                HexFormat.of().formatHex(digest.digest()));
+    }
 
-        logger.info("Plage de dates calculée : {} à {}", minDate, maxDate);
-        return new LocalDate[] { minDate, maxDate };
+    /**
+     * @return Calcul d'empreinte SHA-256
+     */
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algorithme SHA-256 indisponible", e);
+        }
     }
 
     /**
-     * Parse la date d'une ligne CSV
+     * Parse la date de la ligne chargée dans le découpeur
      * 
-     * @param line Ligne CSV à analyser
+     * @param tokenizer Découpeur contenant la ligne courante
+     * @param line      Ligne CSV d'origine (pour le message d'erreur)
      * @return Date parsée ou null si erreur
      */
-    private LocalDate parseLineDate(String line) {
+    private LocalDate parseLineDate(SalesCsvTokenizer tokenizer, String line) {
         try {
-            String[] columns = line.split(";");
-            return LocalDate.parse(columns[0], DATE_FORMATTER);
+            return tokenizer.parseDate();
         } catch (Exception e) {
             logger.error("Erreur lors du parsing de la date dans la ligne: {}", line, e);
             return null;
@@ -234,136 +428,449 @@ public class SalesService {
     /**
      * Supprime toutes les données existantes sur la période spécifiée
      * 
+     * Les factures ayant aussi des lignes hors de la période sont relevées
+     * avant la suppression, qui les supprime en cascade : elles sont à
+     * reconstruire avec les agrégats de la période.
+     * 
      * @param minDate Date de début de la période
      * @param maxDate Date de fin de la période
+     * @return Références des factures à cheval sur la période
      */
-    private void deleteExistingData(LocalDate minDate, LocalDate maxDate) {
+    private Set<String> deleteExistingData(LocalDate minDate, LocalDate maxDate) {
         logger.info("Suppression des données existantes entre {} et {}", minDate, maxDate);
-        invoicesLinesRepository.deleteByDateBetween(minDate, maxDate);
-        quotationsLinesRepository.deleteByDateBetween(minDate, maxDate);
+        Set<String> spanningRefs = salesBatchRepository.findSpanningInvoiceRefs(minDate, maxDate);
+        salesBatchRepository.deleteLines(minDate, maxDate);
+        return spanningRefs;
     }
 
-    // ===== TRAITEMENT DES LIGNES =====
+    // ===== IMPORT DIFFÉRENTIEL =====
 
     /**
-     * Traite toutes les lignes de données et les sauvegarde par lots
+     * Importe uniquement les jours modifiés entre le fichier et la base
+     * 
+     * Les lignes déjà en base sur la période sont chargées puis comparées
+     * par contenu (date, client, référence, famille, quantités, montants,
+     * paire, type, vendeur) aux lignes du fichier. Un jour est modifié s'il
+     * contient une ligne du fichier absente de la base (nouvelle ou
+     * modifiée) ou une ligne en base absente du fichier (supprimée).
+     * Les doublons exacts sont comptés (multi-ensemble).
+     * 
+     * Seuls les jours modifiés sont réécrits : suppression de leurs lignes,
+     * réinsertion des lignes du fichier dans l'ordre (troisième passe) puis
+     * recalcul de leurs devis et des factures ayant des lignes dans ces jours
+     * (toutes leurs lignes, y compris celles des jours inchangés). Le
+     * résultat est identique à un import complet, les jours inchangés n'étant
+     * pas touchés. Si les jours modifiés sont trop dispersés, la plage qui
+     * les englobe est réécrite d'un seul bloc.
      * 
-     * @param dataLines Lignes de données à traiter
+     * @param source  Source du fichier CSV
+     * @param writer  Écriture par lots des lignes des jours modifiés
+     * @param minDate Date de début de la période du fichier
+     * @param maxDate Date de fin de la période du fichier
+     * @param progress Suivi de l'avancement de l'import
+     * @throws IOException si erreur de lecture
      */
-    private void processDataLines(List<String> dataLines) {
-        List<InvoicesLines> invoiceBatch = new ArrayList<>();
-        List<QuotationsLines> quotationBatch = new ArrayList<>();
+    private void importDelta(InputStreamSource source, SalesLinesWriter writer,
+            LocalDate minDate, LocalDate maxDate, ImportProgress progress) throws IOException {
+        // Chargement des lignes existantes indexées par contenu
+        Map<SalesCsvLine, Integer> existingInvoices = new HashMap<>();
+        Map<SalesCsvLine, Integer> existingQuotations = new HashMap<>();
+        salesBatchRepository.forEachInvoicesLine(minDate, maxDate,
+                line -> existingInvoices.merge(line, 1, Integer::sum));
+        salesBatchRepository.forEachQuotationsLine(minDate, maxDate,
+                line -> existingQuotations.merge(line, 1, Integer::sum));
+
+        // Seconde passe : comparaison sans écriture
+        progress.setPhase(ImportProgress.Phase.PARSE);
+        Set<LocalDate> affectedDates = new TreeSet<>();
+        processDataLines(source, progress, line -> {
+            Map<SalesCsvLine, Integer> existing = line.isInvoice() ? existingInvoices
+                    : line.isQuotation() ? existingQuotations : null;
+            if (existing == null || !consumeExisting(existing, line)) {
+                affectedDates.add(line.date());
+            }
+        });
 
-        // Traitement ligne par ligne
-        for (String line : dataLines) {
-            try {
-                processIndividualLine(line, invoiceBatch, quotationBatch);
-            } catch (Exception e) {
-                logger.error("Erreur lors du traitement de la ligne : {}", line, e);
-                // Continuer le traitement des autres lignes
+        // Lignes en base absentes du fichier
+        existingInvoices.keySet().forEach(line -> affectedDates.add(line.date()));
+        existingQuotations.keySet().forEach(line -> affectedDates.add(line.date()));
+
+        if (affectedDates.isEmpty()) {
+            logger.info("Import différentiel : aucune différence entre {} et {}", minDate, maxDate);
+            return;
+        }
+
+        // Réécriture des seuls jours modifiés, par plages de dates contiguës
+        List<LocalDate[]> ranges = toContiguousRanges(affectedDates);
+        if (ranges.size() > MAX_DELTA_RANGES) {
+            // Trop de plages dispersées : réécriture d'un seul bloc
+            LocalDate first = ranges.get(0)[0];
+            LocalDate last = ranges.get(ranges.size() - 1)[1];
+            affectedDates.addAll(first.datesUntil(last.plusDays(1)).toList());
+            ranges = List.<LocalDate[]>of(new LocalDate[] { first, last });
+        }
+        progress.setPhase(ImportProgress.Phase.DELETE);
+        List<Set<String>> spanningRefs = new ArrayList<>();
+        for (LocalDate[] range : ranges) {
+            spanningRefs.add(deleteExistingData(range[0], range[1]));
+        }
+        progress.setPhase(ImportProgress.Phase.INSERT);
+        processDataLines(source, null, line -> {
+            if (affectedDates.contains(line.date())) {
+                writer.add(line);
             }
+        });
+        writer.flush();
+        progress.setPhase(ImportProgress.Phase.AGGREGATE);
+        for (int i = 0; i < ranges.size(); i++) {
+            createAggregatedEntities(ranges.get(i)[0], ranges.get(i)[1], spanningRefs.get(i));
         }
 
-        // Sauvegarde des derniers lots
-        saveFinalBatches(invoiceBatch, quotationBatch);
+        logger.info("Import différentiel : {} jours modifiés sur {} plages, {} lignes réécrites",
+                affectedDates.size(), ranges.size(), writer.getWrittenCount());
     }
 
     /**
-     * Traite une ligne individuelle et l'ajoute au lot approprié
+     * Retire une occurrence d'une ligne des lignes existantes
      * 
-     * @param line           Ligne CSV à traiter
-     * @param invoiceBatch   Lot de factures en cours
-     * @param quotationBatch Lot de devis en cours
+     * @param existing Nombre d'occurrences des lignes existantes par contenu
+     * @param line     Ligne du fichier
+     * @return true si la ligne existait déjà en base
      */
-    private void processIndividualLine(String line, List<InvoicesLines> invoiceBatch,
-            List<QuotationsLines> quotationBatch) {
-        String[] columns = line.split(";");
+    private boolean consumeExisting(Map<SalesCsvLine, Integer> existing, SalesCsvLine line) {
+        Integer count = existing.get(line);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            existing.remove(line);
+        } else {
+            existing.put(line, count - 1);
+        }
+        return true;
+    }
 
-        String type = columns[14].toLowerCase();
-        String sellerRef = columns[10];
-        LocalDate date = LocalDate.parse(columns[0], DATE_FORMATTER);
+    /**
+     * Regroupe des dates triées en plages de jours consécutifs
+     * 
+     * @param dates Dates triées
+     * @return Plages [début, fin] dans l'ordre chronologique
+     */
+    private List<LocalDate[]> toContiguousRanges(Set<LocalDate> dates) {
+        List<LocalDate[]> ranges = new ArrayList<>();
+        LocalDate[] current = null;
+        for (LocalDate date : dates) {
+            if (current != null && date.equals(current[1].plusDays(1))) {
+                current[1] = date;
+            } else {
+                current = new LocalDate[] { date, date };
+                ranges.add(current);
+            }
+        }
+        return ranges;
+    }
 
-        // Vérifier si le seller_ref existe, sinon l'ajouter
-        if (!sellerRepository.existsBySellerRef(sellerRef)) {
-            Seller newSeller = new Seller();
-            newSeller.setSellerRef(sellerRef);
+    // ===== IMPORT PAR ÉTAPES =====
 
-            // Chercher un utilisateur avec le même login
-            User matchingUser = userRepository.findByLogin(sellerRef);
-            if (matchingUser != null) {
-                newSeller.setUser(matchingUser);
-                logger.info(
-                        "Associé le vendeur " + sellerRef + " à l'utilisateur " + matchingUser.getLogin());
+    /**
+     * Importe un fichier trié par date en validant les données jour par jour
+     * 
+     * Contrairement à {@link #importSales}, aucune transaction ne couvre
+     * l'import entier : les lignes sont regroupées en étapes de jours
+     * consécutifs d'au moins {@code optitop.import.chunk-rows} lignes, et
+     * chaque étape est validée dans sa propre transaction :
+     * 1. Suppression des données de ses jours (y compris les jours sans
+     * ligne dans le fichier)
+     * 2. Insertion de ses lignes par lots
+     * 3. Recalcul des factures et devis de ses jours
+     * 4. Mise à jour du point de reprise et des nombres de lignes de l'import
+     * (sales_imports)
+     * 
+     * Un jour n'est jamais partagé entre deux étapes : les lectures voient
+     * chaque jour soit entièrement dans son ancien état, soit entièrement
+     * réimporté. Les verrous et le journal d'annulation sont limités à une
+     * étape.
+     * 
+     * Si le même fichier (même empreinte) a déjà fait l'objet d'un import
+     * par étapes inachevé, l'import reprend au jour suivant son dernier
+     * jour validé, sauf si un autre import a écrit depuis sur ses jours
+     * validés : il reprend alors au premier jour.
+     * 
+     * @param source   Source du fichier CSV
+     * @param scan     Résultat de la première passe sur la même source
+     * @param fileName Nom du fichier importé
+     * @param progress Suivi de l'avancement, mis à jour à chaque étape
+     * @throws IllegalArgumentException si les dates du fichier ne sont pas
+     *                                  croissantes
+     * @throws RuntimeException         si erreur lors du traitement
+     */
+    public void importSalesChunked(InputStreamSource source, ImportScan scan, String fileName,
+            ImportProgress progress) {
+        if (!scan.sorted()) {
+            throw new IllegalArgumentException("L'import par étapes nécessite un fichier trié par date");
+        }
+
+        ChunkedImport chunked = new ChunkedImport(startOrResumeImport(scan, fileName));
+        try {
+            // Création groupée des vendeurs manquants, validée avant les étapes
+            SellerResolver sellerResolver = new SellerResolver(sellerRepository, userRepository);
+            transactionTemplate.executeWithoutResult(
+                    status -> sellerResolver.createMissingSellers(scan.sellerRefs()));
+            SalesLinesWriter writer = new SalesLinesWriter(salesBatchRepository, sellerResolver, BATCH_SIZE, progress);
+
+            // Seconde passe : découpage en étapes de jours entiers
+            progress.setPhase(ImportProgress.Phase.INSERT);
+            LocalDate resumeAfter = chunked.salesImport.getLastCommittedDate();
+            processDataLines(source, progress, line -> {
+                if (resumeAfter != null && !line.date().isAfter(resumeAfter)) {
+                    return;
+                }
+                if (chunked.buffer.size() >= chunkRows && !line.date().equals(chunked.lastDate)) {
+                    commitChunk(chunked, chunked.lastDate, writer);
+                }
+                chunked.buffer.add(line);
+                chunked.lastDate = line.date();
+            });
+
+            // Dernière étape, jusqu'à la fin de la période du fichier
+            if (!chunked.nextDate.isAfter(scan.maxDate())) {
+                commitChunk(chunked, scan.maxDate(), writer);
             }
 
-            newSeller.setCreatedAt(LocalDateTime.now());
-            sellerRepository.save(newSeller);
-            logger.info("Nouveau vendeur ajouté avec la référence : " + sellerRef);
-        }
+            finishImport(chunked, SalesImport.Status.COMPLETED);
+            logger.info("Import par étapes {} terminé pour la période {} - {}",
+                    chunked.salesImport.getId(), scan.minDate(), scan.maxDate());
 
-        // Factures
-        if (type.contains("facture") || type.contains("avoir")) {
-            InvoicesLines invoice = new InvoicesLines();
-            invoice.setDate(date);
-            invoice.setClientId(columns[2]);
-            invoice.setClient(columns[3]);
-            invoice.setInvoiceRef(columns[4]);
-            invoice.setFamily(columns[5]);
-            invoice.setQuantity(Integer.parseInt(columns[6]));
-            invoice.setTotalTtc(Double.parseDouble(columns[8].replace(",", ".")));
-            invoice.setTotalInvoice(Double.parseDouble(columns[12].replace(",", ".")));
-            invoice.setPair(columns[13].isEmpty() ? null : Integer.parseInt(columns[13]));
-            invoice.setStatus(type);
-            invoice.setCreatedAt(LocalDateTime.now());
-
-            Seller seller = sellerRepository.findBySellerRef(sellerRef)
-                    .orElseThrow(() -> new EntityNotFoundException("Vendeur non trouvé: " + sellerRef));
-            invoice.setSeller(seller);
-
-            invoiceBatch.add(invoice);
-            if (invoiceBatch.size() >= BATCH_SIZE) {
-                invoicesLinesRepository.saveAll(invoiceBatch);
-                invoiceBatch.clear();
+        } catch (Exception e) {
+            // Point de reprise conservé : seul le statut est mis à jour
+            boolean interrupted = Thread.interrupted();
+            try {
+                finishImport(chunked, interrupted ? SalesImport.Status.CANCELLED : SalesImport.Status.FAILED);
+            } catch (RuntimeException statusError) {
+                e.addSuppressed(statusError);
             }
-        } else if (type.contains("devis")) {
-            QuotationsLines quotation = new QuotationsLines();
-            quotation.setDate(date);
-            quotation.setClientId(columns[2]);
-            quotation.setClient(columns[3]);
-            quotation.setQuotationRef(columns[4]);
-            quotation.setFamily(columns[5]);
-            quotation.setQuantity(Integer.parseInt(columns[6]));
-            quotation.setTotalTtc(Double.parseDouble(columns[8].replace(",", ".")));
-            quotation.setTotalQuotation(Double.parseDouble(columns[12].replace(",", ".")));
-            quotation.setPair(columns[13].isEmpty() ? null : Integer.parseInt(columns[13]));
-            quotation.setStatus(type);
-            quotation.setCreatedAt(LocalDateTime.now());
-
-            Seller seller = sellerRepository.findBySellerRef(sellerRef)
-                    .orElseThrow(() -> new EntityNotFoundException("Vendeur non trouvé: " + sellerRef));
-            quotation.setSeller(seller);
-
-            quotationBatch.add(quotation);
-            if (quotationBatch.size() >= BATCH_SIZE) {
-                quotationsLinesRepository.saveAll(quotationBatch);
-                quotationBatch.clear();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
             }
+            logger.error("Import par étapes {} interrompu après le {}", chunked.salesImport.getId(),
+                    chunked.salesImport.getLastCommittedDate(), e);
+            throw new RuntimeException("Erreur lors du traitement du lot", e);
+        }
+    }
+
+    /**
+     * État d'un import par étapes en cours
+     */
+    private static final class ChunkedImport {
+
+        /**
+         * Import suivi en base (point de reprise)
+         */
+        private SalesImport salesImport;
+
+        /**
+         * Premier jour non encore validé
+         */
+        private LocalDate nextDate;
+
+        /**
+         * Lignes de l'étape en cours
+         */
+        private final List<SalesCsvLine> buffer = new ArrayList<>();
+
+        /**
+         * Date de la dernière ligne ajoutée à l'étape
+         */
+        private LocalDate lastDate;
+
+        private ChunkedImport(SalesImport salesImport) {
+            this.salesImport = salesImport;
+            this.nextDate = salesImport.getLastCommittedDate() != null
+                    ? salesImport.getLastCommittedDate().plusDays(1)
+                    : salesImport.getStartDate();
         }
     }
 
     /**
-     * Sauvegarde les derniers lots de factures et devis s'il y en a
+     * Crée le suivi d'un import par étapes ou reprend un import inachevé
+     * 
+     * Le point de reprise est abandonné si un autre import a écrit sur les
+     * jours déjà validés depuis (voir
+     * {@link SalesImportRepository#existsWriteSince}) : ces jours ne
+     * contiennent plus les données du fichier.
+     * 
+     * @param scan     Résultat de la première passe
+     * @param fileName Nom du fichier importé
+     * @return Import suivi, avec son point de reprise éventuel
+     */
+    private SalesImport startOrResumeImport(ImportScan scan, String fileName) {
+        return transactionTemplate.execute(status -> {
+            SalesImport salesImport = salesImportRepository
+                    .findFirstByChecksumAndStatusInOrderByIdDesc(scan.checksum(), List.of(
+                            SalesImport.Status.IN_PROGRESS, SalesImport.Status.FAILED,
+                            SalesImport.Status.CANCELLED))
+                    .orElse(null);
+
+            if (salesImport == null) {
+                salesImport = new SalesImport(fileName, SalesImport.Mode.CHUNKED, scan.checksum(),
+                        scan.minDate(), scan.maxDate());
+            } else {
+                if (salesImport.getLastCommittedDate() != null && salesImportRepository.existsWriteSince(
+                        salesImport.getId(), salesImport.getStartDate(), salesImport.getLastCommittedDate(),
+                        salesImport.getUpdatedAt())) {
+                    // Jours validés réécrits depuis par un autre import : reprise au début
+                    logger.warn("Import par étapes {} : jours validés jusqu'au {} réécrits depuis par un autre "
+                            + "import, reprise au début", salesImport.getId(), salesImport.getLastCommittedDate());
+                    salesImport.setLastCommittedDate(null);
+                    salesImport.setInvoicesLines(0);
+                    salesImport.setQuotationsLines(0);
+                } else {
+                    logger.info("Reprise de l'import par étapes {} après le {}", salesImport.getId(),
+                            salesImport.getLastCommittedDate());
+                }
+                salesImport.setStatus(SalesImport.Status.IN_PROGRESS);
+                salesImport.setUpdatedAt(LocalDateTime.now());
+            }
+            return salesImportRepository.save(salesImport);
+        });
+    }
+
+    /**
+     * Valide une étape : réécriture de ses jours et avancée du point de reprise
      * 
-     * @param invoiceBatch   Lot de factures à sauvegarder
-     * @param quotationBatch Lot de devis à sauvegarder
+     * @param chunked Import par étapes en cours
+     * @param endDate Dernier jour de l'étape
+     * @param writer  Écriture par lots des lignes
+     * @throws CancellationException si l'import a été annulé
      */
-    private void saveFinalBatches(List<InvoicesLines> invoiceBatch, List<QuotationsLines> quotationBatch) {
-        // Sauvegarder les derniers lots
-        if (!invoiceBatch.isEmpty()) {
-            invoicesLinesRepository.saveAll(invoiceBatch);
+    private void commitChunk(ChunkedImport chunked, LocalDate endDate, SalesLinesWriter writer) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Import annulé");
         }
-        if (!quotationBatch.isEmpty()) {
-            quotationsLinesRepository.saveAll(quotationBatch);
+
+        LocalDate startDate = chunked.nextDate;
+        long invoicesWritten = writer.getInvoicesWrittenCount();
+        long quotationsWritten = writer.getQuotationsWrittenCount();
+        chunked.salesImport = transactionTemplate.execute(status -> {
+            Set<String> spanningRefs = deleteExistingData(startDate, endDate);
+            chunked.buffer.forEach(writer::add);
+            writer.flush();
+            createAggregatedEntities(startDate, endDate, spanningRefs);
+
+            chunked.salesImport.setLastCommittedDate(endDate);
+            chunked.salesImport.setInvoicesLines(chunked.salesImport.getInvoicesLines()
+                    + (int) (writer.getInvoicesWrittenCount() - invoicesWritten));
+            chunked.salesImport.setQuotationsLines(chunked.salesImport.getQuotationsLines()
+                    + (int) (writer.getQuotationsWrittenCount() - quotationsWritten));
+            chunked.salesImport.setUpdatedAt(LocalDateTime.now());
+            return salesImportRepository.save(chunked.salesImport);
+        });
+
+        logger.info("Étape validée : {} - {} ({} lignes)", startDate, endDate, chunked.buffer.size());
+        chunked.buffer.clear();
+        chunked.nextDate = endDate.plusDays(1);
+    }
+
+    /**
+     * Enregistre le statut final d'un import par étapes
+     * 
+     * @param chunked Import par étapes
+     * @param status  Statut final
+     */
+    private void finishImport(ChunkedImport chunked, SalesImport.Status status) {
+        chunked.salesImport.setStatus(status);
+        chunked.salesImport.setUpdatedAt(LocalDateTime.now());
+        chunked.salesImport = transactionTemplate.execute(tx -> salesImportRepository.save(chunked.salesImport));
+    }
+
+    // ===== TRAITEMENT DES LIGNES =====
+
+    /**
+     * Analyse toutes les lignes de données et les transmet dans l'ordre
+     * 
+     * Pipeline d'import :
+     * - Le thread appelant lit le fichier et découpe les lignes en morceaux
+     * - Chaque morceau est analysé par un worker du pool
+     * - Les morceaux analysés sont repris dans l'ordre de soumission par le
+     * thread appelant, seul à écrire en base (il détient la transaction)
+     * 
+     * Le nombre de morceaux en cours est borné : la lecture attend l'écriture
+     * du plus ancien morceau lorsque la limite est atteinte.
+     * 
+     * @param source      Source du fichier CSV
+     * @param progress    Suivi des lignes analysées et rejetées (null pour une
+     *                    passe déjà comptabilisée)
+     * @param lineHandler Traitement de chaque ligne analysée (thread appelant)
+     * @throws IOException si erreur de lecture
+     */
+    void processDataLines(InputStreamSource source, ImportProgress progress,
+            Consumer<SalesCsvLine> lineHandler) throws IOException {
+        Deque<Future<List<SalesCsvLine>>> pendingChunks = new ArrayDeque<>();
+        List<List<String>> currentChunk = new ArrayList<>(1);
+        currentChunk.add(new ArrayList<>(PARSE_CHUNK_SIZE));
+
+        try {
+            // Lecture et soumission des morceaux au fil du fichier
+            forEachDataLine(source, line -> {
+                currentChunk.get(0).add(line);
+                if (currentChunk.get(0).size() >= PARSE_CHUNK_SIZE) {
+                    submitChunk(currentChunk.get(0), pendingChunks, progress);
+                    currentChunk.set(0, new ArrayList<>(PARSE_CHUNK_SIZE));
+                    // Écriture du plus ancien morceau si la limite est atteinte
+                    if (pendingChunks.size() >= MAX_CHUNKS_IN_FLIGHT) {
+                        awaitChunk(pendingChunks.poll()).forEach(lineHandler);
+                    }
+                }
+            });
+            if (!currentChunk.get(0).isEmpty()) {
+                submitChunk(currentChunk.get(0), pendingChunks, progress);
+            }
+
+            // Écriture des morceaux restants dans l'ordre du fichier
+            while (!pendingChunks.isEmpty()) {
+                awaitChunk(pendingChunks.poll()).forEach(lineHandler);
+            }
+        } finally {
+            // Abandon des analyses en cours en cas d'erreur d'écriture
+            pendingChunks.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Soumet un morceau de lignes brutes au pool d'analyse
+     * 
+     * @param chunk         Lignes brutes du morceau
+     * @param pendingChunks File des morceaux en cours, dans l'ordre du fichier
+     * @param progress      Suivi des lignes analysées et rejetées (peut être
+     *                      null)
+     */
+    private void submitChunk(List<String> chunk, Deque<Future<List<SalesCsvLine>>> pendingChunks,
+            ImportProgress progress) {
+        pendingChunks.add(salesParseExecutor.submit(() -> {
+            if (progress == null) {
+                return SalesCsvParser.parseAll(chunk, error -> {
+                });
+            }
+            List<SalesCsvLine> parsed = SalesCsvParser.parseAll(chunk, progress::addError);
+            progress.addRowsParsed(chunk.size());
+            return parsed;
+        }));
+    }
+
+    /**
+     * Attend le résultat de l'analyse d'un morceau
+     * 
+     * @param future Analyse en cours
+     * @return Lignes analysées du morceau
+     */
+    private List<SalesCsvLine> awaitChunk(Future<List<SalesCsvLine>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrompu pendant l'analyse du fichier", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Erreur lors de l'analyse du fichier", e.getCause());
         }
     }
 
@@ -372,84 +879,49 @@ public class SalesService {
     /**
      * Crée les entrées agrégées de devis et factures pour la période spécifiée
      * 
-     * @param startDate Date de début de la période
-     * @param endDate   Date de fin de la période
+     * Les agrégats journaliers des statistiques sont recalculés en dernier, à
+     * partir des devis et factures obtenus, y compris aux dates hors période
+     * des factures reconstruites. La modification de la période (étendue à
+     * ces dates) est publiée ({@link SalesDataChangedEvent}), reçue par les
+     * abonnés après validation de la transaction en cours.
+     * 
+     * @param startDate    Date de début de la période
+     * @param endDate      Date de fin de la période
+     * @param spanningRefs Factures à cheval sur la période, relevées avant la
+     *                     suppression de ses lignes
      */
-    private void createAggregatedEntities(LocalDate startDate, LocalDate endDate) {
+    private void createAggregatedEntities(LocalDate startDate, LocalDate endDate, Set<String> spanningRefs) {
         createQuotationsEntries(startDate, endDate);
-        createInvoicesEntries(startDate, endDate);
+        SortedSet<LocalDate> datesOutsidePeriod = createInvoicesEntries(startDate, endDate, spanningRefs);
+        createDailyRollup(startDate, endDate);
+        for (LocalDate[] range : toContiguousRanges(datesOutsidePeriod)) {
+            createDailyRollup(range[0], range[1]);
+        }
+
+        LocalDate firstDate = datesOutsidePeriod.isEmpty() || startDate.isBefore(datesOutsidePeriod.first())
+                ? startDate
+                : datesOutsidePeriod.first();
+        LocalDate lastDate = datesOutsidePeriod.isEmpty() || endDate.isAfter(datesOutsidePeriod.last())
+                ? endDate
+                : datesOutsidePeriod.last();
+        eventPublisher.publishEvent(new SalesDataChangedEvent(firstDate, lastDate));
     }
 
     /**
      * Crée les entrées agrégées de devis pour la période spécifiée
      * 
+     * Regroupement par client et date des lignes de verres, effectué en base
+     * (voir {@link SalesBatchRepository#mergeQuotations}) : les devis
+     * existants voient leur statut de validation mis à jour, les autres
+     * groupes donnent lieu à un nouveau devis.
+     * 
      * @param startDate Date de début de la période
      * @param endDate   Date de fin de la période
      */
     private void createQuotationsEntries(LocalDate startDate, LocalDate endDate) {
         try {
-            List<QuotationsLines> imports = quotationsLinesRepository
-                    .findByDateBetweenAndFamilyInFetchSeller(startDate, endDate, Arrays.asList("VER"));
-
-            // log
-            logger.info("Premier seller chargé: {}",
-                    !imports.isEmpty() && imports.get(0).getSeller() != null
-                            ? imports.get(0).getSeller().getSellerRef()
-                            : "NULL");
-
-            if (!imports.isEmpty()) {
-                QuotationsLines firstLine = imports.get(0);
-                logger.info("Première ligne: quotationRef={}, seller={}, sellerObject={}",
-                        firstLine.getQuotationRef(),
-                        firstLine.getSeller() != null ? firstLine.getSeller().getSellerRef() : "NULL",
-                        firstLine.getSeller());
-            }
-
-            // Grouper les imports par clientId et date
-            Map<String, Map<LocalDate, List<QuotationsLines>>> groupedQuotations = imports.stream()
-                    .collect(Collectors.groupingBy(QuotationsLines::getClientId,
-                            Collectors.groupingBy(QuotationsLines::getDate)));
-
-            List<Quotations> quotationsList = new ArrayList<>();
-
-            groupedQuotations.forEach((clientId, dateMap) -> {
-                dateMap.forEach((date, quotationImports) -> {
-                    List<Quotations> existingQuotations = quotationsRepository.findByClientIdAndDate(clientId, date);
-
-                    if (!existingQuotations.isEmpty()) {
-                        // Mise à jour des devis existants si nécessaire
-                        boolean hasValidatedQuotation = quotationImports.stream()
-                                .anyMatch(q -> "devis validé".equalsIgnoreCase(q.getStatus()));
-
-                        existingQuotations.forEach(quotation -> {
-                            quotation.setIsValidated(hasValidatedQuotation);
-                            quotationsRepository.save(quotation);
-                        });
-                    } else {
-                        // Création d'un nouveau devis
-                        Quotations quotation = new Quotations();
-                        quotation.setDate(date);
-                        quotation.setClientId(clientId);
-                        quotation.setClient(quotationImports.get(0).getClient());
-                        quotation.setSeller(quotationImports.get(0).getSeller());
-
-                        boolean hasValidatedQuotation = quotationImports.stream()
-                                .anyMatch(q -> "devis validé".equalsIgnoreCase(q.getStatus()));
-                        quotation.setIsValidated(hasValidatedQuotation);
-
-                        quotation.setCreatedAt(LocalDateTime.now());
-                        quotationsList.add(quotation);
-                    }
-                });
-            });
-
-            // Sauvegarder les nouveaux devis par lots
-            if (!quotationsList.isEmpty()) {
-                for (int i = 0; i < quotationsList.size(); i += BATCH_SIZE) {
-                    int end = Math.min(i + BATCH_SIZE, quotationsList.size());
-                    quotationsRepository.saveAll(quotationsList.subList(i, end));
-                }
-            }
+            int created = salesBatchRepository.mergeQuotations(startDate, endDate);
+            logger.info("Création de {} devis entre {} et {}", created, startDate, endDate);
         } catch (Exception e) {
             logger.error("Erreur lors de la création des entrées de devis", e);
             throw new RuntimeException("Erreur lors de la création des entrées de devis", e);
@@ -459,65 +931,47 @@ public class SalesService {
     /**
      * Crée les entrées agrégées de factures pour la période spécifiée
      * 
-     * @param startDate Date de début de la période
-     * @param endDate   Date de fin de la période
+     * Les factures ayant des lignes dans la période sont supprimées puis
+     * recréées en base, une par référence à partir de toutes ses lignes
+     * (voir {@link SalesBatchRepository#rebuildInvoices}).
+     * 
+     * @param startDate    Date de début de la période
+     * @param endDate      Date de fin de la période
+     * @param spanningRefs Factures à cheval sur la période
+     * @return Dates hors période des factures reconstruites
      */
-    private void createInvoicesEntries(LocalDate startDate, LocalDate endDate) {
+    private SortedSet<LocalDate> createInvoicesEntries(LocalDate startDate, LocalDate endDate,
+            Set<String> spanningRefs) {
         try {
-            logger.info("Création des entrées de factures entre {} et {}", startDate, endDate);
-
-            // Récupérer toutes les lignes de factures avec les vendeurs pour la période
-            List<InvoicesLines> imports = invoicesLinesRepository
-                    .findByDateBetweenWithSeller(startDate, endDate);
-
-            logger.info("Nombre de lignes de factures récupérées: {}", imports.size());
-
-            // Supprimer d'abord toutes les factures existantes de la période
-            invoicesRepository.deleteByDateBetween(startDate, endDate);
-
-            // Grouper les imports par référence de facture
-            Map<String, List<InvoicesLines>> groupedInvoices = imports.stream()
-                    .collect(Collectors.groupingBy(InvoicesLines::getInvoiceRef));
-
-            // Créer une liste pour stocker les nouvelles factures
-            List<Invoices> invoicesList = new ArrayList<>();
-
-            // Traiter chaque groupe
-            groupedInvoices.forEach((invoiceRef, invoiceLines) -> {
-                // Prendre la première ligne pour l'information commune
-                InvoicesLines firstLine = invoiceLines.get(0);
-
-                // Vérifier si au moins une ligne concerne des verres (famille VER)
-                boolean isOptical = invoiceLines.stream()
-                        .anyMatch(line -> "VER".equalsIgnoreCase(line.getFamily()));
-
-                // Créer une nouvelle facture
-                Invoices invoice = new Invoices();
-                invoice.setDate(firstLine.getDate());
-                invoice.setClientId(firstLine.getClientId());
-                invoice.setClient(firstLine.getClient());
-                invoice.setInvoiceRef(invoiceRef);
-                invoice.setSeller(firstLine.getSeller());
-                invoice.setTotalInvoice(firstLine.getTotalInvoice());
-                invoice.setStatus(firstLine.getStatus());
-                invoice.setIsOptical(isOptical);
-                invoice.setCreatedAt(LocalDateTime.now());
-
-                invoicesList.add(invoice);
-            });
-
-            // Sauvegarder par lots
-            if (!invoicesList.isEmpty()) {
-                logger.info("Création de {} factures", invoicesList.size());
-                for (int i = 0; i < invoicesList.size(); i += BATCH_SIZE) {
-                    int end = Math.min(i + BATCH_SIZE, invoicesList.size());
-                    invoicesRepository.saveAll(invoicesList.subList(i, end));
-                }
-            }
-
+            SalesBatchRepository.InvoicesRebuild rebuild = salesBatchRepository.rebuildInvoices(startDate, endDate,
+                    spanningRefs);
+            logger.info("Création de {} factures entre {} et {}", rebuild.created(), startDate, endDate);
+            return rebuild.datesOutsidePeriod();
         } catch (Exception e) {
             logger.error("Erreur lors de la création des entrées de factures", e);
             throw new RuntimeException("Erreur lors de la création des entrées de factures", e);
         }
     }
+
+    /**
+     * Recalcule les agrégats journaliers par vendeur pour la période spécifiée,
+     * puis le chiffre d'affaires mensuel des mois qu'elle couvre
+     * 
+     * Voir {@link SalesBatchRepository#rebuildDailyRollup} et
+     * {@link SalesBatchRepository#rebuildMonthlyRevenue}.
+     * 
+     * @param startDate Date de début de la période
+     * @param endDate   Date de fin de la période
+     */
+    private void createDailyRollup(LocalDate startDate, LocalDate endDate) {
+        try {
+            int created = salesBatchRepository.rebuildDailyRollup(startDate, endDate);
+            int months = salesBatchRepository.rebuildMonthlyRevenue(startDate, endDate);
+            logger.info("Calcul de {} agrégats journaliers et {} agrégats mensuels entre {} et {}",
+                    created, months, startDate, endDate);
+        } catch (Exception e) {
+            logger.error("Erreur lors du calcul des agrégats journaliers", e);
+            throw new RuntimeException("Erreur lors du calcul des agrégats journaliers", e);
+        }
+    }
 }
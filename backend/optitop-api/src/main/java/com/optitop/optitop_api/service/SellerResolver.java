@@ -0,0 +1,148 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.model.Seller;
+import com.optitop.optitop_api.model.User;
+
+// ===== IMPORTS REPOSITORIES =====
+import com.optitop.optitop_api.repository.SellerRepository;
+import com.optitop.optitop_api.repository.UserRepository;
+
+// ===== IMPORTS UTILITAIRES =====
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Résolution des vendeurs pour la durée d'un import de ventes
+ *
+ * Remplace les requêtes unitaires exécutées pour chaque ligne CSV :
+ * - Chargement de tous les vendeurs en une seule requête
+ * - Création en lot des vendeurs manquants avec association aux
+ * utilisateurs de même login
+ * - Résolution des références depuis une map en mémoire
+ *
+ * Instance non partagée : créée au début d'un import et abandonnée à la fin.
+ */
+public class SellerResolver {
+
+    // ===== CONSTANTES =====
+
+    /**
+     * Logger pour tracer les créations de vendeurs
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SellerResolver.class);
+
+    // ===== DÉPENDANCES =====
+
+    /**
+     * Repository pour la gestion des vendeurs
+     */
+    private final SellerRepository sellerRepository;
+
+    /**
+     * Repository pour la recherche des utilisateurs associés
+     */
+    private final UserRepository userRepository;
+
+    // ===== ÉTAT DE L'IMPORT =====
+
+    /**
+     * Vendeurs connus indexés par référence
+     */
+    private final Map<String, Seller> sellersByRef;
+
+    // ===== CONSTRUCTEUR =====
+
+    /**
+     * Crée le résolveur et charge tous les vendeurs existants
+     *
+     * @param sellerRepository Repository des vendeurs
+     * @param userRepository   Repository des utilisateurs
+     */
+    public SellerResolver(SellerRepository sellerRepository, UserRepository userRepository) {
+        this.sellerRepository = sellerRepository;
+        this.userRepository = userRepository;
+        this.sellersByRef = sellerRepository.findAll().stream()
+                .collect(Collectors.toMap(Seller::getSellerRef, Function.identity(), (s1, s2) -> s1, HashMap::new));
+        logger.debug("{} vendeurs chargés pour l'import", sellersByRef.size());
+    }
+
+    // ===== OPÉRATIONS =====
+
+    /**
+     * Crée en une seule fois tous les vendeurs absents de la base
+     *
+     * Les utilisateurs dont le login correspond à une nouvelle référence
+     * sont récupérés en une requête et associés au vendeur créé.
+     *
+     * @param sellerRefs Références vendeurs rencontrées dans le fichier
+     */
+    public void createMissingSellers(Collection<String> sellerRefs) {
+        List<String> missingRefs = sellerRefs.stream()
+                .filter(ref -> !sellersByRef.containsKey(ref))
+                .distinct()
+                .collect(Collectors.toList());
+        if (missingRefs.isEmpty()) {
+            return;
+        }
+
+        // Recherche groupée des utilisateurs portant le même login
+        Map<String, User> usersByLogin = userRepository.findByLoginIn(missingRefs).stream()
+                .collect(Collectors.toMap(User::getLogin, Function.identity()));
+
+        List<Seller> newSellers = new ArrayList<>(missingRefs.size());
+        for (String sellerRef : missingRefs) {
+            newSellers.add(buildSeller(sellerRef, usersByLogin.get(sellerRef)));
+        }
+
+        sellerRepository.saveAll(newSellers)
+                .forEach(seller -> sellersByRef.put(seller.getSellerRef(), seller));
+        logger.info("{} nouveaux vendeurs ajoutés : {}", newSellers.size(), missingRefs);
+    }
+
+    /**
+     * Retourne le vendeur correspondant à une référence
+     *
+     * Crée le vendeur à la volée s'il n'a pas été rencontré lors de la
+     * création en lot (cas d'une ligne ignorée lors de la première passe).
+     *
+     * @param sellerRef Référence du vendeur
+     * @return Vendeur correspondant
+     */
+    public Seller resolve(String sellerRef) {
+        Seller seller = sellersByRef.get(sellerRef);
+        if (seller == null) {
+            seller = sellerRepository.save(buildSeller(sellerRef, userRepository.findByLogin(sellerRef)));
+            sellersByRef.put(sellerRef, seller);
+            logger.info("Nouveau vendeur ajouté avec la référence : {}", sellerRef);
+        }
+        return seller;
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Construit un nouveau vendeur associé à l'utilisateur de même login
+     *
+     * @param sellerRef    Référence du vendeur
+     * @param matchingUser Utilisateur de même login (peut être null)
+     * @return Vendeur non encore persisté
+     */
+    private Seller buildSeller(String sellerRef, User matchingUser) {
+        Seller newSeller = new Seller(sellerRef);
+        if (matchingUser != null) {
+            newSeller.setUser(matchingUser);
+            logger.info("Associé le vendeur {} à l'utilisateur {}", sellerRef, matchingUser.getLogin());
+        }
+        return newSeller;
+    }
+}
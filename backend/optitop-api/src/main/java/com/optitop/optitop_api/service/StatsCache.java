@@ -0,0 +1,146 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS CAFFEINE =====
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// ===== IMPORTS UTILITAIRES =====
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache en mémoire des statistiques des tableaux de bord
+ *
+ * Les statistiques ne changent qu'à l'import d'un fichier de ventes, alors
+ * que chaque affichage des tableaux de bord les redemande. Les résultats sont
+ * conservés par (statistique, période) avec :
+ * - Un nombre maximal d'entrées (optitop.stats-cache.max-size)
+ * - Une durée de vie maximale (optitop.stats-cache.ttl)
+ *
+ * Après validation d'une modification des données
+ * ({@link SalesDataChangedEvent}), seules les entrées dont la période
+ * chevauche la période modifiée sont retirées.
+ *
+ * Un résultat calculé pendant une invalidation n'est pas conservé : il
+ * peut avoir été lu avant la validation des nouvelles données.
+ *
+ * Une même instance est retournée à tous les appelants : les calculs
+ * retournent des valeurs non modifiables (List.copyOf, Map.copyOf, DTO
+ * sans setter dont les listes sont copiées).
+ */
+@Component
+public class StatsCache {
+
+    // ===== CONSTANTES =====
+
+    /**
+     * Logger pour tracer les invalidations
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StatsCache.class);
+
+    // ===== TYPES =====
+
+    /**
+     * Clé d'une statistique mise en cache
+     *
+     * @param name      Nom de la statistique
+     * @param startDate Début de la période des données lues
+     * @param endDate   Fin de la période des données lues
+     */
+    private record Key(String name, LocalDate startDate, LocalDate endDate) {
+
+        /**
+         * @param start Date de début d'une période modifiée
+         * @param end   Date de fin d'une période modifiée
+         * @return true si la période de la clé a au moins un jour en commun
+         */
+        private boolean overlaps(LocalDate start, LocalDate end) {
+            return !startDate.isAfter(end) && !start.isAfter(endDate);
+        }
+    }
+
+    // ===== ÉTAT =====
+
+    /**
+     * Résultats conservés
+     */
+    private final Cache<Key, Object> cache;
+
+    /**
+     * Nombre d'invalidations, pour écarter les calculs concurrents
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Constructeur avec configuration du cache
+     *
+     * @param maxSize Nombre maximal d'entrées
+     * @param ttl     Durée de vie d'une entrée
+     */
+    public StatsCache(@Value("${optitop.stats-cache.max-size:1000}") long maxSize,
+            @Value("${optitop.stats-cache.ttl:PT30M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // ===== LECTURE =====
+
+    /**
+     * Retourne une statistique depuis le cache ou la calcule
+     *
+     * @param name      Nom de la statistique
+     * @param startDate Début de la période des données lues
+     * @param endDate   Fin de la période des données lues
+     * @param loader    Calcul de la statistique, valeur non modifiable
+     * @return Statistique (instance partagée, non modifiable)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name, LocalDate startDate, LocalDate endDate, Supplier<T> loader) {
+        Key key = new Key(name, startDate, endDate);
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long generation = invalidations.get();
+        T value = loader.get();
+        if (value != null && invalidations.get() == generation) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    // ===== INVALIDATION =====
+
+    /**
+     * Retire les statistiques portant sur une période modifiée
+     *
+     * Exécuté après validation de la transaction qui a publié l'événement,
+     * ou immédiatement s'il est publié hors transaction, avant le
+     * rechargement de la version des données ({@link SalesCatalog}).
+     *
+     * @param event Période modifiée
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSalesDataChanged(SalesDataChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.overlaps(event.startDate(), event.endDate()));
+        logger.debug("Statistiques en cache invalidées entre {} et {}", event.startDate(), event.endDate());
+    }
+}
@@ -0,0 +1,52 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS SPRING FRAMEWORK =====
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Exécution des requêtes indépendantes d'un calcul de statistiques
+ *
+ * Lorsque optitop.stats.concurrent-queries est activé (profil virtual), les
+ * requêtes sont lancées en parallèle sur l'exécuteur à threads virtuels
+ * {@code statsExecutor} ; chacune occupe alors sa propre connexion. Sinon
+ * elles s'exécutent immédiatement dans le thread appelant, l'une après
+ * l'autre.
+ */
+@Component
+public class StatsQueryRunner {
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    @Qualifier("statsExecutor")
+    private ExecutorService statsExecutor;
+
+    /**
+     * Lance les requêtes indépendantes en parallèle
+     */
+    @Value("${optitop.stats.concurrent-queries:false}")
+    private boolean concurrentQueries;
+
+    // ===== EXÉCUTION =====
+
+    /**
+     * Lance une requête
+     *
+     * @param query Requête à exécuter
+     * @return Résultat de la requête, déjà disponible en mode séquentiel
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        if (!concurrentQueries) {
+            return CompletableFuture.completedFuture(query.get());
+        }
+        return CompletableFuture.supplyAsync(query, statsExecutor);
+    }
+}
@@ -0,0 +1,49 @@
+package com.optitop.optitop_api.utils;
+
+import java.time.LocalDate;
+
+/**
+ * Ligne de vente issue de l'export CSV, analysée et validée
+ *
+ * Représentation immuable d'une ligne de facture, d'avoir ou de devis,
+ * produite par les workers d'analyse et consommée par l'écriture en base.
+ *
+ * @param date          Date de la pièce
+ * @param clientId      Identifiant du client
+ * @param client        Nom du client
+ * @param reference     Référence de la facture ou du devis
+ * @param family        Famille de produit (MON, VER...)
+ * @param quantity      Quantité
+ * @param totalTtc      Montant TTC de la ligne
+ * @param documentTotal Montant total de la facture ou du devis
+ * @param pair          Numéro de paire (null si non renseigné)
+ * @param type          Type de pièce en minuscules (facture, avoir, devis...)
+ * @param sellerRef     Référence du vendeur
+ */
+public record SalesCsvLine(
+        LocalDate date,
+        String clientId,
+        String client,
+        String reference,
+        String family,
+        int quantity,
+        double totalTtc,
+        double documentTotal,
+        Integer pair,
+        String type,
+        String sellerRef) {
+
+    /**
+     * @return true si la ligne appartient à une facture ou un avoir
+     */
+    public boolean isInvoice() {
+        return type.contains("facture") || type.contains("avoir");
+    }
+
+    /**
+     * @return true si la ligne appartient à un devis
+     */
+    public boolean isQuotation() {
+        return type.contains("devis");
+    }
+}
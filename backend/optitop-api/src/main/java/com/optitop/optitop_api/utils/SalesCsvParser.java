@@ -0,0 +1,60 @@
+package com.optitop.optitop_api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Analyse des lignes de l'export CSV des ventes
+ *
+ * Format attendu (séparateur point-virgule, 15 colonnes) :
+ * Date;C.;Num client;Client;Référence;Famille;Quantité;...;Total TTC;...;
+ * Vendeur;...;Total facture/devis;Paire;Type
+ *
+ * Le découpage des champs est délégué à {@link SalesCsvTokenizer}.
+ *
+ * Sans état : peut être utilisée simultanément par plusieurs threads.
+ */
+public final class SalesCsvParser {
+
+    // ===== CONSTANTES =====
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesCsvParser.class);
+
+    private SalesCsvParser() {
+    }
+
+    // ===== ANALYSE =====
+
+    /**
+     * Analyse un lot de lignes CSV
+     *
+     * Un découpeur dédié est utilisé pour chaque lot : l'analyse de lots
+     * différents peut se faire en parallèle.
+     *
+     * Les lignes invalides (ligne de totaux, colonnes manquantes, valeurs
+     * non numériques) sont tracées, signalées puis ignorées, comme lors d'un
+     * import ligne à ligne.
+     *
+     * @param lines        Lignes brutes, dans l'ordre du fichier
+     * @param errorHandler Reçoit la description de chaque ligne rejetée
+     * @return Lignes valides, dans le même ordre
+     */
+    public static List<SalesCsvLine> parseAll(List<String> lines, Consumer<String> errorHandler) {
+        SalesCsvTokenizer tokenizer = new SalesCsvTokenizer();
+        List<SalesCsvLine> parsed = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            try {
+                tokenizer.load(line);
+                parsed.add(tokenizer.toSalesLine());
+            } catch (Exception e) {
+                logger.error("Erreur lors du traitement de la ligne : {}", line, e);
+                errorHandler.accept("Ligne ignorée (" + e.getMessage() + ") : " + line);
+            }
+        }
+        return parsed;
+    }
+}
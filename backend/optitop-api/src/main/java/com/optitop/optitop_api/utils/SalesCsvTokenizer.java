@@ -0,0 +1,387 @@
+package com.optitop.optitop_api.utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Découpage des lignes de l'export CSV des ventes sans allocation
+ *
+ * Spécialisé pour le format fixe de 15 colonnes séparées par des
+ * points-virgules :
+ * - La ligne est copiée dans un tampon de caractères réutilisé
+ * - Les champs sont repérés par leurs positions de début et de fin
+ * - Dates (dd/MM/yyyy), entiers et décimaux à virgule (119,00) sont lus
+ * directement depuis les caractères
+ * - Les valeurs peu variées (type, famille, vendeur) sont mises en cache
+ * pour éviter de recréer les mêmes chaînes à chaque ligne
+ *
+ * Instance non partagée : une instance par thread d'analyse.
+ */
+public final class SalesCsvTokenizer {
+
+    // ===== CONSTANTES DU FORMAT =====
+
+    /**
+     * Séparateur de colonnes
+     */
+    private static final char SEPARATOR = ';';
+
+    /**
+     * Nombre de colonnes de l'export
+     */
+    public static final int COLUMN_COUNT = 15;
+
+    /**
+     * Index de la colonne contenant la date de la pièce
+     */
+    public static final int DATE_COLUMN = 0;
+
+    /**
+     * Index de la colonne contenant la référence vendeur
+     */
+    public static final int SELLER_REF_COLUMN = 10;
+
+    /**
+     * Index de la dernière colonne (type de pièce : facture, avoir, devis)
+     */
+    public static final int TYPE_COLUMN = 14;
+
+    /**
+     * Nombre maximal de chiffres lus sans risque de dépassement sur un long
+     */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    /**
+     * Puissances de 10 exactement représentables en double
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15 };
+
+    /**
+     * Nombre maximal de valeurs distinctes conservées par cache de chaînes
+     */
+    private static final int MAX_CACHED_VALUES = 64;
+
+    // ===== ÉTAT DE LA LIGNE COURANTE =====
+
+    /**
+     * Tampon contenant les caractères de la ligne courante
+     */
+    private char[] buffer = new char[256];
+
+    /**
+     * Position de début de chaque champ dans le tampon
+     */
+    private final int[] fieldStarts = new int[COLUMN_COUNT];
+
+    /**
+     * Position de fin (exclue) de chaque champ dans le tampon
+     */
+    private final int[] fieldEnds = new int[COLUMN_COUNT];
+
+    /**
+     * Nombre de champs repérés dans la ligne courante
+     */
+    private int fieldCount;
+
+    // ===== CACHES DE CHAÎNES =====
+
+    private final List<String> typeKeys = new ArrayList<>();
+    private final List<String> typeValues = new ArrayList<>();
+    private final List<String> familyValues = new ArrayList<>();
+    private final List<String> sellerRefValues = new ArrayList<>();
+
+    // ===== DÉCOUPAGE =====
+
+    /**
+     * Charge une ligne et repère ses champs
+     *
+     * Seuls les {@link #COLUMN_COUNT} premiers champs sont repérés, les
+     * suivants sont ignorés.
+     *
+     * @param line Ligne CSV brute
+     * @return Nombre de champs repérés
+     */
+    public int load(String line) {
+        int length = line.length();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+        line.getChars(0, length, buffer, 0);
+
+        fieldCount = 0;
+        int start = 0;
+        for (int i = 0; i < length && fieldCount < COLUMN_COUNT; i++) {
+            if (buffer[i] == SEPARATOR) {
+                fieldStarts[fieldCount] = start;
+                fieldEnds[fieldCount] = i;
+                fieldCount++;
+                start = i + 1;
+            }
+        }
+        if (fieldCount < COLUMN_COUNT) {
+            fieldStarts[fieldCount] = start;
+            fieldEnds[fieldCount] = length;
+            fieldCount++;
+        }
+        return fieldCount;
+    }
+
+    /**
+     * Indique si un champ de la ligne courante est absent ou vide
+     *
+     * @param field Index du champ
+     * @return true si le champ est absent ou vide
+     */
+    public boolean isEmpty(int field) {
+        return field >= fieldCount || fieldStarts[field] == fieldEnds[field];
+    }
+
+    /**
+     * Construit la ligne de vente à partir de la ligne courante
+     *
+     * @return Ligne analysée
+     * @throws IllegalArgumentException si la ligne est incomplète ou mal formée
+     */
+    public SalesCsvLine toSalesLine() {
+        if (isEmpty(TYPE_COLUMN)) {
+            throw new IllegalArgumentException("Type de pièce absent (colonne " + TYPE_COLUMN + ")");
+        }
+
+        return new SalesCsvLine(
+                parseDate(),
+                text(2),
+                text(3),
+                text(4),
+                cachedText(5, familyValues),
+                parseInt(6),
+                parseDecimal(8),
+                parseDecimal(12),
+                isEmpty(13) ? null : parseInt(13),
+                type(),
+                sellerRef());
+    }
+
+    // ===== LECTURE DES CHAMPS =====
+
+    /**
+     * Lit la date de la pièce au format dd/MM/yyyy
+     *
+     * Résolution identique à DateTimeFormatter (mode SMART) : un jour de 29
+     * à 31 au-delà de la fin du mois est ramené au dernier jour du mois
+     * (31/02/2024 donne le 29/02/2024).
+     *
+     * @return Date de la ligne courante
+     * @throws IllegalArgumentException si la date est absente ou mal formée
+     */
+    public LocalDate parseDate() {
+        int start = fieldStarts[DATE_COLUMN];
+        if (fieldEnds[DATE_COLUMN] - start != 10 || buffer[start + 2] != '/' || buffer[start + 5] != '/') {
+            throw new IllegalArgumentException("Date invalide : '" + text(DATE_COLUMN) + "'");
+        }
+        int day = digits(start, 2);
+        int month = digits(start + 3, 2);
+        int year = digits(start + 6, 4);
+        try {
+            if (day < 1 || day > 31 || year < 1) {
+                throw new IllegalArgumentException("Date hors limites");
+            }
+            LocalDate firstDay = LocalDate.of(year, month, 1);
+            return firstDay.withDayOfMonth(Math.min(day, firstDay.lengthOfMonth()));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Date invalide : '" + text(DATE_COLUMN) + "'", e);
+        }
+    }
+
+    /**
+     * @return Référence vendeur de la ligne courante (chaîne partagée)
+     */
+    public String sellerRef() {
+        return cachedText(SELLER_REF_COLUMN, sellerRefValues);
+    }
+
+    /**
+     * @return Type de pièce de la ligne courante en minuscules (chaîne partagée)
+     */
+    public String type() {
+        int index = indexOf(TYPE_COLUMN, typeKeys);
+        if (index >= 0) {
+            return typeValues.get(index);
+        }
+        String raw = text(TYPE_COLUMN);
+        String value = raw.toLowerCase();
+        if (typeKeys.size() < MAX_CACHED_VALUES) {
+            typeKeys.add(raw);
+            typeValues.add(value);
+        }
+        return value;
+    }
+
+    /**
+     * Lit un entier signé
+     *
+     * @param field Index du champ
+     * @return Valeur entière
+     * @throws NumberFormatException si le champ n'est pas un entier
+     */
+    private int parseInt(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        boolean negative = start < end && buffer[start] == '-';
+        int i = negative || (start < end && buffer[start] == '+') ? start + 1 : start;
+        if (i == end || end - i > 9) {
+            return Integer.parseInt(text(field));
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Entier invalide : '" + text(field) + "'");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Lit un décimal au format français (virgule) ou anglais (point)
+     *
+     * Les valeurs courtes sont calculées exactement (mantisse / 10^échelle,
+     * arrondi identique à Double.parseDouble). Les autres formes (exposant,
+     * espaces, nombre de chiffres élevé) sont déléguées à Double.parseDouble.
+     *
+     * @param field Index du champ
+     * @return Valeur décimale
+     * @throws NumberFormatException si le champ n'est pas un nombre
+     */
+    private double parseDecimal(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        boolean negative = start < end && buffer[start] == '-';
+        int i = negative || (start < end && buffer[start] == '+') ? start + 1 : start;
+
+        long mantissa = 0;
+        int digitCount = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char c = buffer[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digitCount++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if ((c == ',' || c == '.') && scale < 0) {
+                scale = 0;
+            } else {
+                return parseDecimalFallback(field);
+            }
+        }
+        if (digitCount == 0 || digitCount > MAX_FAST_DIGITS) {
+            return parseDecimalFallback(field);
+        }
+
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Lecture d'un décimal par la bibliothèque standard
+     *
+     * @param field Index du champ
+     * @return Valeur décimale
+     */
+    private double parseDecimalFallback(int field) {
+        return Double.parseDouble(text(field).replace(',', '.'));
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Lit un nombre positif de longueur fixe
+     *
+     * @param start  Position du premier chiffre
+     * @param length Nombre de chiffres
+     * @return Valeur lue
+     * @throws IllegalArgumentException si un caractère n'est pas un chiffre
+     */
+    private int digits(int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Date invalide : '" + text(DATE_COLUMN) + "'");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Crée la chaîne correspondant à un champ
+     *
+     * @param field Index du champ
+     * @return Contenu du champ (chaîne vide si absent)
+     */
+    private String text(int field) {
+        if (field >= fieldCount) {
+            return "";
+        }
+        return new String(buffer, fieldStarts[field], fieldEnds[field] - fieldStarts[field]);
+    }
+
+    /**
+     * Retourne le contenu d'un champ en réutilisant une chaîne déjà rencontrée
+     *
+     * @param field  Index du champ
+     * @param values Valeurs déjà rencontrées pour ce champ
+     * @return Contenu du champ
+     */
+    private String cachedText(int field, List<String> values) {
+        int index = indexOf(field, values);
+        if (index >= 0) {
+            return values.get(index);
+        }
+        String value = text(field);
+        if (values.size() < MAX_CACHED_VALUES) {
+            values.add(value);
+        }
+        return value;
+    }
+
+    /**
+     * Recherche une valeur égale au contenu d'un champ, sans créer de chaîne
+     *
+     * @param field  Index du champ
+     * @param values Valeurs candidates
+     * @return Index de la valeur trouvée ou -1
+     */
+    private int indexOf(int field, List<String> values) {
+        int start = field < fieldCount ? fieldStarts[field] : 0;
+        int length = field < fieldCount ? fieldEnds[field] - start : 0;
+        for (int v = 0; v < values.size(); v++) {
+            String candidate = values.get(v);
+            if (candidate.length() == length && matches(candidate, start)) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compare une chaîne aux caractères du tampon
+     *
+     * @param candidate Chaîne à comparer
+     * @param start     Position de début dans le tampon
+     * @return true si les caractères sont identiques
+     */
+    private boolean matches(String candidate, int start) {
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+--
+-- Suivi des imports par étapes et agrégats journaliers de vente
+--
+-- Tables ajoutées après le schéma initial. Créées si absentes : une base
+-- installée avec une version plus récente de create_tables.sql les contient
+-- déjà. Les agrégats journaliers sont calculés au démarrage de l'API lorsque
+-- la table est vide.
+--
+
+-- --------------------------------------------------------
+
+--
+-- Structure de la table `sales_imports`
+--
+
+CREATE TABLE IF NOT EXISTS `sales_imports` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `file_name` varchar(255) DEFAULT NULL,
+  `checksum` varchar(64) NOT NULL,
+  `start_date` date NOT NULL,
+  `end_date` date NOT NULL,
+  `status` enum('IN_PROGRESS','COMPLETED','FAILED','CANCELLED') NOT NULL,
+  `last_committed_date` date DEFAULT NULL,
+  `created_at` datetime NOT NULL,
+  `updated_at` datetime NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `sales_imports_checksum` (`checksum`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Structure de la table `sales_daily_rollup`
+--
+
+CREATE TABLE IF NOT EXISTS `sales_daily_rollup` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `date` date NOT NULL,
+  `seller_ref` varchar(50) NOT NULL DEFAULT '',
+  `revenue` double NOT NULL DEFAULT 0,
+  `invoices` int(11) NOT NULL DEFAULT 0,
+  `optical_invoices` int(11) NOT NULL DEFAULT 0,
+  `optical_amount` double NOT NULL DEFAULT 0,
+  `optical_net_invoices` int(11) NOT NULL DEFAULT 0,
+  `p1_mon_lines` int(11) NOT NULL DEFAULT 0,
+  `p1_mon_count` int(11) NOT NULL DEFAULT 0,
+  `p1_mon_amount` double NOT NULL DEFAULT 0,
+  `p1_ver_count` int(11) NOT NULL DEFAULT 0,
+  `p1_ver_amount` double NOT NULL DEFAULT 0,
+  `p2_count` int(11) NOT NULL DEFAULT 0,
+  `p2_amount` double NOT NULL DEFAULT 0,
+  `premium_frames` int(11) NOT NULL DEFAULT 0,
+  `quotations` int(11) NOT NULL DEFAULT 0,
+  `validated_quotations` int(11) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uq_sales_daily_rollup_date_seller` (`date`,`seller_ref`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
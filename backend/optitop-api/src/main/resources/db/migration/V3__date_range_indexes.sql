@@ -0,0 +1,32 @@
+--
+-- Index composites des requêtes par période
+--
+-- Les suppressions et reconstructions de l'import ainsi que les requêtes
+-- statistiques filtrent sur `date BETWEEN` puis regroupent par vendeur (ou
+-- par client pour les devis). Sans index sur la date, chacune parcourt la
+-- table entière.
+--
+-- - invoices_lines : couvre la reconstruction des agrégats journaliers et les
+--   statistiques P1/P2 (vendeur, famille, paire, montant)
+-- - invoices : couvre les agrégats de chiffre d'affaires et de factures
+--   optiques
+-- - quotations_lines : regroupement des lignes de verres par client et date
+-- - quotations : listes de devis non validés par période et vendeur, et
+--   rapprochement (client, date) lors de la fusion des devis importés
+--
+-- Index créés si absents (syntaxe MariaDB) : une base installée avec une
+-- version récente de create_tables.sql les contient déjà.
+--
+
+ALTER TABLE `invoices_lines`
+  ADD KEY IF NOT EXISTS `idx_invoices_lines_date_seller` (`date`,`seller_ref`,`family`,`pair`,`total_ttc`);
+
+ALTER TABLE `invoices`
+  ADD KEY IF NOT EXISTS `idx_invoices_date_seller` (`date`,`seller_ref`,`is_optical`,`status`,`total_invoice`);
+
+ALTER TABLE `quotations_lines`
+  ADD KEY IF NOT EXISTS `idx_quotations_lines_date_family_client` (`date`,`family`,`client_id`);
+
+ALTER TABLE `quotations`
+  ADD KEY IF NOT EXISTS `idx_quotations_date_validated_seller` (`date`,`is_validated`,`seller_ref`),
+  ADD KEY IF NOT EXISTS `idx_quotations_client_date` (`client_id`,`date`);
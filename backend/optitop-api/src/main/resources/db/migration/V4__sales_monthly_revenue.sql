@@ -0,0 +1,42 @@
+--
+-- Chiffre d'affaires mensuel par vendeur
+--
+-- Série matérialisée lue par les graphiques et tableaux de chiffre
+-- d'affaires mensuel : plusieurs années se lisent en un parcours de l'index
+-- (month, seller_ref). Maintenue par l'import à partir des agrégats
+-- journaliers, pour les mois couverts par la période importée.
+--
+-- Table créée si absente : une base installée avec une version récente de
+-- create_tables.sql la contient déjà. Remplie ici à partir des agrégats
+-- journaliers existants.
+--
+
+-- --------------------------------------------------------
+
+--
+-- Structure de la table `sales_monthly_revenue`
+--
+
+CREATE TABLE IF NOT EXISTS `sales_monthly_revenue` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `month` date NOT NULL,
+  `seller_ref` varchar(50) NOT NULL DEFAULT '',
+  `revenue` double NOT NULL DEFAULT 0,
+  `invoices` int(11) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uq_sales_monthly_revenue_month_seller` (`month`,`seller_ref`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Calcul à partir des agrégats journaliers
+--
+
+DELETE FROM `sales_monthly_revenue`;
+
+INSERT INTO `sales_monthly_revenue` (`month`, `seller_ref`, `revenue`, `invoices`)
+SELECT `date` - INTERVAL (DAYOFMONTH(`date`) - 1) DAY, `seller_ref`, SUM(`revenue`), SUM(`invoices`)
+FROM `sales_daily_rollup`
+WHERE `invoices` > 0
+GROUP BY `date` - INTERVAL (DAYOFMONTH(`date`) - 1) DAY, `seller_ref`;
@@ -0,0 +1,16 @@
+--
+-- Catalogue des imports de ventes
+--
+-- sales_imports ne suivait que les imports par étapes. Chaque import y est
+-- désormais enregistré, quel que soit son mode, avec le nombre de lignes de
+-- factures et de devis écrites. Les imports existants sont tous des imports
+-- par étapes ; leurs nombres de lignes sont inconnus (0).
+--
+-- Colonnes ajoutées si absentes (syntaxe MariaDB) : une base installée avec
+-- une version récente de create_tables.sql les contient déjà.
+--
+
+ALTER TABLE `sales_imports`
+  ADD COLUMN IF NOT EXISTS `mode` enum('FULL','DELTA','CHUNKED') NOT NULL DEFAULT 'CHUNKED' AFTER `file_name`,
+  ADD COLUMN IF NOT EXISTS `invoices_lines` int(11) NOT NULL DEFAULT 0 AFTER `last_committed_date`,
+  ADD COLUMN IF NOT EXISTS `quotations_lines` int(11) NOT NULL DEFAULT 0 AFTER `invoices_lines`;
@@ -0,0 +1,15 @@
+--
+-- Verrouillage optimiste des devis
+--
+-- Plusieurs utilisateurs modifient en même temps l'action et le commentaire
+-- des devis. Chaque modification incrémente la version du devis et n'est
+-- appliquée que si le client connaît la version courante : une
+-- modification fondée sur des données périmées est signalée en conflit au
+-- lieu d'écraser celle d'un autre utilisateur.
+--
+-- Colonne ajoutée si absente (syntaxe MariaDB) : une base installée avec
+-- une version récente de create_tables.sql la contient déjà.
+--
+
+ALTER TABLE `quotations`
+  ADD COLUMN IF NOT EXISTS `version` bigint(20) NOT NULL DEFAULT 0 AFTER `comment`;
@@ -0,0 +1,26 @@
+--
+-- Liste de relance des devis
+--
+-- La liste de relance classe les devis non validés de chaque vendeur par
+-- priorité (ancienneté, montant, action). Le montant d'un devis est
+-- recopié depuis les lignes de verres (plus grand total_quotation du groupe
+-- client et date : les devis d'un même jour sont des variantes d'une même
+-- offre), et l'index couvre toutes les colonnes du classement : il est
+-- établi sans lire la table, seuls les devis retenus sont lus ensuite.
+--
+-- Colonne et index ajoutés si absents (syntaxe MariaDB) : une base
+-- installée avec une version récente de create_tables.sql les contient
+-- déjà.
+--
+
+ALTER TABLE `quotations`
+  ADD COLUMN IF NOT EXISTS `total_quotation` double NOT NULL DEFAULT 0 AFTER `comment`;
+
+UPDATE `quotations` q
+  JOIN (SELECT `client_id`, `date`, MAX(`total_quotation`) AS `total_quotation`
+        FROM `quotations_lines` WHERE `family` = 'VER' GROUP BY `client_id`, `date`) g
+    ON g.`client_id` = q.`client_id` AND g.`date` = q.`date`
+  SET q.`total_quotation` = g.`total_quotation`;
+
+ALTER TABLE `quotations`
+  ADD KEY IF NOT EXISTS `idx_quotations_worklist` (`seller_ref`,`is_validated`,`action`,`date`,`total_quotation`);
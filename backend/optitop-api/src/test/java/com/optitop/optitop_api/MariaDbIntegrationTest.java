@@ -0,0 +1,115 @@
+package com.optitop.optitop_api;
+
+// ===== IMPORTS TESTS =====
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MariaDBContainer;
+
+/**
+ * Base des tests d'intégration sur une base MariaDB
+ *
+ * Le contexte Spring complet est démarré sur une base vide, mise au schéma
+ * courant par les migrations Flyway. La base utilisée est, par ordre de
+ * préférence :
+ * - Une base externe, désignée par la propriété système
+ * {@value #URL_PROPERTY} (URL JDBC MySQL, base créée si absente),
+ * avec {@value #USERNAME_PROPERTY} et {@value #PASSWORD_PROPERTY}
+ * - Un conteneur MariaDB 10.11 (Testcontainers), si Docker est disponible
+ *
+ * Sans l'une ni l'autre, les tests sont ignorés.
+ *
+ * Exemple : mvn test -Doptitop.test.datasource.url="jdbc:mysql://localhost:3306/optitop_test?createDatabaseIfNotExist=true"
+ */
+@SpringBootTest
+@ExtendWith(MariaDbIntegrationTest.DatabaseAvailable.class)
+public abstract class MariaDbIntegrationTest {
+
+    // ===== CONSTANTES =====
+
+    public static final String URL_PROPERTY = "optitop.test.datasource.url";
+    public static final String USERNAME_PROPERTY = "optitop.test.datasource.username";
+    public static final String PASSWORD_PROPERTY = "optitop.test.datasource.password";
+
+    /**
+     * Options de connexion communes (identiques à la configuration de
+     * l'application)
+     */
+    private static final String CONNECTION_OPTIONS = "useSSL=false&serverTimezone=UTC&useUnicode=true"
+            + "&characterEncoding=utf8&rewriteBatchedStatements=true";
+
+    /**
+     * Conteneur partagé par toutes les classes de test, démarré à la
+     * première utilisation et arrêté avec la JVM
+     */
+    private static MariaDBContainer<?> container;
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    // ===== CONFIGURATION =====
+
+    /**
+     * Condition d'exécution : base externe configurée ou Docker disponible
+     */
+    static final class DatabaseAvailable implements ExecutionCondition {
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            if (System.getProperty(URL_PROPERTY) != null || DockerClientFactory.instance().isDockerAvailable()) {
+                return ConditionEvaluationResult.enabled("Base de test disponible");
+            }
+            return ConditionEvaluationResult.disabled("Aucune base de test : ni " + URL_PROPERTY + " ni Docker");
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        String url = System.getProperty(URL_PROPERTY);
+        if (url != null) {
+            registry.add("spring.datasource.url", () -> url + (url.contains("?") ? "&" : "?") + CONNECTION_OPTIONS);
+            registry.add("spring.datasource.username", () -> System.getProperty(USERNAME_PROPERTY, "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty(PASSWORD_PROPERTY, ""));
+            return;
+        }
+
+        MariaDBContainer<?> mariaDb = startContainer();
+        registry.add("spring.datasource.url", () -> "jdbc:mysql://" + mariaDb.getHost() + ":"
+                + mariaDb.getMappedPort(3306) + "/" + mariaDb.getDatabaseName() + "?" + CONNECTION_OPTIONS);
+        registry.add("spring.datasource.username", mariaDb::getUsername);
+        registry.add("spring.datasource.password", mariaDb::getPassword);
+    }
+
+    private static synchronized MariaDBContainer<?> startContainer() {
+        if (container == null) {
+            container = new MariaDBContainer<>("mariadb:10.11");
+            container.start();
+        }
+        return container;
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Vide les tables de ventes, d'agrégats et le catalogue des imports
+     * (les vendeurs sont conservés)
+     */
+    protected void deleteSalesData() {
+        jdbcTemplate.update("DELETE FROM invoices");
+        jdbcTemplate.update("DELETE FROM invoices_lines");
+        jdbcTemplate.update("DELETE FROM quotations");
+        jdbcTemplate.update("DELETE FROM quotations_lines");
+        jdbcTemplate.update("DELETE FROM sales_daily_rollup");
+        jdbcTemplate.update("DELETE FROM sales_monthly_revenue");
+        jdbcTemplate.update("DELETE FROM sales_imports");
+    }
+}
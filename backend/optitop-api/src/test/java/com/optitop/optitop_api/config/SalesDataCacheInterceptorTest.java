@@ -0,0 +1,107 @@
+package com.optitop.optitop_api.config;
+
+// ===== IMPORTS TESTS =====
+import com.optitop.optitop_api.MariaDbIntegrationTest;
+import com.optitop.optitop_api.service.ImportProgress;
+import com.optitop.optitop_api.service.SalesService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests d'intégration des requêtes conditionnelles sur les données de vente
+ *
+ * - 304 tant que la version des données n'a pas changé
+ * - Nouvelle version après chaque import (numéro de rechargement, pas une
+ * date à la seconde) et statistique recalculée pour cette version (cache
+ * invalidé avant)
+ * - Aucun ETag sur une réponse en erreur
+ */
+@AutoConfigureMockMvc
+class SalesDataCacheInterceptorTest extends MariaDbIntegrationTest {
+
+    // ===== CONSTANTES =====
+
+    private static final String HEADER = "Date;C.;Num client;Client;N° fact.;F.;Q;TotHT;TotTTC;Taux TVA;"
+            + "RefVendeur;Rm / Mj;Total facture;Paire;Type";
+
+    private static final String PERIOD_REVENUE = "/api/invoices/period-revenue?startDate=2024-03-01&endDate=2024-03-31";
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SalesService salesService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        deleteSalesData();
+        importSales("01/03/2024;MIFG;101003493;Méhaut Zoé;F100;MON;1;150,00;150,00;20,00;irau;0,00;150,00;1;facture");
+    }
+
+    // ===== TESTS =====
+
+    @Test
+    void unchangedDataAnswersNotModified() throws Exception {
+        String etag = mockMvc.perform(get(PERIOD_REVENUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"sales-");
+
+        mockMvc.perform(get(PERIOD_REVENUE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void importChangesVersionAndServesFreshStatistics() throws Exception {
+        MvcResult first = mockMvc.perform(get(PERIOD_REVENUE))
+                .andExpect(jsonPath("$.currentAmount").value(150.0))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Nouvel import : nouvelle version, période recalculée
+        importSales("02/03/2024;MIFG;101003493;Méhaut Zoé;F200;MON;1;90,00;90,00;20,00;irau;0,00;90,00;1;facture");
+
+        String newEtag = mockMvc.perform(get(PERIOD_REVENUE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentAmount").value(240.0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotNull().isNotEqualTo(etag);
+    }
+
+    @Test
+    void errorResponseCarriesNoEtag() throws Exception {
+        mockMvc.perform(get("/api/invoices/period-revenue?startDate=2024-03-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    private void importSales(String line) throws Exception {
+        ByteArrayResource source = new ByteArrayResource((HEADER + "\n" + line + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        salesService.importSales(source, salesService.scanSource(source), "test.csv",
+                SalesService.ImportMode.DELTA, new ImportProgress());
+    }
+}
@@ -0,0 +1,398 @@
+package com.optitop.optitop_api.controller;
+
+// ===== IMPORTS APPLICATION =====
+import com.optitop.optitop_api.OptitopApiApplication;
+import com.optitop.optitop_api.service.ImportProgress;
+import com.optitop.optitop_api.service.SalesService;
+
+// ===== IMPORTS TESTS =====
+import com.optitop.optitop_api.MariaDbIntegrationTest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.FileSystemResource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Test de charge des endpoints de statistiques : threads de plateforme
+ * contre threads virtuels, pour plusieurs tailles de pool de connexions
+ *
+ * Les exports de test 2023, 2024 et 2025 sont importés, puis l'application
+ * est démarrée une fois par configuration, sur la même base, cache des
+ * statistiques désactivé : chaque appel exécute ses requêtes SQL. Des
+ * clients simultanés appellent en boucle les endpoints de statistiques
+ * (instantané du tableau de bord et endpoints unitaires) sur des mois et
+ * des années variés.
+ *
+ * Toutes les configurations partagent la JVM : une première charge non
+ * mesurée dans chaque mode compile le code commun, puis les configurations sont mesurées
+ * sur plusieurs tours, dans l'ordre inverse un tour sur deux, pour ne pas
+ * avantager les dernières. Pour chaque configuration et chaque tour sont
+ * relevés :
+ * - Latences p50 et p99, séparément pour l'instantané et les endpoints
+ * unitaires
+ * - Débit et nombre d'erreurs
+ * - Pic de connexions actives et de requêtes en attente d'une connexion
+ *
+ * Les résultats, détail par tour et médiane des tours, sont écrits dans
+ * target/stats-load-benchmark.md. Les résultats de référence, d'après
+ * lesquels est dimensionné le pool du profil virtual, sont conservés dans
+ * Ressources/Benchmarks/stats-load-benchmark.md.
+ *
+ * Non exécuté par la suite de tests (nom hors des motifs de Surefire) :
+ * mvn test -Dtest=StatsLoadBenchmark -Doptitop.test.datasource.url=...
+ * Options : -Doptitop.loadtest.clients=32 -Doptitop.loadtest.duration=PT20S
+ * -Doptitop.loadtest.rounds=3
+ */
+class StatsLoadBenchmark extends MariaDbIntegrationTest {
+
+    // ===== CONSTANTES =====
+
+    private static final Path SAMPLES_DIRECTORY = Path.of("../../Ressources/Fichiers .csv/Tests");
+
+    private static final List<String> SAMPLE_FILES = List.of("test_2023.csv", "test_2024.csv",
+            "test_20250214.csv");
+
+    private static final Path REPORT_FILE = Path.of("target/stats-load-benchmark.md");
+
+    private static final int CLIENTS = Integer.getInteger("optitop.loadtest.clients", 32);
+
+    private static final Duration DURATION = Duration.parse(
+            System.getProperty("optitop.loadtest.duration", "PT20S"));
+
+    private static final int ROUNDS = Integer.getInteger("optitop.loadtest.rounds", 3);
+
+    /**
+     * Chauffe de chaque démarrage de l'application
+     */
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    /**
+     * Charge initiale non mesurée de chaque mode (compilation du code commun)
+     */
+    private static final Duration JIT_WARMUP = Duration.ofSeconds(60);
+
+    private static final String SNAPSHOT = "/api/dashboard/snapshot";
+
+    private static final String TABLE_HEADER = "Instantané p50 (ms) | Instantané p99 (ms) | Unitaires p50 (ms) "
+            + "| Unitaires p99 (ms) | Requêtes/s | Erreurs | Pic connexions actives | Pic en attente |";
+
+    private static final String TABLE_ALIGNMENT = "---:|---:|---:|---:|---:|---:|---:|---:|";
+
+    /**
+     * Endpoints unitaires appelés par le tableau de bord
+     */
+    private static final List<String> SINGLE_ENDPOINTS = List.of(
+            "/api/invoices/period-revenue",
+            "/api/invoices/seller-stats",
+            "/api/invoices/average-baskets",
+            "/api/invoices/total-stats",
+            "/api/invoices/frame-stats",
+            "/api/quotations/stats");
+
+    /**
+     * Configurations comparées : mode d'exécution et taille du pool
+     */
+    private static final List<LoadConfiguration> CONFIGURATIONS = List.of(
+            new LoadConfiguration(false, 10),
+            new LoadConfiguration(false, 24),
+            new LoadConfiguration(true, 10),
+            new LoadConfiguration(true, 16),
+            new LoadConfiguration(true, 24),
+            new LoadConfiguration(true, 32));
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private Environment environment;
+
+    // ===== MESURES =====
+
+    @Test
+    void run() throws Exception {
+        deleteSalesData();
+        for (String fileName : SAMPLE_FILES) {
+            Path file = SAMPLES_DIRECTORY.resolve(fileName);
+            assumeTrue(Files.isRegularFile(file), "Export de test absent : " + file);
+            FileSystemResource source = new FileSystemResource(file);
+            salesService.importSales(source, salesService.scanSource(source), fileName,
+                    SalesService.ImportMode.FULL, new ImportProgress());
+        }
+        int invoices = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM invoices", Integer.class);
+
+        List<String> report = new ArrayList<>();
+        report.add("# Charge des endpoints de statistiques");
+        report.add("");
+        report.add(String.format("%d clients simultanés, %d s mesurées après %d s de chauffe, %d tours, "
+                + "%d factures en base, processeurs : %d, Java %s, cache des statistiques désactivé.", CLIENTS,
+                DURATION.toSeconds(), WARMUP.toSeconds(), ROUNDS, invoices,
+                Runtime.getRuntime().availableProcessors(), Runtime.version().feature()));
+        report.add("");
+        report.add("## Détail par tour");
+        report.add("");
+        report.add("| Tour | Mode | Pool | " + TABLE_HEADER);
+        report.add("|---:|---|---:|" + TABLE_ALIGNMENT);
+
+        // Chauffe commune aux deux modes
+        measure(CONFIGURATIONS.get(0), JIT_WARMUP);
+        measure(CONFIGURATIONS.get(CONFIGURATIONS.size() - 1), JIT_WARMUP);
+
+        Map<LoadConfiguration, List<LoadSummary>> summaries = new LinkedHashMap<>();
+        CONFIGURATIONS.forEach(configuration -> summaries.put(configuration, new ArrayList<>()));
+        for (int round = 1; round <= ROUNDS; round++) {
+            List<LoadConfiguration> configurations = new ArrayList<>(CONFIGURATIONS);
+            if (round % 2 == 0) {
+                Collections.reverse(configurations);
+            }
+            for (LoadConfiguration configuration : configurations) {
+                LoadSummary summary = measure(configuration, WARMUP);
+                summaries.get(configuration).add(summary);
+                String row = "| " + round + " | " + configuration + " | " + summary + " |";
+                report.add(row);
+                System.out.println(row);
+            }
+        }
+
+        report.add("");
+        report.add("## Médiane des tours");
+        report.add("");
+        report.add("| Mode | Pool | " + TABLE_HEADER);
+        report.add("|---|---:|" + TABLE_ALIGNMENT);
+        summaries.forEach((configuration, rounds) -> report.add(
+                "| " + configuration + " | " + LoadSummary.median(rounds) + " |"));
+
+        Files.createDirectories(REPORT_FILE.getParent());
+        Files.write(REPORT_FILE, report);
+        System.out.printf("%n%s%n", String.join(System.lineSeparator(), report));
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Démarre l'application dans une configuration et la soumet à la charge
+     *
+     * @param configuration Mode d'exécution et taille du pool
+     * @param warmup        Durée de la charge non mesurée
+     * @return Résultats de la charge mesurée
+     */
+    private LoadSummary measure(LoadConfiguration configuration, Duration warmup) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + environment.getProperty("spring.datasource.url"),
+                "--spring.datasource.username=" + environment.getProperty("spring.datasource.username"),
+                "--spring.datasource.password=" + environment.getProperty("spring.datasource.password", ""),
+                "--spring.datasource.hikari.maximum-pool-size=" + configuration.poolSize(),
+                "--spring.datasource.hikari.minimum-idle=" + configuration.poolSize(),
+                "--optitop.stats-cache.max-size=0",
+                "--logging.level.root=WARN"));
+        if (configuration.virtual()) {
+            args.add("--spring.profiles.active=virtual");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OptitopApiApplication.class)
+                .run(args.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HikariPoolMXBean pool = context.getBean(HikariDataSource.class).getHikariPoolMXBean();
+
+            runLoad(port, warmup, null);
+            LoadResult result = runLoad(port, DURATION, pool);
+
+            return new LoadSummary(
+                    percentile(result.snapshotLatencies(), 50), percentile(result.snapshotLatencies(), 99),
+                    percentile(result.singleLatencies(), 50), percentile(result.singleLatencies(), 99),
+                    (result.snapshotLatencies().length + result.singleLatencies().length)
+                            / (double) DURATION.toSeconds(),
+                    result.errors(), result.maxActive(), result.maxPending());
+        }
+    }
+
+    /**
+     * Appelle en boucle les endpoints depuis des clients simultanés
+     *
+     * Chaque client enchaîne un instantané puis les endpoints unitaires, sur
+     * une période différente à chaque tour.
+     *
+     * @param port     Port de l'application
+     * @param duration Durée de la charge
+     * @param pool     Pool de connexions à observer, null pendant la chauffe
+     * @return Latences mesurées (ms) et pics du pool
+     */
+    private static LoadResult runLoad(int port, Duration duration, HikariPoolMXBean pool) throws Exception {
+        List<String> periods = periods();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger maxPending = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> sampler = clients.submit(() -> {
+                while (pool != null && System.nanoTime() < deadline) {
+                    maxActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                    maxPending.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                    Thread.sleep(5);
+                }
+                return null;
+            });
+
+            List<Future<List<long[]>>> workers = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientIndex = c;
+                workers.add(clients.submit(() -> {
+                    List<long[]> latencies = new ArrayList<>();
+                    for (int turn = clientIndex; System.nanoTime() < deadline; turn++) {
+                        String period = periods.get(turn % periods.size());
+                        latencies.add(new long[] { 1, call(client, port, SNAPSHOT, period, errors) });
+                        for (String endpoint : SINGLE_ENDPOINTS) {
+                            latencies.add(new long[] { 0, call(client, port, endpoint, period, errors) });
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+
+            List<Long> snapshot = new ArrayList<>();
+            List<Long> single = new ArrayList<>();
+            for (Future<List<long[]>> worker : workers) {
+                for (long[] latency : worker.get()) {
+                    (latency[0] == 1 ? snapshot : single).add(latency[1]);
+                }
+            }
+            sampler.get();
+            return new LoadResult(toSortedMillis(snapshot), toSortedMillis(single), errors.get(),
+                    maxActive.get(), maxPending.get());
+        }
+    }
+
+    /**
+     * @return Durée de l'appel en nanosecondes (erreur comptée si la
+     *         réponse n'est pas 200)
+     */
+    private static long call(HttpClient client, int port, String endpoint, String period, AtomicInteger errors)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + endpoint + period))
+                .GET().build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long elapsed = System.nanoTime() - start;
+        if (response.statusCode() != 200) {
+            errors.incrementAndGet();
+        }
+        return elapsed;
+    }
+
+    /**
+     * @return Paramètres de période : chaque mois de 2023 à 2024 et les trois
+     *         années
+     */
+    private static List<String> periods() {
+        List<String> periods = new ArrayList<>();
+        for (LocalDate month = LocalDate.of(2023, 1, 1); month.getYear() < 2025; month = month.plusMonths(1)) {
+            periods.add(period(month, month.plusMonths(1).minusDays(1)));
+        }
+        for (int year = 2023; year <= 2025; year++) {
+            periods.add(period(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)));
+        }
+        return periods;
+    }
+
+    private static String period(LocalDate startDate, LocalDate endDate) {
+        return "?startDate=" + startDate + "&endDate=" + endDate;
+    }
+
+    private static double[] toSortedMillis(List<Long> nanos) {
+        double[] millis = nanos.stream().mapToDouble(value -> value / 1_000_000.0).toArray();
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private static double percentile(double[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * percentile / 100.0) - 1)];
+    }
+
+    /**
+     * Mode d'exécution (threads virtuels ou de plateforme) et taille fixe du
+     * pool de connexions
+     */
+    private record LoadConfiguration(boolean virtual, int poolSize) {
+
+        @Override
+        public String toString() {
+            return (virtual ? "virtuel" : "plateforme") + " | " + poolSize;
+        }
+    }
+
+    /**
+     * Latences (ms), débit, erreurs et pics du pool d'une charge mesurée
+     */
+    private record LoadSummary(double snapshotP50, double snapshotP99, double singleP50, double singleP99,
+            double throughput, double errors, double maxActive, double maxPending) {
+
+        /**
+         * @param rounds Résultats des tours d'une configuration
+         * @return Médiane de chaque valeur sur les tours
+         */
+        static LoadSummary median(List<LoadSummary> rounds) {
+            return new LoadSummary(
+                    median(rounds, LoadSummary::snapshotP50), median(rounds, LoadSummary::snapshotP99),
+                    median(rounds, LoadSummary::singleP50), median(rounds, LoadSummary::singleP99),
+                    median(rounds, LoadSummary::throughput), median(rounds, LoadSummary::errors),
+                    median(rounds, LoadSummary::maxActive), median(rounds, LoadSummary::maxPending));
+        }
+
+        private static double median(List<LoadSummary> rounds, ToDoubleFunction<LoadSummary> value) {
+            double[] values = rounds.stream().mapToDouble(value).sorted().toArray();
+            return values.length % 2 == 1 ? values[values.length / 2]
+                    : (values[values.length / 2 - 1] + values[values.length / 2]) / 2;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.0f | %.0f | %.0f | %.0f | %.1f | %.0f | %.0f | %.0f",
+                    snapshotP50, snapshotP99, singleP50, singleP99, throughput, errors, maxActive, maxPending);
+        }
+    }
+
+    /**
+     * Latences triées (ms), erreurs et pics du pool d'une charge
+     */
+    private record LoadResult(double[] snapshotLatencies, double[] singleLatencies, int errors, int maxActive,
+            int maxPending) {
+    }
+}
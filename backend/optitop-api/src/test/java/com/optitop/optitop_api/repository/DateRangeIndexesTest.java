@@ -0,0 +1,141 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS TESTS =====
+import com.optitop.optitop_api.MariaDbIntegrationTest;
+import com.optitop.optitop_api.service.ImportProgress;
+import com.optitop.optitop_api.service.SalesService;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Tests de non-régression des index composites de V3 (requêtes par période)
+ *
+ * Le plan d'exécution (EXPLAIN) des requêtes de l'import et des listes de
+ * devis est vérifié sur l'export de test 2024 importé, statistiques des
+ * tables à jour, pour une période d'un mois : chaque requête doit passer par
+ * l'index composite prévu plutôt que par un parcours complet de la table.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DateRangeIndexesTest extends MariaDbIntegrationTest {
+
+    // ===== CONSTANTES =====
+
+    private static final LocalDate START_DATE = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 3, 31);
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private SalesService salesService;
+
+    @BeforeAll
+    void importSample() throws Exception {
+        assumeTrue(Files.isRegularFile(SalesDailyRollupRepositoryTest.SAMPLE_FILE),
+                "Export de test absent : " + SalesDailyRollupRepositoryTest.SAMPLE_FILE);
+        deleteSalesData();
+        FileSystemResource source = new FileSystemResource(SalesDailyRollupRepositoryTest.SAMPLE_FILE);
+        salesService.importSales(source, salesService.scanSource(source),
+                SalesDailyRollupRepositoryTest.SAMPLE_FILE.getFileName().toString(),
+                SalesService.ImportMode.FULL, new ImportProgress());
+        jdbcTemplate.execute("ANALYZE TABLE invoices, invoices_lines, quotations, quotations_lines");
+    }
+
+    // ===== SUPPRESSIONS DE L'IMPORT =====
+
+    @Test
+    void deleteInvoicesLinesUsesDateIndex() {
+        assertThat(usedIndexes(SalesBatchRepository.DELETE_INVOICES_LINES, START_DATE, END_DATE))
+                .contains("idx_invoices_lines_date_seller");
+    }
+
+    @Test
+    void deleteInvoicesUsesDateIndex() {
+        assertThat(usedIndexes(SalesBatchRepository.DELETE_INVOICES, START_DATE, END_DATE))
+                .contains("idx_invoices_date_seller");
+    }
+
+    // ===== RECONSTRUCTION DES DEVIS =====
+
+    @Test
+    void quotationGroupsUseDateFamilyClientIndex() {
+        assertThat(usedIndexes(SalesBatchRepository.QUOTATION_GROUPS, START_DATE, END_DATE))
+                .contains("idx_quotations_lines_date_family_client");
+    }
+
+    @Test
+    void quotationValidationUpdateUsesClientDateIndex() {
+        assertThat(usedIndexes(SalesBatchRepository.UPDATE_QUOTATIONS_VALIDATION, START_DATE, END_DATE))
+                .contains("idx_quotations_lines_date_family_client", "idx_quotations_client_date");
+    }
+
+    @Test
+    void missingQuotationsInsertUsesClientDateIndex() {
+        assertThat(usedIndexes(SalesBatchRepository.INSERT_MISSING_QUOTATIONS, LocalDateTime.now(), START_DATE,
+                END_DATE)).contains("idx_quotations_lines_date_family_client", "idx_quotations_client_date");
+    }
+
+    // ===== AGRÉGATS JOURNALIERS =====
+
+    @Test
+    void dailyRollupUsesDateIndexOfEachTable() {
+        assertThat(usedIndexes(SalesBatchRepository.INSERT_DAILY_ROLLUP, START_DATE, END_DATE, START_DATE,
+                END_DATE, START_DATE, END_DATE)).contains("idx_invoices_date_seller",
+                        "idx_invoices_lines_date_seller", "idx_quotations_date_validated_seller");
+    }
+
+    // ===== LISTES DE DEVIS =====
+
+    @Test
+    void worklistUsesDateValidatedIndex() throws NoSuchMethodException {
+        String sql = QuotationsRepository.class.getMethod("findWorklist", LocalDate.class, LocalDate.class,
+                LocalDate.class, String.class, String.class, boolean.class, int.class)
+                .getAnnotation(Query.class).value();
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("startDate", START_DATE)
+                .addValue("endDate", END_DATE)
+                .addValue("today", END_DATE)
+                .addValue("sellerRef", null)
+                .addValue("action", null)
+                .addValue("noAction", false)
+                .addValue("perSeller", 20);
+
+        List<Map<String, Object>> plan = new NamedParameterJdbcTemplate(jdbcTemplate)
+                .queryForList("EXPLAIN " + sql, parameters);
+
+        assertThat(keys(plan)).contains("idx_quotations_date_validated_seller");
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * @return Index retenus par le plan d'exécution de la requête
+     */
+    private List<String> usedIndexes(String sql, Object... args) {
+        return keys(jdbcTemplate.queryForList("EXPLAIN " + sql, args));
+    }
+
+    private static List<String> keys(List<Map<String, Object>> plan) {
+        return plan.stream()
+                .map(row -> (String) row.get("key"))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS MODÈLES =====
+import com.optitop.optitop_api.repository.QuotationBatchRepository.QuotationChange;
+
+// ===== IMPORTS TESTS =====
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tests de l'interprétation des résultats de la requête batch des devis
+ *
+ * Le pilote JDBC est remplacé par des comptes de lignes fixés : chaque
+ * compte est replacé dans l'ordre de la demande, et un compte inconnu
+ * (SUCCESS_NO_INFO) n'est jamais pris pour une mise à jour.
+ */
+class QuotationBatchRepositoryTest {
+
+    // ===== TESTS =====
+
+    @Test
+    void countsAreMappedBackToRequestOrder() {
+        // Requête envoyée par identifiant croissant : 2, 5, 9
+        QuotationBatchRepository repository = repositoryReturning(1, 0, 1);
+
+        boolean[] updated = repository.updateActionsAndComments(List.of(
+                change(9), change(2), change(5)));
+
+        assertThat(updated).containsExactly(true, true, false);
+    }
+
+    @Test
+    void successNoInfoIsRejected() {
+        QuotationBatchRepository repository = repositoryReturning(1, Statement.SUCCESS_NO_INFO);
+
+        assertThatThrownBy(() -> repository.updateActionsAndComments(List.of(change(1), change(2))))
+                .isInstanceOf(IncorrectUpdateSemanticsDataAccessException.class);
+    }
+
+    @Test
+    void duplicateIdsAreRejectedBeforeWriting() {
+        QuotationBatchRepository repository = repositoryReturning();
+
+        assertThatThrownBy(() -> repository.updateActionsAndComments(List.of(change(3), change(1), change(3))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    private static QuotationChange change(long id) {
+        return new QuotationChange(id, null, "commentaire " + id, 0L);
+    }
+
+    /**
+     * @param counts Comptes de lignes retournés pour l'unique lot, dans
+     *               l'ordre d'envoi
+     * @return Repository dont la requête batch retourne ces comptes (échec
+     *         si aucun compte n'est prévu)
+     */
+    private static QuotationBatchRepository repositoryReturning(int... counts) {
+        return new QuotationBatchRepository(new JdbcTemplate() {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                    ParameterizedPreparedStatementSetter<T> pss) {
+                assertThat(counts).as("requête batch inattendue").isNotEmpty();
+                return new int[][] { counts };
+            }
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS TESTS =====
+import com.optitop.optitop_api.MariaDbIntegrationTest;
+import com.optitop.optitop_api.service.ImportProgress;
+import com.optitop.optitop_api.service.SalesService;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Tests d'équivalence des statistiques calculées sur les agrégats
+ * journaliers
+ *
+ * Les requêtes de {@link SalesDailyRollupRepository} remplacent des
+ * requêtes sur la table des factures (sous-requêtes corrélées de comptage
+ * et de total magasin). Les résultats sont comparés, sur l'export de test
+ * 2024 importé, à ces requêtes de référence pour plusieurs périodes.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SalesDailyRollupRepositoryTest extends MariaDbIntegrationTest {
+
+    // ===== CONSTANTES =====
+
+    static final Path SAMPLE_FILE = Path.of("../../Ressources/Fichiers .csv/Tests/test_2024.csv");
+
+    /**
+     * CA et pourcentage du CA magasin par vendeur, total magasin par
+     * sous-requête (requête d'origine sur les factures)
+     */
+    static final String REFERENCE_SELLER_REVENUE = "SELECT i.seller_ref, SUM(i.total_invoice), "
+            + "SUM(i.total_invoice) / (SELECT COALESCE(SUM(s.total_invoice), 0) FROM invoices s "
+            + "WHERE s.date BETWEEN ? AND ?) * 100 "
+            + "FROM invoices i WHERE i.date BETWEEN ? AND ? AND i.seller_ref IS NOT NULL "
+            + "GROUP BY i.seller_ref ORDER BY 2 DESC";
+
+    /**
+     * Factures optiques nettes par vendeur, par sous-requêtes corrélées
+     * (requête d'origine sur les factures)
+     */
+    static final String REFERENCE_INVOICE_COUNTS = "SELECT i.seller_ref, "
+            + "(SELECT COUNT(*) FROM invoices f WHERE f.seller_ref = i.seller_ref "
+            + "AND f.date BETWEEN ? AND ? AND f.is_optical = 1 AND f.status = 'facture') - "
+            + "(SELECT COUNT(*) FROM invoices a WHERE a.seller_ref = i.seller_ref "
+            + "AND a.date BETWEEN ? AND ? AND a.is_optical = 1 AND a.status = 'avoir') "
+            + "FROM invoices i WHERE i.date BETWEEN ? AND ? AND i.seller_ref IS NOT NULL "
+            + "GROUP BY i.seller_ref ORDER BY i.seller_ref";
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    @BeforeAll
+    void importSample() throws Exception {
+        assumeTrue(Files.isRegularFile(SAMPLE_FILE), "Export de test absent : " + SAMPLE_FILE);
+        deleteSalesData();
+        FileSystemResource source = new FileSystemResource(SAMPLE_FILE);
+        salesService.importSales(source, salesService.scanSource(source), SAMPLE_FILE.getFileName().toString(),
+                SalesService.ImportMode.FULL, new ImportProgress());
+    }
+
+    /**
+     * @return Année, mois, semaine et périodes à cheval sur deux mois
+     */
+    static Stream<Arguments> periods() {
+        List<Arguments> periods = new ArrayList<>();
+        periods.add(Arguments.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        for (int month = 1; month <= 12; month++) {
+            LocalDate first = LocalDate.of(2024, month, 1);
+            periods.add(Arguments.of(first, first.withDayOfMonth(first.lengthOfMonth())));
+        }
+        periods.add(Arguments.of(LocalDate.of(2024, 11, 4), LocalDate.of(2024, 11, 10)));
+        periods.add(Arguments.of(LocalDate.of(2024, 2, 20), LocalDate.of(2024, 3, 10)));
+        periods.add(Arguments.of(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31)));
+        return periods.stream();
+    }
+
+    // ===== TESTS =====
+
+    @ParameterizedTest
+    @MethodSource("periods")
+    void sellerRevenueMatchesInvoicesQuery(LocalDate startDate, LocalDate endDate) {
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(REFERENCE_SELLER_REVENUE,
+                startDate, endDate, startDate, endDate);
+        List<Object[]> actual = salesDailyRollupRepository.getSellerRevenueStats(startDate, endDate);
+
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < actual.size(); i++) {
+            List<Object> row = new ArrayList<>(expected.get(i).values());
+            assertThat(actual.get(i)[0]).isEqualTo(row.get(0));
+            assertThat(toDouble(actual.get(i)[1])).isCloseTo(toDouble(row.get(1)), within(0.005));
+            assertThat(toDouble(actual.get(i)[2])).isCloseTo(toDouble(row.get(2)), within(1e-6));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("periods")
+    void opticalInvoiceCountsMatchInvoicesQuery(LocalDate startDate, LocalDate endDate) {
+        Map<String, Long> expected = new HashMap<>();
+        jdbcTemplate.query(REFERENCE_INVOICE_COUNTS, rs -> {
+            expected.put(rs.getString(1), rs.getLong(2));
+        }, startDate, endDate, startDate, endDate, startDate, endDate);
+
+        Map<String, Long> actual = new HashMap<>();
+        for (Object[] row : salesDailyRollupRepository.calculateAverageBasketMetrics(startDate, endDate)) {
+            String sellerRef = (String) row[0];
+            if (sellerRef != null && !sellerRef.isEmpty()) {
+                actual.put(sellerRef, ((Number) row[3]).longValue());
+            }
+        }
+
+        // Vendeurs sans facture sur la période (lignes ou devis seulement) : 0
+        actual.entrySet().removeIf(entry -> !expected.containsKey(entry.getKey()) && entry.getValue() == 0);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    private static double toDouble(Object value) {
+        return ((Number) value).doubleValue();
+    }
+}
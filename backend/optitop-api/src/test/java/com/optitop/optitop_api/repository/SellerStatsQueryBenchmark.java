@@ -0,0 +1,102 @@
+package com.optitop.optitop_api.repository;
+
+// ===== IMPORTS TESTS =====
+import com.optitop.optitop_api.MariaDbIntegrationTest;
+import com.optitop.optitop_api.service.ImportProgress;
+import com.optitop.optitop_api.service.SalesService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark des statistiques vendeurs : requêtes d'origine sur les
+ * factures contre requêtes sur les agrégats journaliers
+ *
+ * Les exports de test 2023, 2024 et 2025 sont importés, puis chaque requête
+ * est exécutée sur l'année 2024 ; le temps médian est affiché. Les
+ * résultats sont comparés par {@link SalesDailyRollupRepositoryTest}.
+ *
+ * Non exécuté par la suite de tests (nom hors des motifs de Surefire) :
+ * mvn test -Dtest=SellerStatsQueryBenchmark -Doptitop.test.datasource.url=...
+ */
+class SellerStatsQueryBenchmark extends MariaDbIntegrationTest {
+
+    // ===== CONSTANTES =====
+
+    private static final Path SAMPLES_DIRECTORY = Path.of("../../Ressources/Fichiers .csv/Tests");
+
+    private static final List<String> SAMPLE_FILES = List.of("test_2023.csv", "test_2024.csv",
+            "test_20250214.csv");
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 30;
+
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 12, 31);
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    // ===== MESURES =====
+
+    @Test
+    void run() throws Exception {
+        deleteSalesData();
+        for (String fileName : SAMPLE_FILES) {
+            Path file = SAMPLES_DIRECTORY.resolve(fileName);
+            assumeTrue(Files.isRegularFile(file), "Export de test absent : " + file);
+            FileSystemResource source = new FileSystemResource(file);
+            salesService.importSales(source, salesService.scanSource(source), fileName,
+                    SalesService.ImportMode.FULL, new ImportProgress());
+        }
+        int invoices = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM invoices", Integer.class);
+
+        System.out.printf("%nStatistiques vendeurs %s - %s (%d factures en base)%n", START_DATE, END_DATE, invoices);
+        System.out.printf("%-36s %12s%n", "Requête", "Médiane (ms)");
+        report("CA vendeurs, factures (sous-requête)", () -> jdbcTemplate.queryForList(
+                SalesDailyRollupRepositoryTest.REFERENCE_SELLER_REVENUE, START_DATE, END_DATE, START_DATE, END_DATE));
+        report("CA vendeurs, agrégats", () -> salesDailyRollupRepository.getSellerRevenueStats(START_DATE, END_DATE));
+        report("Factures nettes, factures (corrélées)", () -> jdbcTemplate.queryForList(
+                SalesDailyRollupRepositoryTest.REFERENCE_INVOICE_COUNTS, START_DATE, END_DATE, START_DATE, END_DATE,
+                START_DATE, END_DATE));
+        report("Paniers moyens, agrégats",
+                () -> salesDailyRollupRepository.calculateAverageBasketMetrics(START_DATE, END_DATE));
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Exécute une requête et affiche son temps médian
+     *
+     * @param name  Libellé de la requête
+     * @param query Exécution de la requête
+     */
+    private static void report(String name, Runnable query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.run();
+        }
+        double[] durations = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            durations[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(durations);
+        System.out.printf("%-36s %12.2f%n", name, durations[MEASURED_RUNS / 2]);
+    }
+}
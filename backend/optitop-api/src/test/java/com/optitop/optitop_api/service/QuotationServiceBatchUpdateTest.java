@@ -0,0 +1,188 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS DTOs =====
+import com.optitop.optitop_api.dto.QuotationUpdateDTO;
+import com.optitop.optitop_api.dto.QuotationUpdateResultDTO;
+import com.optitop.optitop_api.dto.QuotationUpdateResultDTO.Status;
+
+// ===== IMPORTS TESTS =====
+import com.optitop.optitop_api.MariaDbIntegrationTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+/**
+ * Tests d'intégration de la mise à jour en lot des devis
+ *
+ * - Verrouillage optimiste sous concurrence : plusieurs lots simultanés sur
+ * les mêmes devis, aucune modification perdue ni version attribuée deux fois
+ * - Versions retournées relues en base
+ * - Devis présent plusieurs fois dans un lot rejeté
+ */
+class QuotationServiceBatchUpdateTest extends MariaDbIntegrationTest {
+
+    // ===== CONSTANTES =====
+
+    private static final int QUOTATIONS = 10;
+    private static final int THREADS = 8;
+    private static final int BATCHES_PER_THREAD = 40;
+    private static final int BATCH_SIZE = 5;
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private QuotationService quotationService;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        deleteSalesData();
+        for (int i = 0; i < QUOTATIONS; i++) {
+            jdbcTemplate.update("INSERT INTO quotations (date, client_id, client, created_at, is_validated) "
+                    + "VALUES (?, ?, ?, ?, 0)", LocalDate.of(2024, 3, 1), "C" + i, "Client " + i,
+                    LocalDateTime.now());
+        }
+        ids = jdbcTemplate.queryForList("SELECT id FROM quotations ORDER BY id", Long.class);
+    }
+
+    // ===== TESTS =====
+
+    @Test
+    void concurrentBatchesNeverLoseAnUpdate() throws Exception {
+        Map<Long, Long> initialVersions = versions();
+        // (devis, version) -> commentaire enregistré avec cette version
+        Map<Long, Map<Long, String>> written = new ConcurrentHashMap<>();
+        ids.forEach(id -> written.put(id, new ConcurrentHashMap<>()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    runBatches(thread, written);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<Long, Long> finalVersions = versions();
+        for (long id : ids) {
+            // Chaque version entre la version initiale et la version finale
+            // retournée une et une seule fois
+            assertThat(written.get(id).keySet()).containsExactlyInAnyOrderElementsOf(
+                    LongStream.rangeClosed(initialVersions.get(id) + 1, finalVersions.get(id)).boxed().toList());
+            assertThat(jdbcTemplate.queryForObject("SELECT comment FROM quotations WHERE id = ?", String.class, id))
+                    .isEqualTo(written.get(id).get(finalVersions.get(id)));
+        }
+    }
+
+    @Test
+    void returnedVersionIsReadFromDatabase() {
+        long id = ids.get(0);
+        jdbcTemplate.update("UPDATE quotations SET version = 7 WHERE id = ?", id);
+
+        // Sans version fournie : modification sans contrôle, version relue
+        List<QuotationUpdateResultDTO> results = quotationService.batchUpdate(List.of(update(id, "a", null)));
+        assertThat(results.get(0).getStatus()).isEqualTo(Status.UPDATED);
+        assertThat(results.get(0).getVersion()).isEqualTo(8L);
+
+        results = quotationService.batchUpdate(List.of(update(id, "b", 8L), update(ids.get(1), "c", 3L)));
+        assertThat(results).extracting(QuotationUpdateResultDTO::getStatus)
+                .containsExactly(Status.UPDATED, Status.CONFLICT);
+        assertThat(results).extracting(QuotationUpdateResultDTO::getVersion).containsExactly(9L, null);
+    }
+
+    @Test
+    void duplicateIdsInBatchAreRejected() {
+        long duplicated = ids.get(0);
+        List<QuotationUpdateResultDTO> results = quotationService.batchUpdate(List.of(
+                update(duplicated, "premier", 0L),
+                update(ids.get(1), "autre", 0L),
+                update(duplicated, "second", 0L),
+                update(-1L, "absent", 0L)));
+
+        assertThat(results).extracting(QuotationUpdateResultDTO::getStatus)
+                .containsExactly(Status.DUPLICATE, Status.UPDATED, Status.DUPLICATE, Status.NOT_FOUND);
+        assertThat(versions().get(duplicated)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT comment FROM quotations WHERE id = ?", String.class,
+                duplicated)).isNull();
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * Envoie des lots de devis tirés au hasard avec la dernière version
+     * connue ; en cas de conflit, les versions sont relues
+     */
+    private void runBatches(int thread, Map<Long, Map<Long, String>> written) {
+        Random random = new Random(thread);
+        Map<Long, Long> known = versions();
+        for (int b = 0; b < BATCHES_PER_THREAD; b++) {
+            List<Long> batchIds = new ArrayList<>(ids);
+            Collections.shuffle(batchIds, random);
+            List<QuotationUpdateDTO> updates = new ArrayList<>();
+            for (long id : batchIds.subList(0, BATCH_SIZE)) {
+                updates.add(update(id, "t" + thread + "-" + b + "-" + id, known.get(id)));
+            }
+
+            List<QuotationUpdateResultDTO> results = quotationService.batchUpdate(updates);
+            boolean conflict = false;
+            for (int i = 0; i < updates.size(); i++) {
+                QuotationUpdateResultDTO result = results.get(i);
+                assertThat(result.getStatus()).isIn(Status.UPDATED, Status.CONFLICT);
+                if (result.getStatus() == Status.UPDATED) {
+                    String previous = written.get(result.getId()).put(result.getVersion(),
+                            updates.get(i).getComment());
+                    assertThat(previous).as("version %d attribuée deux fois", result.getVersion()).isNull();
+                    known.put(result.getId(), result.getVersion());
+                } else {
+                    conflict = true;
+                }
+            }
+            if (conflict) {
+                known = versions();
+            }
+        }
+    }
+
+    private Map<Long, Long> versions() {
+        Map<Long, Long> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT id, version FROM quotations", rs -> {
+            versions.put(rs.getLong(1), rs.getLong(2));
+        });
+        return versions;
+    }
+
+    private static QuotationUpdateDTO update(long id, String comment, Long version) {
+        QuotationUpdateDTO update = new QuotationUpdateDTO(id);
+        update.setAction("");
+        update.setComment(comment);
+        update.setVersion(version);
+        return update;
+    }
+}
@@ -0,0 +1,231 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS TESTS =====
+import com.optitop.optitop_api.MariaDbIntegrationTest;
+import com.optitop.optitop_api.model.SalesImport;
+import com.optitop.optitop_api.repository.SalesImportRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tests d'intégration de l'import des ventes
+ *
+ * Cas des factures dont les lignes couvrent plusieurs jours : la facture
+ * est construite à partir de toutes ses lignes (date de la première ligne,
+ * optique si une ligne de verres), même lorsque l'import ne réécrit qu'une
+ * partie de ses jours ou que ses jours sont validés dans deux étapes d'un
+ * import par étapes (une étape par jour).
+ *
+ * Reprise d'un import par étapes : le point de reprise est abandonné si un
+ * autre import a écrit depuis sur les jours déjà validés.
+ */
+@TestPropertySource(properties = "optitop.import.chunk-rows=1")
+class SalesServiceImportTest extends MariaDbIntegrationTest {
+
+    // ===== CONSTANTES =====
+
+    private static final String HEADER = "Date;C.;Num client;Client;N° fact.;F.;Q;TotHT;TotTTC;Taux TVA;"
+            + "RefVendeur;Rm / Mj;Total facture;Paire;Type";
+
+    /**
+     * Facture F200 sur deux jours : monture le 02/03, verres le 03/03
+     */
+    private static final List<String> MARCH_LINES = List.of(
+            line("01/03/2024", "F100", "MON", "150,00"),
+            line("02/03/2024", "F200", "MON", "300,00"),
+            line("03/03/2024", "F200", "VER", "300,00"),
+            line("03/03/2024", "F300", "DIV", "20,00"),
+            line("04/03/2024", "F400", "VER", "250,00"));
+
+    /**
+     * Facture F900 sur les deux premiers jours de mars
+     */
+    private static final List<String> OTHER_LINES = List.of(
+            line("01/03/2024", "F900", "MON", "90,00"),
+            line("02/03/2024", "F900", "DIV", "90,00"));
+
+    // ===== INJECTION DES DÉPENDANCES =====
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private SalesImportRepository salesImportRepository;
+
+    @BeforeEach
+    void setUp() {
+        deleteSalesData();
+    }
+
+    // ===== IMPORT DIFFÉRENTIEL =====
+
+    @Test
+    void deltaImportRebuildsInvoiceFromAllItsLines() throws Exception {
+        importSales(MARCH_LINES, SalesService.ImportMode.FULL);
+
+        // Seul le 03/03 change : la ligne de verres de F200 devient un accessoire
+        importSales(List.of(
+                line("01/03/2024", "F100", "MON", "150,00"),
+                line("02/03/2024", "F200", "MON", "300,00"),
+                line("03/03/2024", "F200", "DIV", "300,00"),
+                line("03/03/2024", "F300", "DIV", "20,00"),
+                line("04/03/2024", "F400", "VER", "250,00")), SalesService.ImportMode.DELTA);
+
+        assertThat(invoiceCount()).isEqualTo(4);
+        assertInvoice("F200", LocalDate.of(2024, 3, 2), false);
+        assertThat(opticalInvoices(LocalDate.of(2024, 3, 2))).isZero();
+    }
+
+    @Test
+    void deltaImportKeepsInvoiceOfUnchangedFirstDay() throws Exception {
+        importSales(List.of(
+                line("01/03/2024", "F100", "MON", "150,00"),
+                line("02/03/2024", "F200", "MON", "300,00"),
+                line("03/03/2024", "F300", "DIV", "20,00")), SalesService.ImportMode.FULL);
+
+        // Ajout le 03/03 d'une ligne de verres à F200, facture du 02/03
+        importSales(MARCH_LINES, SalesService.ImportMode.DELTA);
+
+        assertThat(invoiceCount()).isEqualTo(4);
+        assertInvoice("F200", LocalDate.of(2024, 3, 2), true);
+        assertThat(opticalInvoices(LocalDate.of(2024, 3, 2))).isEqualTo(1);
+        assertThat(opticalInvoices(LocalDate.of(2024, 3, 3))).isZero();
+    }
+
+    // ===== IMPORT COMPLET =====
+
+    @Test
+    void fullImportOfPartialPeriodKeepsSpanningInvoice() throws Exception {
+        importSales(MARCH_LINES, SalesService.ImportMode.FULL);
+
+        // Réimport du seul 03/03 : F200 garde sa ligne du 02/03
+        importSales(List.of(
+                line("03/03/2024", "F200", "VER", "300,00"),
+                line("03/03/2024", "F300", "DIV", "20,00")), SalesService.ImportMode.FULL);
+
+        assertThat(invoiceCount()).isEqualTo(4);
+        assertInvoice("F200", LocalDate.of(2024, 3, 2), true);
+        assertThat(opticalInvoices(LocalDate.of(2024, 3, 2))).isEqualTo(1);
+    }
+
+    // ===== IMPORT PAR ÉTAPES =====
+
+    @Test
+    void chunkedImportBuildsInvoiceSpanningTwoChunks() throws Exception {
+        SalesImport salesImport = importChunked(MARCH_LINES);
+
+        assertThat(salesImport.getStatus()).isEqualTo(SalesImport.Status.COMPLETED);
+        assertThat(salesImport.getInvoicesLines()).isEqualTo(MARCH_LINES.size());
+        assertThat(invoiceCount()).isEqualTo(4);
+        assertInvoice("F200", LocalDate.of(2024, 3, 2), true);
+        assertThat(opticalInvoices(LocalDate.of(2024, 3, 2))).isEqualTo(1);
+        assertThat(opticalInvoices(LocalDate.of(2024, 3, 3))).isZero();
+
+        // Réimport du même fichier : mêmes factures
+        importChunked(MARCH_LINES);
+        assertThat(invoiceCount()).isEqualTo(4);
+        assertInvoice("F200", LocalDate.of(2024, 3, 2), true);
+    }
+
+    @Test
+    void chunkedImportResumesAfterCheckpoint() throws Exception {
+        importSales(OTHER_LINES, SalesService.ImportMode.FULL);
+        SalesImport interrupted = interruptedImport(MARCH_LINES, LocalDateTime.now().plusMinutes(1));
+
+        SalesImport resumed = importChunked(MARCH_LINES);
+
+        // Jours validés avant l'interruption non réécrits
+        assertThat(resumed.getId()).isEqualTo(interrupted.getId());
+        assertThat(invoiceRefs()).containsExactly("F200", "F300", "F400", "F900");
+    }
+
+    @Test
+    void chunkedImportRestartsWhenCommittedDaysWereRewritten() throws Exception {
+        SalesImport interrupted = interruptedImport(MARCH_LINES, LocalDateTime.now().minusHours(1));
+        importSales(OTHER_LINES, SalesService.ImportMode.FULL);
+
+        SalesImport resumed = importChunked(MARCH_LINES);
+
+        assertThat(resumed.getId()).isEqualTo(interrupted.getId());
+        assertThat(resumed.getInvoicesLines()).isEqualTo(MARCH_LINES.size());
+        assertThat(invoiceRefs()).containsExactly("F100", "F200", "F300", "F400");
+        assertInvoice("F200", LocalDate.of(2024, 3, 2), true);
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * @return Ligne de facture d'une référence et d'une famille, vendeur irau
+     */
+    private static String line(String date, String invoiceRef, String family, String total) {
+        return date + ";MIFG;101003493;Méhaut Zoé;" + invoiceRef + ";" + family + ";1;" + total + ";" + total
+                + ";20,00;irau;0,00;" + total + ";1;facture";
+    }
+
+    private void importSales(List<String> lines, SalesService.ImportMode mode) throws Exception {
+        ByteArrayResource source = toSource(lines);
+        SalesService.ImportScan scan = salesService.scanSource(source);
+        salesService.importSales(source, scan, "test.csv", mode, new ImportProgress());
+    }
+
+    private SalesImport importChunked(List<String> lines) throws Exception {
+        ByteArrayResource source = toSource(lines);
+        SalesService.ImportScan scan = salesService.scanSource(source);
+        salesService.importSalesChunked(source, scan, "test.csv", new ImportProgress());
+        return salesImportRepository.findFirstByChecksumAndStatusInOrderByIdDesc(scan.checksum(),
+                List.of(SalesImport.Status.COMPLETED)).orElseThrow();
+    }
+
+    /**
+     * Enregistre un import par étapes du fichier interrompu après le 02/03
+     *
+     * @param checkpoint Date et heure du point de reprise
+     * @return Import interrompu
+     */
+    private SalesImport interruptedImport(List<String> lines, LocalDateTime checkpoint) throws Exception {
+        SalesService.ImportScan scan = salesService.scanSource(toSource(lines));
+        SalesImport salesImport = new SalesImport("test.csv", SalesImport.Mode.CHUNKED, scan.checksum(),
+                scan.minDate(), scan.maxDate());
+        salesImport.setStatus(SalesImport.Status.FAILED);
+        salesImport.setLastCommittedDate(LocalDate.of(2024, 3, 2));
+        salesImport.setUpdatedAt(checkpoint);
+        return salesImportRepository.save(salesImport);
+    }
+
+    private static ByteArrayResource toSource(List<String> lines) {
+        return new ByteArrayResource((HEADER + "\n" + String.join("\n", lines) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int invoiceCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM invoices", Integer.class);
+    }
+
+    private List<String> invoiceRefs() {
+        return jdbcTemplate.queryForList("SELECT invoice_ref FROM invoices ORDER BY invoice_ref", String.class);
+    }
+
+    private void assertInvoice(String invoiceRef, LocalDate date, boolean optical) {
+        assertThat(jdbcTemplate.queryForObject("SELECT date FROM invoices WHERE invoice_ref = ?", LocalDate.class,
+                invoiceRef)).isEqualTo(date);
+        assertThat(jdbcTemplate.queryForObject("SELECT is_optical FROM invoices WHERE invoice_ref = ?",
+                Boolean.class, invoiceRef)).isEqualTo(optical);
+    }
+
+    private int opticalInvoices(LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(optical_invoices), 0) FROM sales_daily_rollup "
+                + "WHERE date = ?", Integer.class, date);
+    }
+}
@@ -0,0 +1,203 @@
+package com.optitop.optitop_api.service;
+
+// ===== IMPORTS ANALYSE CSV =====
+import com.optitop.optitop_api.utils.SalesCsvLine;
+import com.optitop.optitop_api.utils.SalesCsvParser;
+
+// ===== IMPORTS TESTS =====
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests du pipeline d'analyse parallèle de l'import des ventes
+ *
+ * Vérifie que l'analyse par morceaux sur plusieurs threads transmet les
+ * mêmes lignes, dans le même ordre, qu'une analyse séquentielle du fichier,
+ * même lorsque les morceaux terminent dans le désordre, et que le nombre de
+ * morceaux en cours reste borné.
+ */
+class SalesServiceParsePipelineTest {
+
+    // ===== CONSTANTES =====
+
+    /**
+     * Nombre de lignes du fichier : plusieurs fois la limite de morceaux en
+     * cours, avec un dernier morceau incomplet
+     */
+    private static final int LINE_COUNT = SalesService.PARSE_CHUNK_SIZE * SalesService.MAX_CHUNKS_IN_FLIGHT * 3 + 123;
+
+    /**
+     * Intervalle des lignes invalides (ligne de totaux de l'export)
+     */
+    private static final int INVALID_EVERY = 997;
+
+    private static final String HEADER = "﻿Date;C.;Num client;Client;N° fact.;F.;Q;TotHT;TotTTC;Taux TVA;"
+            + "RefVendeur;Rm / Mj;Total facture;Paire;Type";
+
+    // ===== CONTEXTE =====
+
+    private TrackingExecutor executor;
+    private SalesService salesService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new TrackingExecutor(4);
+        salesService = new SalesService();
+        ReflectionTestUtils.setField(salesService, "salesParseExecutor", executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ===== TESTS =====
+
+    @Test
+    void parallelParseMatchesSequentialParseInFileOrder() throws Exception {
+        List<String> lines = generateLines();
+        List<SalesCsvLine> expected = SalesCsvParser.parseAll(lines, error -> {
+        });
+
+        ImportProgress progress = new ImportProgress();
+        List<SalesCsvLine> actual = new ArrayList<>();
+        salesService.processDataLines(toSource(lines), progress, actual::add);
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(progress.getRowsParsed()).isEqualTo(LINE_COUNT);
+        assertThat(progress.getErrorCount()).isEqualTo(LINE_COUNT / INVALID_EVERY);
+
+        // Les morceaux ont bien terminé dans le désordre
+        assertThat(executor.completionOrder).isNotEqualTo(
+                executor.completionOrder.stream().sorted().toList());
+    }
+
+    @Test
+    void chunksInFlightAreBounded() throws Exception {
+        List<String> lines = generateLines();
+
+        salesService.processDataLines(toSource(lines), null, line -> {
+        });
+
+        int expectedChunks = (LINE_COUNT + SalesService.PARSE_CHUNK_SIZE - 1) / SalesService.PARSE_CHUNK_SIZE;
+        assertThat(executor.submitted.get()).isEqualTo(expectedChunks);
+        assertThat(executor.consumed.get()).isEqualTo(expectedChunks);
+        assertThat(executor.maxInFlight.get()).isEqualTo(SalesService.MAX_CHUNKS_IN_FLIGHT);
+    }
+
+    @Test
+    void emptySourceProducesNoLines() throws Exception {
+        List<SalesCsvLine> actual = new ArrayList<>();
+
+        salesService.processDataLines(new ByteArrayResource(HEADER.getBytes(StandardCharsets.UTF_8)), null,
+                actual::add);
+
+        assertThat(actual).isEmpty();
+        assertThat(executor.submitted.get()).isZero();
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * @return Lignes de données de factures et de devis, avec une ligne de
+     *         totaux invalide à intervalle régulier
+     */
+    private static List<String> generateLines() {
+        List<String> lines = new ArrayList<>(LINE_COUNT);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        String[] sellers = { "bstud", "irau", "hiskander", "egaligai" };
+        String[] families = { "VER", "MON", "DIV", "LENT" };
+        for (int i = 1; i <= LINE_COUNT; i++) {
+            if (i % INVALID_EVERY == 0) {
+                lines.add(";;;Total;;;3159;249815,75;299778,06;;irau;-106400,54;;;");
+                continue;
+            }
+            LocalDate date = start.plusDays(i / 150);
+            boolean quotation = i % 3 == 0;
+            lines.add(String.format("%02d/%02d/%04d;MIFG;%d;Client %d;%s%d;%s;%d;%d,%02d;%d,%02d;20,00;%s;0,00;%d,%02d;%s;%s",
+                    date.getDayOfMonth(), date.getMonthValue(), date.getYear(),
+                    101000000 + i % 5000, i % 5000,
+                    quotation ? "D" : "F", 103000000 + i / 3,
+                    families[i % families.length], 1 + i % 2,
+                    i % 700, i % 100, i % 840, i % 100,
+                    sellers[i % sellers.length],
+                    i % 1500, i % 100,
+                    i % 5 == 0 ? "" : String.valueOf(1 + i % 2),
+                    quotation ? "devis" : i % 11 == 0 ? "avoir" : "facture"));
+        }
+        return lines;
+    }
+
+    /**
+     * @param lines Lignes de données
+     * @return Fichier CSV en mémoire, avec BOM et ligne d'en-tête
+     */
+    private static ByteArrayResource toSource(List<String> lines) {
+        return new ByteArrayResource((HEADER + "\n" + String.join("\n", lines) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Pool d'analyse instrumenté
+     *
+     * - Compte les morceaux soumis et ceux repris par le thread d'écriture
+     * (appel de Future.get) pour mesurer le nombre de morceaux en cours
+     * - Ralentit le premier morceau de chaque série de quatre : les morceaux
+     * suivants terminent avant lui
+     */
+    private static final class TrackingExecutor extends ThreadPoolExecutor {
+
+        private final AtomicInteger submitted = new AtomicInteger();
+        private final AtomicInteger consumed = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final List<Integer> completionOrder = Collections.synchronizedList(new ArrayList<>());
+
+        private TrackingExecutor(int threads) {
+            super(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            int index = submitted.getAndIncrement();
+            maxInFlight.accumulateAndGet(index + 1 - consumed.get(), Math::max);
+
+            FutureTask<T> future = new FutureTask<>(() -> {
+                if (index % 4 == 0) {
+                    Thread.sleep(20);
+                }
+                T result = task.call();
+                completionOrder.add(index);
+                return result;
+            }) {
+                @Override
+                public T get() throws InterruptedException, ExecutionException {
+                    T result = super.get();
+                    consumed.incrementAndGet();
+                    return result;
+                }
+            };
+            execute(future);
+            return future;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.optitop.optitop_api.utils;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Analyse de référence des lignes de l'export CSV des ventes
+ *
+ * Reprend l'analyse par découpage String.split utilisée avant
+ * {@link SalesCsvTokenizer} : sert de référence aux tests d'équivalence et
+ * de point de comparaison au benchmark.
+ */
+final class BaselineSalesCsvParser {
+
+    // ===== CONSTANTES =====
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Répertoire des exports de test, relatif au module
+     */
+    private static final Path SAMPLES_DIRECTORY = Path.of("../../Ressources/Fichiers .csv/Tests");
+
+    private BaselineSalesCsvParser() {
+    }
+
+    // ===== ANALYSE =====
+
+    /**
+     * Analyse une ligne CSV par découpage sur le séparateur
+     *
+     * @param line Ligne brute
+     * @return Ligne analysée
+     * @throws RuntimeException si la ligne est incomplète ou mal formée
+     */
+    static SalesCsvLine parse(String line) {
+        String[] columns = line.split(";");
+
+        return new SalesCsvLine(
+                LocalDate.parse(columns[0], DATE_FORMATTER),
+                columns[2],
+                columns[3],
+                columns[4],
+                columns[5],
+                Integer.parseInt(columns[6]),
+                Double.parseDouble(columns[8].replace(",", ".")),
+                Double.parseDouble(columns[12].replace(",", ".")),
+                columns[13].isEmpty() ? null : Integer.parseInt(columns[13]),
+                columns[SalesCsvTokenizer.TYPE_COLUMN].toLowerCase(),
+                columns[SalesCsvTokenizer.SELLER_REF_COLUMN]);
+    }
+
+    // ===== FICHIERS D'EXEMPLE =====
+
+    /**
+     * Lit les lignes de données d'un export de test
+     *
+     * @param fileName Nom du fichier dans le répertoire des exports de test
+     * @return Lignes de données (sans en-tête ni lignes vides), liste vide si
+     *         le fichier est absent
+     * @throws IOException si erreur de lecture
+     */
+    static List<String> readSample(String fileName) throws IOException {
+        Path file = SAMPLES_DIRECTORY.resolve(fileName);
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        return lines.stream()
+                .skip(1)
+                .filter(line -> !line.isBlank())
+                .toList();
+    }
+}
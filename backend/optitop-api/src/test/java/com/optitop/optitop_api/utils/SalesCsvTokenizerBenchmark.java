@@ -0,0 +1,127 @@
+package com.optitop.optitop_api.utils;
+
+// ===== IMPORTS JMH =====
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// ===== IMPORTS TESTS =====
+import org.junit.jupiter.api.Test;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de l'analyse d'une ligne de l'export CSV des ventes
+ *
+ * Compare l'analyse de référence par String.split
+ * ({@link BaselineSalesCsvParser}) au découpeur {@link SalesCsvTokenizer},
+ * sur les lignes de l'export de test 2024 (ou des lignes générées si
+ * l'export est absent).
+ *
+ * Non exécuté par la suite de tests (nom hors des motifs de Surefire) :
+ * mvn test -Dtest=SalesCsvTokenizerBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class SalesCsvTokenizerBenchmark {
+
+    // ===== CONSTANTES =====
+
+    private static final String SAMPLE_FILE = "test_2024.csv";
+
+    // ===== ÉTAT =====
+
+    private String[] lines;
+    private SalesCsvTokenizer tokenizer;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> valid = new ArrayList<>();
+        for (String line : sampleLines()) {
+            try {
+                BaselineSalesCsvParser.parse(line);
+                valid.add(line);
+            } catch (RuntimeException e) {
+                // Ligne de totaux : hors mesure
+            }
+        }
+        lines = valid.toArray(String[]::new);
+        tokenizer = new SalesCsvTokenizer();
+    }
+
+    // ===== MESURES =====
+
+    @Benchmark
+    public SalesCsvLine splitBaseline() {
+        return BaselineSalesCsvParser.parse(nextLine());
+    }
+
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) {
+        tokenizer.load(nextLine());
+        blackhole.consume(tokenizer.toSalesLine());
+    }
+
+    // ===== LANCEMENT =====
+
+    /**
+     * Lance le benchmark depuis Maven (mvn test -Dtest=SalesCsvTokenizerBenchmark)
+     *
+     * @throws RunnerException si erreur d'exécution JMH
+     */
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SalesCsvTokenizerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    private String nextLine() {
+        String line = lines[next];
+        next = next + 1 == lines.length ? 0 : next + 1;
+        return line;
+    }
+
+    /**
+     * @return Lignes de l'export de test, ou lignes générées si absent
+     * @throws IOException si erreur de lecture
+     */
+    private static List<String> sampleLines() throws IOException {
+        List<String> sample = BaselineSalesCsvParser.readSample(SAMPLE_FILE);
+        if (!sample.isEmpty()) {
+            return sample;
+        }
+        List<String> generated = new ArrayList<>();
+        String[] families = { "VER", "MON", "DIV", "LENT" };
+        for (int i = 1; i <= 10_000; i++) {
+            generated.add(String.format("%02d/%02d/2024;MIFG;%d;Client %d;F%d;%s;%d;%d,%02d;%d,%02d;20,00;irau;0,00;"
+                    + "%d,%02d;%s;facture",
+                    1 + i % 28, 1 + i % 12, 101000000 + i, i, 103000000 + i / 3, families[i % 4], 1 + i % 2,
+                    i % 700, i % 100, i % 840, i % 100, i % 1500, i % 100, i % 5 == 0 ? "" : "1"));
+        }
+        return generated;
+    }
+}
@@ -0,0 +1,200 @@
+package com.optitop.optitop_api.utils;
+
+// ===== IMPORTS TESTS =====
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+// ===== IMPORTS UTILITAIRES =====
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests du découpeur de l'export CSV des ventes
+ *
+ * Chaque ligne est comparée à l'analyse de référence par String.split
+ * ({@link BaselineSalesCsvParser}) : même résultat, ou rejet par les deux.
+ * Les décimaux lus sans Double.parseDouble doivent donner exactement le
+ * même double (comparaison des bits).
+ */
+class SalesCsvTokenizerTest {
+
+    // ===== DÉCIMAUX =====
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "7", "119,00", "120,00", "0,5", "0,1", "0,3", "12,345", "99,99",
+            "1.5", "3,", ",5", "-3,20", "+4,10", "-0,00", "0,000000001", "299778,06", "-106400,54",
+            "123456789012345", "12345678901234,5", "0,123456789012345" })
+    void decimalFastPathMatchesBaseline(String value) {
+        assertSameAsBaseline(line(value, value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1234567890123456", "1234567890123456,78", "0,1234567890123456789",
+            "-99999999999999999,99", "1,5E3", "1.5e-2", "Infinity", "-NaN" })
+    void unusualDecimalsFallBackToDoubleParseDouble(String value) {
+        assertSameAsBaseline(line(value, value));
+        assertThat(bits(parse(line(value, value)).totalTtc()))
+                .isEqualTo(bits(Double.parseDouble(value.replace(',', '.'))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "-", "+", ",", "1,2,3", "1 000,00", "12a", "--1" })
+    void invalidDecimalsAreRejectedLikeBaseline(String value) {
+        assertRejectedByBoth(line(value, "1,00"));
+        assertRejectedByBoth(line("1,00", value));
+    }
+
+    @Test
+    void randomDecimalsMatchDoubleParseDoubleBitForBit() {
+        Random random = new Random(20241101L);
+        SalesCsvTokenizer tokenizer = new SalesCsvTokenizer();
+        for (int i = 0; i < 200_000; i++) {
+            int digits = 1 + random.nextInt(18);
+            int scale = random.nextInt(Math.min(digits, 10) + 1);
+            StringBuilder value = new StringBuilder();
+            if (random.nextInt(4) == 0) {
+                value.append(random.nextBoolean() ? '-' : '+');
+            }
+            for (int d = 0; d < digits; d++) {
+                if (d == digits - scale && scale > 0) {
+                    value.append(random.nextBoolean() ? ',' : '.');
+                }
+                value.append((char) ('0' + random.nextInt(10)));
+            }
+
+            String text = value.toString();
+            tokenizer.load(line(text, "1,00"));
+            double expected = Double.parseDouble(text.replace(',', '.'));
+            assertThat(bits(tokenizer.toSalesLine().totalTtc()))
+                    .as("décimal %s", text)
+                    .isEqualTo(bits(expected));
+        }
+    }
+
+    // ===== CHAMPS VIDES ET ENTIERS =====
+
+    @Test
+    void emptyPairIsNull() {
+        SalesCsvLine parsed = parse(
+                "01/11/2024;MIFG;103000004;PASSAGE passage;F103069512;DIV;1;12,50;15,00;20,00;hiskander;0,00;15,00;;facture");
+
+        assertThat(parsed.pair()).isNull();
+        assertSameAsBaseline(
+                "01/11/2024;MIFG;103000004;PASSAGE passage;F103069512;DIV;1;12,50;15,00;20,00;hiskander;0,00;15,00;;facture");
+    }
+
+    @Test
+    void emptyTypeIsRejected() {
+        assertRejectedByBoth(";;;Houbre Sohan;;;3159;249815,75;299778,06;;irau;-106400,54;;;");
+        assertThatThrownBy(() -> parse(
+                "01/11/2024;MIFG;103000004;PASSAGE passage;F103069512;DIV;1;12,50;15,00;20,00;hiskander;0,00;15,00;;"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "-2", "+3", "0", "999999999", "1234567890", "" })
+    void quantitiesMatchBaseline(String quantity) {
+        String line = "01/11/2024;MIFG;101003493;Méhaut Zoé;F103069513;VER;" + quantity
+                + ";100,00;120,00;20,00;irau;0,00;471,00;1;facture";
+        if (quantity.isEmpty()) {
+            assertRejectedByBoth(line);
+        } else {
+            assertSameAsBaseline(line);
+        }
+    }
+
+    // ===== DATES =====
+
+    @ParameterizedTest
+    @ValueSource(strings = { "32/01/2024", "00/01/2024", "01/00/2024", "01/01/0000", "1/11/2024", "2024-11-01",
+            "01/13/2024", "0a/11/2024", "" })
+    void invalidDatesAreRejectedLikeBaseline(String date) {
+        assertRejectedByBoth(date + ";MIFG;101003493;Méhaut Zoé;F103069513;VER;1;100,00;120,00;20,00;irau;0,00;"
+                + "471,00;1;facture");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "31/02/2024", "30/02/2023", "31/04/2025", "29/02/2024", "31/12/2024" })
+    void daysPastMonthEndResolveLikeBaseline(String date) {
+        assertSameAsBaseline(date + ";MIFG;101003493;Méhaut Zoé;F103069513;VER;1;100,00;120,00;20,00;irau;0,00;"
+                + "471,00;1;facture");
+    }
+
+    @Test
+    void parseDateReadsDayMonthYear() {
+        SalesCsvTokenizer tokenizer = new SalesCsvTokenizer();
+        tokenizer.load("29/02/2024;MIFG;1;C;D1;VER;1;1,00;1,00;20,00;irau;0,00;1,00;1;devis");
+
+        assertThat(tokenizer.parseDate()).isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    // ===== FICHIERS D'EXEMPLE =====
+
+    @ParameterizedTest
+    @ValueSource(strings = { "test_Nov2024.csv", "test_2023.csv", "test_2024.csv", "test_20250214.csv",
+            "test_20250212-13_with_new_user.csv" })
+    void sampleExportsParseLikeBaseline(String fileName) throws IOException {
+        List<String> lines = BaselineSalesCsvParser.readSample(fileName);
+        assumeFalse(lines.isEmpty(), "Export de test absent : " + fileName);
+
+        SalesCsvTokenizer tokenizer = new SalesCsvTokenizer();
+        int rejected = 0;
+        for (String line : lines) {
+            SalesCsvLine expected;
+            try {
+                expected = BaselineSalesCsvParser.parse(line);
+            } catch (RuntimeException e) {
+                rejected++;
+                tokenizer.load(line);
+                assertThatThrownBy(tokenizer::toSalesLine).as("ligne %s", line).isInstanceOf(RuntimeException.class);
+                continue;
+            }
+            tokenizer.load(line);
+            assertThat(tokenizer.toSalesLine()).as("ligne %s", line).isEqualTo(expected);
+        }
+        assertThat(rejected).isLessThan(lines.size() / 100 + 2);
+    }
+
+    // ===== MÉTHODES UTILITAIRES =====
+
+    /**
+     * @param totalTtc      Contenu de la colonne Total TTC
+     * @param documentTotal Contenu de la colonne Total facture
+     * @return Ligne de facture complète
+     */
+    private static String line(String totalTtc, String documentTotal) {
+        return "01/11/2024;MIFG;101003493;Méhaut Zoé;F103069513;VER;1;100,00;" + totalTtc
+                + ";20,00;irau;0,00;" + documentTotal + ";1;facture";
+    }
+
+    private static SalesCsvLine parse(String line) {
+        SalesCsvTokenizer tokenizer = new SalesCsvTokenizer();
+        tokenizer.load(line);
+        return tokenizer.toSalesLine();
+    }
+
+    private static void assertSameAsBaseline(String line) {
+        SalesCsvLine expected = BaselineSalesCsvParser.parse(line);
+        SalesCsvLine actual = parse(line);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(bits(actual.totalTtc())).isEqualTo(bits(expected.totalTtc()));
+        assertThat(bits(actual.documentTotal())).isEqualTo(bits(expected.documentTotal()));
+    }
+
+    private static void assertRejectedByBoth(String line) {
+        assertThatThrownBy(() -> BaselineSalesCsvParser.parse(line)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> parse(line)).isInstanceOf(RuntimeException.class);
+    }
+
+    private static long bits(double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+}
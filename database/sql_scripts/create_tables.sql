@@ -20,6 +20,10 @@ SET time_zone = "+00:00";
 --
 -- Base de données : `optitop`
 --
+-- Schéma de référence. L'API crée et met à jour la base à son démarrage par
+-- les migrations Flyway (backend/optitop-api/src/main/resources/db/migration),
+-- qu'il faut faire évoluer en même temps que ce script.
+--
 
 -- --------------------------------------------------------
 
@@ -111,7 +115,9 @@ CREATE TABLE `quotations` (
   `seller_ref` varchar(50) DEFAULT NULL,
   `is_validated` tinyint(1) NOT NULL DEFAULT 0,
   `action` enum('ATTENTE_MUTUELLE','ATTENTE_RETOUR','A_RELANCER','NON_VALIDE','VOIR_OPTICIEN') DEFAULT NULL,
-  `comment` varchar(255) DEFAULT NULL
+  `comment` varchar(255) DEFAULT NULL,
+  `total_quotation` double NOT NULL DEFAULT 0,
+  `version` bigint(20) NOT NULL DEFAULT 0
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
 
 -- --------------------------------------------------------
@@ -138,6 +144,68 @@ CREATE TABLE `quotations_lines` (
 
 -- --------------------------------------------------------
 
+--
+-- Structure de la table `sales_daily_rollup`
+--
+
+CREATE TABLE `sales_daily_rollup` (
+  `id` bigint(20) NOT NULL,
+  `date` date NOT NULL,
+  `seller_ref` varchar(50) NOT NULL DEFAULT '',
+  `revenue` double NOT NULL DEFAULT 0,
+  `invoices` int(11) NOT NULL DEFAULT 0,
+  `optical_invoices` int(11) NOT NULL DEFAULT 0,
+  `optical_amount` double NOT NULL DEFAULT 0,
+  `optical_net_invoices` int(11) NOT NULL DEFAULT 0,
+  `p1_mon_lines` int(11) NOT NULL DEFAULT 0,
+  `p1_mon_count` int(11) NOT NULL DEFAULT 0,
+  `p1_mon_amount` double NOT NULL DEFAULT 0,
+  `p1_ver_count` int(11) NOT NULL DEFAULT 0,
+  `p1_ver_amount` double NOT NULL DEFAULT 0,
+  `p2_count` int(11) NOT NULL DEFAULT 0,
+  `p2_amount` double NOT NULL DEFAULT 0,
+  `premium_frames` int(11) NOT NULL DEFAULT 0,
+  `quotations` int(11) NOT NULL DEFAULT 0,
+  `validated_quotations` int(11) NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Structure de la table `sales_imports`
+--
+
+CREATE TABLE `sales_imports` (
+  `id` bigint(20) NOT NULL,
+  `file_name` varchar(255) DEFAULT NULL,
+  `mode` enum('FULL','DELTA','CHUNKED') NOT NULL DEFAULT 'CHUNKED',
+  `checksum` varchar(64) NOT NULL,
+  `start_date` date NOT NULL,
+  `end_date` date NOT NULL,
+  `status` enum('IN_PROGRESS','COMPLETED','FAILED','CANCELLED') NOT NULL,
+  `last_committed_date` date DEFAULT NULL,
+  `invoices_lines` int(11) NOT NULL DEFAULT 0,
+  `quotations_lines` int(11) NOT NULL DEFAULT 0,
+  `created_at` datetime NOT NULL,
+  `updated_at` datetime NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Structure de la table `sales_monthly_revenue`
+--
+
+CREATE TABLE `sales_monthly_revenue` (
+  `id` bigint(20) NOT NULL,
+  `month` date NOT NULL,
+  `seller_ref` varchar(50) NOT NULL DEFAULT '',
+  `revenue` double NOT NULL DEFAULT 0,
+  `invoices` int(11) NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
 --
 -- Structure de la table `seller`
 --
@@ -182,7 +250,8 @@ ALTER TABLE `email_config`
 ALTER TABLE `invoices`
   ADD PRIMARY KEY (`id`),
   ADD UNIQUE KEY `uq_invoice_ref` (`invoice_ref`),
-  ADD KEY `fk_invoices_seller_ref` (`seller_ref`);
+  ADD KEY `fk_invoices_seller_ref` (`seller_ref`),
+  ADD KEY `idx_invoices_date_seller` (`date`,`seller_ref`,`is_optical`,`status`,`total_invoice`);
 
 --
 -- Index pour la table `invoices_lines`
@@ -190,7 +259,8 @@ ALTER TABLE `invoices`
 ALTER TABLE `invoices_lines`
   ADD PRIMARY KEY (`id`),
   ADD KEY `fk_invoices_lines_seller` (`seller_ref`),
-  ADD KEY `invoices_lines_invoice_ref` (`invoice_ref`);
+  ADD KEY `invoices_lines_invoice_ref` (`invoice_ref`),
+  ADD KEY `idx_invoices_lines_date_seller` (`date`,`seller_ref`,`family`,`pair`,`total_ttc`);
 
 --
 -- Index pour la table `pending_accounts`
@@ -205,14 +275,39 @@ ALTER TABLE `pending_accounts`
 --
 ALTER TABLE `quotations`
   ADD PRIMARY KEY (`id`),
-  ADD KEY `fk_quotations_seller_ref` (`seller_ref`);
+  ADD KEY `fk_quotations_seller_ref` (`seller_ref`),
+  ADD KEY `idx_quotations_date_validated_seller` (`date`,`is_validated`,`seller_ref`),
+  ADD KEY `idx_quotations_client_date` (`client_id`,`date`),
+  ADD KEY `idx_quotations_worklist` (`seller_ref`,`is_validated`,`action`,`date`,`total_quotation`);
 
 --
 -- Index pour la table `quotations_lines`
 --
 ALTER TABLE `quotations_lines`
   ADD PRIMARY KEY (`id`),
-  ADD KEY `fk_quotations_lines_seller` (`seller_ref`);
+  ADD KEY `fk_quotations_lines_seller` (`seller_ref`),
+  ADD KEY `idx_quotations_lines_date_family_client` (`date`,`family`,`client_id`);
+
+--
+-- Index pour la table `sales_daily_rollup`
+--
+ALTER TABLE `sales_daily_rollup`
+  ADD PRIMARY KEY (`id`),
+  ADD UNIQUE KEY `uq_sales_daily_rollup_date_seller` (`date`,`seller_ref`);
+
+--
+-- Index pour la table `sales_imports`
+--
+ALTER TABLE `sales_imports`
+  ADD PRIMARY KEY (`id`),
+  ADD KEY `sales_imports_checksum` (`checksum`);
+
+--
+-- Index pour la table `sales_monthly_revenue`
+--
+ALTER TABLE `sales_monthly_revenue`
+  ADD PRIMARY KEY (`id`),
+  ADD UNIQUE KEY `uq_sales_monthly_revenue_month_seller` (`month`,`seller_ref`);
 
 --
 -- Index pour la table `seller`
@@ -269,6 +364,24 @@ ALTER TABLE `quotations`
 ALTER TABLE `quotations_lines`
   MODIFY `id` bigint(20) NOT NULL AUTO_INCREMENT;
 
+--
+-- AUTO_INCREMENT pour la table `sales_daily_rollup`
+--
+ALTER TABLE `sales_daily_rollup`
+  MODIFY `id` bigint(20) NOT NULL AUTO_INCREMENT;
+
+--
+-- AUTO_INCREMENT pour la table `sales_imports`
+--
+ALTER TABLE `sales_imports`
+  MODIFY `id` bigint(20) NOT NULL AUTO_INCREMENT;
+
+--
+-- AUTO_INCREMENT pour la table `sales_monthly_revenue`
+--
+ALTER TABLE `sales_monthly_revenue`
+  MODIFY `id` bigint(20) NOT NULL AUTO_INCREMENT;
+
 --
 -- AUTO_INCREMENT pour la table `seller`
 --
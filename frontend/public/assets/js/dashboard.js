@@ -8,15 +8,8 @@
 const CONFIG = {
     API_BASE_URL: 'http://localhost:8080',
     ENDPOINTS: {
-        // Endpoints factures
-        PERIOD_REVENUE: '/api/invoices/period-revenue',
-        TOTAL_STATS: '/api/invoices/total-stats',
-        SELLER_STATS: '/api/invoices/seller-stats',
-        AVERAGE_BASKETS: '/api/invoices/average-baskets',
-        FRAME_STATS: '/api/invoices/frame-stats',
-        
-        // Endpoints devis
-        QUOTATION_STATS: '/api/quotations/stats'
+        // Toutes les statistiques de la période en un appel
+        SNAPSHOT: '/api/dashboard/snapshot'
     },
     LOCALE: 'fr-FR',
     CURRENCY: 'EUR',
@@ -236,30 +229,40 @@ async function loadAllData() {
         return;
     }
 
-    // Chargement en parallèle des données magasin
-    await Promise.allSettled([
-        loadStoreRevenue(),
-        loadStoreConcretizationRate(),
-        loadStoreAverageBaskets(),
-        loadStoreFrameStats()
-    ]);
-
-    // Chargement en parallèle des données personnelles
-    await Promise.allSettled([
-        loadPersonalRevenue(),
-        loadPersonalQuotationStats(),
-        loadPersonalAverageBaskets(),
-        loadPersonalFrameStats()
-    ]);
+    let snapshot;
+    try {
+        snapshot = await apiUtils.fetchApi(CONFIG.ENDPOINTS.SNAPSHOT, { startDate, endDate });
+    } catch (error) {
+        console.error('Erreur lors du chargement du tableau de bord:', error);
+        if (elements.totalRevenue) {
+            elements.totalRevenue.textContent = '-';
+        }
+        if (elements.storeConcretizationRate) {
+            elements.storeConcretizationRate.textContent = '-';
+        }
+        return;
+    }
+
+    // Affichage des données magasin
+    loadStoreRevenue(snapshot);
+    loadStoreConcretizationRate(snapshot);
+    loadStoreAverageBaskets(snapshot);
+    loadStoreFrameStats(snapshot);
+
+    // Affichage des données personnelles
+    loadPersonalRevenue(snapshot);
+    loadPersonalQuotationStats(snapshot);
+    loadPersonalAverageBaskets(snapshot);
+    loadPersonalFrameStats(snapshot);
 }
 
 /**
- * Charge et affiche le chiffre d'affaires total
+ * Affiche le chiffre d'affaires total
+ * @param {Object} snapshot - Statistiques de la période
  */
-async function loadStoreRevenue() {
+function loadStoreRevenue(snapshot) {
     try {
-        const { startDate, endDate } = sessionUtils.getSessionDates();
-        const data = await apiUtils.fetchApi(CONFIG.ENDPOINTS.PERIOD_REVENUE, { startDate, endDate });
+        const data = snapshot.periodRevenue;
         
         if (elements.totalRevenue) {
             elements.totalRevenue.textContent = data.currentAmount ? 
@@ -274,12 +277,12 @@ async function loadStoreRevenue() {
 }
 
 /**
- * Charge et affiche le taux de concrétisation magasin
+ * Affiche le taux de concrétisation magasin
+ * @param {Object} snapshot - Statistiques de la période
  */
-async function loadStoreConcretizationRate() {
+function loadStoreConcretizationRate(snapshot) {
     try {
-        const { startDate, endDate } = sessionUtils.getSessionDates();
-        const data = await apiUtils.fetchApi(CONFIG.ENDPOINTS.QUOTATION_STATS, { startDate, endDate });
+        const data = snapshot.quotationStats;
         
         if (elements.storeConcretizationRate && data.concretizationRate !== undefined) {
             const formattedRate = formatUtils.formatPercent(data.concretizationRate);
@@ -294,12 +297,12 @@ async function loadStoreConcretizationRate() {
 }
 
 /**
- * Charge et affiche les paniers moyens magasin
+ * Affiche les paniers moyens magasin
+ * @param {Object} snapshot - Statistiques de la période
  */
-async function loadStoreAverageBaskets() {
+function loadStoreAverageBaskets(snapshot) {
     try {
-        const { startDate, endDate } = sessionUtils.getSessionDates();
-        const data = await apiUtils.fetchApi(CONFIG.ENDPOINTS.TOTAL_STATS, { startDate, endDate });
+        const data = snapshot.totalStats;
         
         if (elements.storeAverageBasket && data.averageBasket !== undefined) {
             elements.storeAverageBasket.textContent = formatUtils.formatCurrency(data.averageBasket, 1);
@@ -314,12 +317,12 @@ async function loadStoreAverageBaskets() {
 }
 
 /**
- * Charge et affiche les statistiques des montures primées magasin
+ * Affiche les statistiques des montures primées magasin
+ * @param {Object} snapshot - Statistiques de la période
  */
-async function loadStoreFrameStats() {
+function loadStoreFrameStats(snapshot) {
     try {
-        const { startDate, endDate } = sessionUtils.getSessionDates();
-        const stats = await apiUtils.fetchApi(CONFIG.ENDPOINTS.FRAME_STATS, { startDate, endDate });
+        const stats = snapshot.frameStats;
         const totals = calculateFrameTotals(stats);
         
         if (elements.storeNbPremiumFrame) {
@@ -336,19 +339,17 @@ async function loadStoreFrameStats() {
 }
 
 /**
- * Charge et affiche le chiffre d'affaires personnel
+ * Affiche le chiffre d'affaires personnel
+ * @param {Object} snapshot - Statistiques de la période
  */
-async function loadPersonalRevenue() {
+function loadPersonalRevenue(snapshot) {
     try {
-        const { startDate, endDate } = sessionUtils.getSessionDates();
         const user = sessionUtils.getUserData();
 
         if (!user?.seller_ref) return;
 
-        const [personalData, storeData] = await Promise.all([
-            apiUtils.fetchApi(CONFIG.ENDPOINTS.SELLER_STATS, { startDate, endDate }),
-            apiUtils.fetchApi(CONFIG.ENDPOINTS.PERIOD_REVENUE, { startDate, endDate })
-        ]);
+        const personalData = snapshot.sellerStats;
+        const storeData = snapshot.periodRevenue;
 
         const sellerStats = personalData.find(s => s.sellerRef === user.seller_ref) || {};
 
@@ -366,16 +367,16 @@ async function loadPersonalRevenue() {
 }
 
 /**
- * Charge et affiche les statistiques des devis personnels
+ * Affiche les statistiques des devis personnels
+ * @param {Object} snapshot - Statistiques de la période
  */
-async function loadPersonalQuotationStats() {
+function loadPersonalQuotationStats(snapshot) {
     try {
-        const { startDate, endDate } = sessionUtils.getSessionDates();
         const user = sessionUtils.getUserData();
 
         if (!user?.seller_ref) return;
 
-        const stats = await apiUtils.fetchApi(CONFIG.ENDPOINTS.QUOTATION_STATS, { startDate, endDate });
+        const stats = snapshot.quotationStats;
         const userStats = stats.sellerStats.find(s => s.sellerRef === user.seller_ref) || {};
 
         if (elements.personalConcretizationRate && userStats.concretizationRate !== undefined) {
@@ -391,16 +392,16 @@ async function loadPersonalQuotationStats() {
 }
 
 /**
- * Charge et affiche les paniers moyens personnels
+ * Affiche les paniers moyens personnels
+ * @param {Object} snapshot - Statistiques de la période
  */
-async function loadPersonalAverageBaskets() {
+function loadPersonalAverageBaskets(snapshot) {
     try {
-        const { startDate, endDate } = sessionUtils.getSessionDates();
         const user = sessionUtils.getUserData();
 
         if (!user?.seller_ref) return;
 
-        const stats = await apiUtils.fetchApi(CONFIG.ENDPOINTS.AVERAGE_BASKETS, { startDate, endDate });
+        const stats = snapshot.averageBaskets;
         const sellerStats = stats.find(s => s.sellerRef === user.seller_ref) || {};
 
         if (elements.personalAverageBasketValue) {
@@ -416,16 +417,16 @@ async function loadPersonalAverageBaskets() {
 }
 
 /**
- * Charge et affiche les statistiques personnelles des montures primées
+ * Affiche les statistiques personnelles des montures primées
+ * @param {Object} snapshot - Statistiques de la période
  */
-async function loadPersonalFrameStats() {
+function loadPersonalFrameStats(snapshot) {
     try {
-        const { startDate, endDate } = sessionUtils.getSessionDates();
         const user = sessionUtils.getUserData();
 
         if (!user?.seller_ref) return;
 
-        const stats = await apiUtils.fetchApi(CONFIG.ENDPOINTS.FRAME_STATS, { startDate, endDate });
+        const stats = snapshot.frameStats;
         const sellerStats = stats.find(s => s.sellerRef === user.seller_ref) || {};
         
         if (elements.personalRatePremiumFrame) {
@@ -1,6 +1,6 @@
 /**
  * Gestionnaire d'importation de données CSV Optitop
- * Gère l'upload par chunks et le suivi de progression
+ * Envoie le fichier en une fois puis suit l'import exécuté en tâche de fond
  */
 
 // ===== CONFIGURATION =====
@@ -8,9 +8,9 @@
 const CONFIG = {
     API_BASE_URL: 'http://localhost:8080',
     ENDPOINTS: {
-        IMPORT: '/api/sales/import'
+        IMPORT_JOBS: '/api/sales/import-jobs'
     },
-    CHUNK_SIZE: 1024 * 1024, // 1MB
+    POLL_INTERVAL: 1000, // 1s
     LOCALE: 'fr-FR'
 };
 
@@ -65,52 +65,81 @@ function bindEvents() {
  */
 const apiUtils = {
     /**
-     * Effectue un appel API pour l'upload d'un chunk
-     * @param {FormData} formData - Données du chunk à envoyer
-     * @returns {Promise<Response>} - Réponse de l'API
+     * Soumet le fichier à importer en tâche de fond
+     * @param {File} file - Fichier CSV à importer
+     * @returns {Promise<Object>} - État initial de la tâche d'import
      */
-    async uploadChunk(formData) {
-        try {
-            const response = await fetch(`${CONFIG.API_BASE_URL}${CONFIG.ENDPOINTS.IMPORT}`, {
-                method: 'POST',
-                body: formData
-            });
-            
-            if (!response.ok) {
-                throw new Error(`Erreur API: ${response.status}`);
-            }
-            
-            return response;
-        } catch (error) {
-            console.error('Erreur lors de l\'upload du chunk:', error);
-            throw error;
+    async submitImport(file) {
+        const formData = new FormData();
+        formData.append('file', file);
+
+        const response = await fetch(`${CONFIG.API_BASE_URL}${CONFIG.ENDPOINTS.IMPORT_JOBS}`, {
+            method: 'POST',
+            body: formData
+        });
+
+        if (!response.ok) {
+            throw new Error(`Erreur API: ${response.status}`);
+        }
+
+        return response.json();
+    },
+
+    /**
+     * Récupère l'avancement d'une tâche d'import
+     * @param {string} jobId - Identifiant de la tâche
+     * @returns {Promise<Object>} - État courant de la tâche
+     */
+    async getImportJob(jobId) {
+        const response = await fetch(`${CONFIG.API_BASE_URL}${CONFIG.ENDPOINTS.IMPORT_JOBS}/${jobId}`);
+
+        if (!response.ok) {
+            throw new Error(`Erreur API: ${response.status}`);
         }
+
+        return response.json();
     }
 };
 
 /**
- * Utilitaires de gestion des fichiers
+ * Utilitaires de suivi de l'import
  */
-const fileUtils = {
+const jobUtils = {
+    /**
+     * Libellés des étapes de l'import
+     */
+    PHASE_LABELS: {
+        PENDING: 'En attente',
+        PARSE: 'Lecture du fichier',
+        DELETE: 'Suppression des anciennes données',
+        INSERT: 'Enregistrement des lignes',
+        AGGREGATE: 'Calcul des factures et devis'
+    },
+
     /**
-     * Calcule le nombre total de chunks nécessaires
-     * @param {File} file - Fichier à traiter
-     * @returns {number} - Nombre total de chunks
+     * Calcule le pourcentage d'avancement d'une tâche
+     * @param {Object} job - État de la tâche
+     * @returns {number} - Pourcentage (0-100)
      */
-    calculateTotalChunks(file) {
-        return Math.ceil(file.size / CONFIG.CHUNK_SIZE);
+    calculateProgress(job) {
+        if (job.phase === 'COMPLETED') {
+            return 100;
+        }
+        if (!job.totalRows) {
+            return 0;
+        }
+        // Lecture et écriture comptent pour 90%, le calcul des agrégats pour le reste
+        const progress = Math.round((job.rowsParsed / job.totalRows) * 90);
+        return job.phase === 'AGGREGATE' ? 95 : Math.min(progress, 90);
     },
 
     /**
-     * Extrait un chunk du fichier
-     * @param {File} file - Fichier source
-     * @param {number} chunkIndex - Index du chunk
-     * @returns {Blob} - Chunk extrait
+     * Attend la durée indiquée
+     * @param {number} ms - Durée en millisecondes
+     * @returns {Promise<void>}
      */
-    getChunk(file, chunkIndex) {
-        const start = chunkIndex * CONFIG.CHUNK_SIZE;
-        const end = Math.min(start + CONFIG.CHUNK_SIZE, file.size);
-        return file.slice(start, end);
+    wait(ms) {
+        return new Promise(resolve => setTimeout(resolve, ms));
     }
 };
 
@@ -187,66 +216,36 @@ async function handleFormSubmit(e) {
 // ===== TRAITEMENT DE L'UPLOAD =====
 
 /**
- * Traite l'upload complet d'un fichier
+ * Traite l'upload complet d'un fichier et suit son import
  * @param {File} file - Fichier à uploader
  */
 async function processFileUpload(file) {
-    const totalChunks = fileUtils.calculateTotalChunks(file);
-    let currentChunk = 0;
-
     // Initialisation de l'interface
     uiUtils.showProgress();
-    uiUtils.showStatus('Import en cours...', 'info');
+    uiUtils.updateProgress(0);
+    uiUtils.showStatus('Envoi du fichier...', 'info');
 
-    try {
-        while (currentChunk < totalChunks) {
-            await uploadSingleChunk(file, currentChunk, totalChunks);
-            currentChunk++;
-            
-            // Mise à jour de la progression
-            const progress = Math.round((currentChunk / totalChunks) * 100);
-            uiUtils.updateProgress(progress);
-        }
+    let job = await apiUtils.submitImport(file);
 
-        // Succès de l'import
-        uiUtils.showStatus('Import réussi !', 'success');
-        uiUtils.resetForm();
-        
-    } catch (error) {
-        throw error;
+    // Suivi de l'import jusqu'à sa fin
+    while (job.phase !== 'COMPLETED' && job.phase !== 'FAILED') {
+        uiUtils.updateProgress(jobUtils.calculateProgress(job));
+        uiUtils.showStatus(`${jobUtils.PHASE_LABELS[job.phase] || 'Import en cours'}... `
+            + `(${job.rowsWritten.toLocaleString(CONFIG.LOCALE)} lignes enregistrées)`, 'info');
+
+        await jobUtils.wait(CONFIG.POLL_INTERVAL);
+        job = await apiUtils.getImportJob(job.id);
     }
-}
 
-/**
- * Upload un chunk individuel
- * @param {File} file - Fichier source
- * @param {number} chunkIndex - Index du chunk actuel
- * @param {number} totalChunks - Nombre total de chunks
- */
-async function uploadSingleChunk(file, chunkIndex, totalChunks) {
-    try {
-        const chunk = fileUtils.getChunk(file, chunkIndex);
-        const formData = createChunkFormData(chunk, chunkIndex, totalChunks);
-        
-        await apiUtils.uploadChunk(formData);
-        
-    } catch (error) {
-        console.error(`Erreur lors de l'upload du chunk ${chunkIndex}:`, error);
-        throw new Error('Erreur serveur lors de l\'upload');
+    if (job.phase === 'FAILED') {
+        console.error('Import en échec:', job.errors);
+        uiUtils.showStatus(`Erreur lors de l'import : ${job.errors[job.errors.length - 1] || ''}`, 'danger');
+        return;
     }
-}
 
-/**
- * Crée les données FormData pour un chunk
- * @param {Blob} chunk - Données du chunk
- * @param {number} chunkIndex - Index du chunk
- * @param {number} totalChunks - Nombre total de chunks
- * @returns {FormData} - Données formatées pour l'API
- */
-function createChunkFormData(chunk, chunkIndex, totalChunks) {
-    const formData = new FormData();
-    formData.append('file', chunk);
-    formData.append('chunk', chunkIndex);
-    formData.append('totalChunks', totalChunks);
-    return formData;
-}
\ No newline at end of file
+    // Succès de l'import
+    uiUtils.updateProgress(100);
+    const rejected = job.errorCount > 0 ? ` (${job.errorCount} ligne(s) ignorée(s))` : '';
+    uiUtils.showStatus(`Import réussi : ${job.rowsWritten.toLocaleString(CONFIG.LOCALE)} lignes enregistrées${rejected}`, 'success');
+    uiUtils.resetForm();
+}
@@ -250,7 +250,7 @@ const quotationsService = {
     /**
      * Sauvegarde les modifications en lot
      * @param {Array} updates - Liste des modifications à sauvegarder
-     * @returns {Promise<boolean>} - true si succès
+     * @returns {Promise<Array>} - Résultat de chaque modification ({id, status})
      */
     async saveBatchUpdates(updates) {
         try {
@@ -261,7 +261,7 @@ const quotationsService = {
             });
             
             await apiUtils.handleApiError(response);
-            return true;
+            return response.json();
         } catch (error) {
             console.error('Erreur lors de la sauvegarde:', error);
             throw error;
@@ -359,7 +359,7 @@ const uiManager = {
      */
     renderQuotationRow(quotation) {
         return `
-            <tr data-quotation-id="${quotation.id}">
+            <tr data-quotation-id="${quotation.id}" data-version="${quotation.version ?? ''}">
                 <td class="text-center align-middle">${utils.formatDate(quotation.date)}</td>
                 <td class="text-center align-middle">${utils.getInitials(quotation.seller)}</td>
                 <td class="text-center align-middle">${quotation.client || 'N/A'}</td>
@@ -476,7 +476,8 @@ const uiManager = {
                 return {
                     id: parseInt(id),
                     action: actionSelect.value,
-                    comment: commentInput.value
+                    comment: commentInput.value,
+                    version: row.dataset.version === '' ? null : parseInt(row.dataset.version)
                 };
             })
             .filter(Boolean);
@@ -485,12 +486,16 @@ const uiManager = {
     /**
      * Met à jour les valeurs originales après sauvegarde
      * @param {Array} updates - Modifications sauvegardées
+     * @param {Map} versions - Nouvelle version de chaque devis sauvegardé
      */
-    updateOriginalValues(updates) {
+    updateOriginalValues(updates, versions) {
         updates.forEach(update => {
             const row = document.querySelector(`tr[data-quotation-id="${update.id}"]`);
             if (!row) return;
 
+            const version = versions.get(update.id);
+            if (version !== undefined && version !== null) row.dataset.version = version;
+
             const actionSelect = row.querySelector('.action-select');
             const commentInput = row.querySelector('.comment-input');
             
@@ -638,13 +643,29 @@ const quotationsController = {
             const updates = uiManager.getModifiedQuotations();
             if (updates.length === 0) return;
 
-            await quotationsService.saveBatchUpdates(updates);
-            
+            const results = await quotationsService.saveBatchUpdates(updates);
+
+            // Seuls les devis enregistrés deviennent les nouvelles valeurs originales
+            const versions = new Map(results
+                .filter(result => result.status === 'UPDATED')
+                .map(result => [result.id, result.version]));
+            const saved = updates.filter(update => versions.has(update.id));
+
             // Mise à jour des valeurs originales et du bouton
-            uiManager.updateOriginalValues(updates);
+            uiManager.updateOriginalValues(saved, versions);
             uiManager.updateSaveButtonState();
-            
-            apiUtils.showToast('success');
+
+            if (saved.length < updates.length) {
+                const rejected = results.filter(result => result.status !== 'UPDATED');
+                console.warn('Devis non enregistrés:', rejected);
+                if (rejected.some(result => result.status === 'CONFLICT')) {
+                    alert('Certains devis ont été modifiés par un autre utilisateur depuis leur affichage. '
+                        + 'Rechargez la page pour voir leurs valeurs actuelles avant de les modifier.');
+                }
+                apiUtils.showToast('error');
+            } else {
+                apiUtils.showToast('success');
+            }
 
         } catch (error) {
             console.error('Erreur lors de la sauvegarde:', error);
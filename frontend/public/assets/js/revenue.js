@@ -15,6 +15,7 @@ const CONFIG = {
     ENDPOINTS: {
         YEARS: '/invoices/years',
         MONTHLY_REVENUE: '/invoices/monthly-revenue',
+        MONTHLY_REVENUE_SERIES: '/invoices/monthly-revenue-series',
         PERIOD_REVENUE: '/invoices/period-revenue',
         SELLER_STATS: '/invoices/seller-stats'
     },
@@ -251,6 +252,22 @@ const revenueService = {
         }
     },
 
+    /**
+     * Récupère les revenus mensuels de plusieurs années avec leur N-1
+     * @param {number} startYear - Première année
+     * @param {number} endYear - Dernière année
+     * @returns {Promise<Array>} - Années avec leurs 12 mois
+     */
+    async getMonthlyRevenueSeries(startYear, endYear) {
+        try {
+            const params = new URLSearchParams({ startYear, endYear });
+            return await apiUtils.fetchApi(`${CONFIG.ENDPOINTS.MONTHLY_REVENUE_SERIES}?${params}`);
+        } catch (error) {
+            console.error(`Erreur lors de la récupération des revenus ${startYear}-${endYear}:`, error);
+            throw error;
+        }
+    },
+
     /**
      * Récupère les revenus pour une période
      * @param {string} startDate - Date de début
@@ -620,21 +637,25 @@ const revenueController = {
      */
     async loadAllRevenueData(years) {
         try {
-            for (const year of years) {
-                try {
-                    const [currentYear, previousYear] = await Promise.all([
-                        revenueService.getMonthlyRevenue(year),
-                        revenueService.getMonthlyRevenue(year - 1)
-                    ]);
-
-                    if (currentYear) state.revenueCache.set(year, currentYear);
-                    if (previousYear) state.revenueCache.set(year - 1, previousYear);
-                    
-                    uiManager.updateTableRows(year);
-                } catch (error) {
-                    console.error(`Erreur pour l'année ${year}:`, error);
+            // Toutes les années et leur N-1 en un seul appel
+            const series = await revenueService.getMonthlyRevenueSeries(
+                Math.min(...years), Math.max(...years));
+
+            series.forEach(({ year, months }) => {
+                const currentYear = {};
+                const previousYear = {};
+                months.forEach(({ month, revenue, previousRevenue }) => {
+                    currentYear[month] = revenue;
+                    previousYear[month] = previousRevenue;
+                });
+
+                state.revenueCache.set(year, currentYear);
+                if (!state.revenueCache.has(year - 1)) {
+                    state.revenueCache.set(year - 1, previousYear);
                 }
-            }
+            });
+
+            years.forEach(year => uiManager.updateTableRows(year));
         } catch (error) {
             console.error('Erreur lors du chargement des données:', error);
         }